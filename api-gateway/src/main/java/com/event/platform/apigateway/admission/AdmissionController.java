@@ -0,0 +1,171 @@
+package com.event.platform.apigateway.admission;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contrôle d'admission par concurrence, avec salle d'attente virtuelle
+ *
+ * Au plus maxConcurrent requêtes sont transmises en même temps au
+ * service. Les suivantes attendent leur tour dans une file FIFO, sans
+ * thread (la requête reste simplement ouverte), au lieu d'arriver sur
+ * des pools déjà saturés et d'y expirer :
+ * - chaque fin de requête donne sa place à la plus ancienne en attente ;
+ * - file bornée (maxQueue) et au plus maxQueuedPerUser attentes par
+ *   utilisateur, pour qu'un client qui insiste ne prenne pas la place
+ *   des autres ;
+ * - attente limitée à maxWait : au-delà, ou si la file est pleine, la
+ *   requête est refusée (le filtre répond 503 avec Retry-After).
+ */
+public class AdmissionController {
+
+    public enum Outcome {
+        /** Admise sans attendre */
+        ADMITTED,
+        /** Admise après attente dans la file */
+        QUEUED,
+        /** Refusée : file pleine ou trop d'attentes pour cet utilisateur */
+        REJECTED,
+        /** Refusée : attente plus longue que maxWait */
+        EXPIRED
+    }
+
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final int maxQueuedPerUser;
+    private final Duration maxWait;
+
+    private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+    private final Map<String, Integer> queuedPerUser = new HashMap<>();
+    private int inFlight;
+
+    public AdmissionController(int maxConcurrent, int maxQueue, int maxQueuedPerUser, Duration maxWait) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxQueuedPerUser = maxQueuedPerUser;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Demande une place pour user. Le Mono émet ADMITTED ou QUEUED une fois
+     * la place obtenue (à rendre par {@link #release()}), REJECTED ou
+     * EXPIRED sinon. Une requête abandonnée pendant l'attente (client
+     * déconnecté) quitte la file, ou rend la place qu'elle venait d'obtenir.
+     */
+    public Mono<Outcome> admit(String user) {
+        return Mono.create(sink -> {
+            Waiter waiter;
+            synchronized (this) {
+                if (inFlight < maxConcurrent && queue.isEmpty()) {
+                    inFlight++;
+                    waiter = null;
+                } else if (queue.size() >= maxQueue || queuedPerUser.getOrDefault(user, 0) >= maxQueuedPerUser) {
+                    sink.success(Outcome.REJECTED);
+                    return;
+                } else {
+                    waiter = new Waiter(user, sink);
+                    queue.addLast(waiter);
+                    queuedPerUser.merge(user, 1, Integer::sum);
+                }
+            }
+            if (waiter == null) {
+                sink.success(Outcome.ADMITTED);
+                return;
+            }
+            sink.onCancel(() -> leave(waiter, false));
+            waiter.timer = Mono.delay(maxWait).subscribe(tick -> leave(waiter, true));
+        });
+    }
+
+    /**
+     * Rend une place : donnée à la plus ancienne requête en attente, s'il
+     * y en a une.
+     */
+    public void release() {
+        Waiter next;
+        synchronized (this) {
+            next = poll();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+            next.state = State.GRANTED;
+        }
+        if (next.timer != null) {
+            next.timer.dispose();
+        }
+        next.sink.success(Outcome.QUEUED);
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    /**
+     * Fin d'attente sans place : délai dépassé (expired) ou abandon. Une
+     * place attribuée entre-temps à une requête abandonnée est rendue.
+     */
+    private void leave(Waiter waiter, boolean expired) {
+        boolean giveBack = false;
+        synchronized (this) {
+            if (waiter.state == State.QUEUED) {
+                queue.remove(waiter);
+                dequeued(waiter);
+                waiter.state = State.LEFT;
+            } else if (waiter.state == State.GRANTED && !expired) {
+                waiter.state = State.LEFT;
+                giveBack = true;
+            } else {
+                return;
+            }
+        }
+        if (giveBack) {
+            release();
+            return;
+        }
+        if (expired) {
+            waiter.sink.success(Outcome.EXPIRED);
+        } else if (waiter.timer != null) {
+            waiter.timer.dispose();
+        }
+    }
+
+    private Waiter poll() {
+        Waiter next = queue.pollFirst();
+        if (next != null) {
+            dequeued(next);
+        }
+        return next;
+    }
+
+    private void dequeued(Waiter waiter) {
+        queuedPerUser.computeIfPresent(waiter.user, (u, n) -> n > 1 ? n - 1 : null);
+    }
+
+    private enum State {
+        QUEUED, GRANTED, LEFT
+    }
+
+    private static final class Waiter {
+
+        private final String user;
+        private final MonoSink<Outcome> sink;
+        private State state = State.QUEUED;
+        private volatile Disposable timer;
+
+        Waiter(String user, MonoSink<Outcome> sink) {
+            this.user = user;
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.event.platform.apigateway.admission;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Protection de POST /bookings pendant une mise en vente
+ *
+ * 1. Limitation de débit par seaux à jetons (TokenBucketStore) :
+ *    - par utilisateur : quelques réservations en rafale puis un débit
+ *      soutenu faible, contre les clients qui rejouent en boucle ;
+ *    - par événement : débit maximal de demandes transmises pour un même
+ *      événement, le reste est refusé dès le Gateway.
+ *    Seau vide : 429 Too Many Requests avec Retry-After.
+ * 2. Contrôle d'admission (AdmissionController) : nombre borné de
+ *    réservations en cours vers Booking Service, les autres attendent
+ *    dans la salle d'attente. File pleine ou attente trop longue : 503
+ *    avec Retry-After.
+ *
+ * L'utilisateur est l'en-tête X-User-Id (posé par l'authentification en
+ * amont), sinon le userId du corps, sinon l'adresse du client ;
+ * l'événement est l'eventId du corps. Un corps illisible n'est limité que
+ * par utilisateur : Booking Service répondra 400.
+ *
+ * Métriques : gateway.ratelimit.rejected{scope=user|event},
+ * gateway.admission.requests{result}, gateway.admission.wait,
+ * gateway.admission.in_flight, gateway.admission.queued.
+ */
+public class BookingAdmissionFilter implements GatewayFilter, Ordered {
+
+    static final String USER_HEADER = "X-User-Id";
+
+    /**
+     * Au-delà, le corps n'est pas lu pour en extraire les clés
+     */
+    private static final int MAX_PARSED_BODY = 16 * 1024;
+
+    private final TokenBucketStore buckets;
+    private final BucketLimit perUser;
+    private final BucketLimit perEvent;
+    private final AdmissionController admission;
+    private final long retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+
+    private final Counter userRejected;
+    private final Counter eventRejected;
+    private final Map<AdmissionController.Outcome, Counter> outcomes = new EnumMap<>(AdmissionController.Outcome.class);
+    private final Timer queueWait;
+
+    public BookingAdmissionFilter(TokenBucketStore buckets, BucketLimit perUser, BucketLimit perEvent,
+                                  AdmissionController admission, long retryAfterSeconds,
+                                  ObjectMapper objectMapper, MeterRegistry registry) {
+        this.buckets = buckets;
+        this.perUser = perUser;
+        this.perEvent = perEvent;
+        this.admission = admission;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.objectMapper = objectMapper;
+
+        this.userRejected = rejectedCounter(registry, "user");
+        this.eventRejected = rejectedCounter(registry, "event");
+        for (AdmissionController.Outcome outcome : AdmissionController.Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("gateway.admission.requests")
+                    .description("Réservations par résultat du contrôle d'admission")
+                    .tag("result", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+        this.queueWait = Timer.builder("gateway.admission.wait")
+                .description("Attente dans la salle d'attente avant transmission")
+                .register(registry);
+        Gauge.builder("gateway.admission.in_flight", admission, AdmissionController::getInFlight)
+                .description("Réservations en cours vers Booking Service")
+                .register(registry);
+        Gauge.builder("gateway.admission.queued", admission, AdmissionController::getQueued)
+                .description("Réservations dans la salle d'attente")
+                .register(registry);
+    }
+
+    /**
+     * Avant le routage, comme RequestRateLimiter
+     */
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return ServerWebExchangeUtils.cacheRequestBodyAndRequest(exchange, request -> {
+            ServerWebExchange cached = exchange.mutate().request(request).build();
+            return limit(cached, chain);
+        });
+    }
+
+    private Mono<Void> limit(ServerWebExchange exchange, GatewayFilterChain chain) {
+        JsonNode body = readBody(exchange);
+        String user = userKey(exchange, body);
+
+        long userWait = buckets.tryConsume("user:" + user, perUser);
+        if (userWait > 0) {
+            userRejected.increment();
+            return reject(exchange.getResponse(), HttpStatus.TOO_MANY_REQUESTS, seconds(userWait));
+        }
+        JsonNode eventId = body == null ? null : body.get("eventId");
+        if (eventId != null && eventId.canConvertToLong()) {
+            long eventWait = buckets.tryConsume("event:" + eventId.asLong(), perEvent);
+            if (eventWait > 0) {
+                eventRejected.increment();
+                return reject(exchange.getResponse(), HttpStatus.TOO_MANY_REQUESTS, seconds(eventWait));
+            }
+        }
+
+        long queuedAt = System.nanoTime();
+        return admission.admit(user).flatMap(outcome -> {
+            outcomes.get(outcome).increment();
+            if (outcome == AdmissionController.Outcome.REJECTED || outcome == AdmissionController.Outcome.EXPIRED) {
+                return reject(exchange.getResponse(), HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds);
+            }
+            queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            return chain.filter(exchange).doFinally(signal -> admission.release());
+        });
+    }
+
+    /**
+     * Corps JSON de la réservation, ou null s'il est absent, trop grand ou
+     * illisible
+     */
+    private JsonNode readBody(ServerWebExchange exchange) {
+        DataBuffer body = exchange.getAttribute(ServerWebExchangeUtils.CACHED_REQUEST_BODY_ATTR);
+        if (body == null || body.readableByteCount() == 0 || body.readableByteCount() > MAX_PARSED_BODY) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(body.toString(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String userKey(ServerWebExchange exchange, JsonNode body) {
+        String header = exchange.getRequest().getHeaders().getFirst(USER_HEADER);
+        if (header != null && !header.isBlank()) {
+            return header.trim();
+        }
+        JsonNode userId = body == null ? null : body.get("userId");
+        if (userId != null && userId.canConvertToLong()) {
+            return String.valueOf(userId.asLong());
+        }
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        return remote == null ? "anonymous" : "ip:" + remote.getHostString();
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response, HttpStatus status, long retryAfterSeconds) {
+        response.setStatusCode(status);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return response.setComplete();
+    }
+
+    private static long seconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + 999_999_999L));
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, String scope) {
+        return Counter.builder("gateway.ratelimit.rejected")
+                .description("Réservations refusées par la limitation de débit")
+                .tag("scope", scope)
+                .register(registry);
+    }
+}
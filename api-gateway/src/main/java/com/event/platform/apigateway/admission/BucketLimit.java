@@ -0,0 +1,27 @@
+package com.event.platform.apigateway.admission;
+
+/**
+ * Réglage d'un seau à jetons : capacity jetons au plus (rafale permise),
+ * rechargés à refillPerSecond jetons par seconde (débit soutenu).
+ */
+public final class BucketLimit {
+
+    private final long capacity;
+    private final double refillPerSecond;
+
+    public BucketLimit(long capacity, double refillPerSecond) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Bucket capacity and refill rate must be positive");
+        }
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public double getRefillPerSecond() {
+        return refillPerSecond;
+    }
+}
@@ -0,0 +1,63 @@
+package com.event.platform.apigateway.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Seaux à jetons en mémoire, propres à chaque instance du Gateway
+ *
+ * Les seaux inutilisés depuis idle sont oubliés (un seau recréé est
+ * plein, ce qu'il serait de toute façon redevenu) et leur nombre est
+ * borné par maxKeys.
+ */
+public class InMemoryTokenBucketStore implements TokenBucketStore {
+
+    private final Cache<String, Bucket> buckets;
+    private final LongSupplier nanoClock;
+
+    public InMemoryTokenBucketStore(long maxKeys, Duration idle) {
+        this(maxKeys, idle, System::nanoTime);
+    }
+
+    InMemoryTokenBucketStore(long maxKeys, Duration idle, LongSupplier nanoClock) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idle)
+                .build();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public long tryConsume(String key, BucketLimit limit) {
+        long now = nanoClock.getAsLong();
+        return buckets.get(key, k -> new Bucket(limit.getCapacity(), now)).tryConsume(limit, now);
+    }
+
+    /**
+     * Jetons restants, rechargés à la demande d'après le temps écoulé
+     */
+    private static final class Bucket {
+
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(long tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+
+        synchronized long tryConsume(BucketLimit limit, long now) {
+            double perNano = limit.getRefillPerSecond() / 1_000_000_000d;
+            tokens = Math.min(limit.getCapacity(), tokens + (now - refilledAt) * perNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / perNano));
+        }
+    }
+}
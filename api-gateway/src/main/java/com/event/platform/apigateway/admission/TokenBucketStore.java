@@ -0,0 +1,20 @@
+package com.event.platform.apigateway.admission;
+
+/**
+ * Seaux à jetons, un par clé (utilisateur, événement)
+ *
+ * Contrat volontairement minimal pour qu'une implémentation partagée
+ * entre instances du Gateway puisse remplacer InMemoryTokenBucketStore :
+ * sur Redis, un script Lua qui lit et réécrit (jetons, horodatage) de la
+ * clé, comme le RedisRateLimiter de Spring Cloud Gateway.
+ */
+public interface TokenBucketStore {
+
+    /**
+     * Prend un jeton du seau key
+     *
+     * @return 0 si le jeton est pris, sinon le délai en nanosecondes avant
+     *         qu'un jeton soit disponible
+     */
+    long tryConsume(String key, BucketLimit limit);
+}
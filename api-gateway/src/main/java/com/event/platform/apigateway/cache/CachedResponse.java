@@ -0,0 +1,67 @@
+package com.event.platform.apigateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Réponse 200 gardée par ResponseCacheFilter : en-têtes à rejouer, corps,
+ * et fraîcheur (ttl à partir de la dernière écriture ou revalidation).
+ */
+final class CachedResponse {
+
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final long storedAtNanos;
+    private final long ttlNanos;
+
+    CachedResponse(HttpHeaders headers, byte[] body, long storedAtNanos, long ttlNanos) {
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+        this.storedAtNanos = storedAtNanos;
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * Même corps, confirmé par un 304 du service : la fraîcheur repart de
+     * maintenant, avec les en-têtes (Cache-Control) de la revalidation.
+     */
+    CachedResponse revalidated(HttpHeaders headers, long nowNanos, long ttlNanos) {
+        return new CachedResponse(headers, body, nowNanos, ttlNanos);
+    }
+
+    boolean isFresh(long nowNanos) {
+        return nowNanos - storedAtNanos < ttlNanos;
+    }
+
+    long ageSeconds(long nowNanos) {
+        return Math.max(0, (nowNanos - storedAtNanos) / 1_000_000_000L);
+    }
+
+    String getETag() {
+        return headers.getETag();
+    }
+
+    HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Taille approximative en mémoire, pour borner le cache en octets
+     */
+    int weight() {
+        int size = body.length;
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            size += header.getKey().length();
+            for (String value : header.getValue()) {
+                size += value.length();
+            }
+        }
+        return size;
+    }
+}
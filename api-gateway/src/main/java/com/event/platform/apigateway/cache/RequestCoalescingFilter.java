@@ -0,0 +1,240 @@
+package com.event.platform.apigateway.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Regroupement des GET identiques simultanés (single-flight) au Gateway
+ *
+ * Pendant qu'une requête (leader) est en cours vers le service, les
+ * requêtes identiques qui arrivent (followers) ne sont pas transmises :
+ * elles attendent la réponse du leader et en reçoivent une copie. Pendant
+ * une mise en vente, des milliers de GET /events/{id} simultanés
+ * deviennent un seul appel à Event Service.
+ *
+ * Identiques : même clé que ResponseCacheFilter (chemin, paramètres,
+ * Accept, Accept-Encoding, Origin), plus If-None-Match. Rien n'est gardé
+ * après la réponse du leader : ce n'est pas un cache. Si le leader échoue,
+ * est abandonné, ou que sa réponse dépasse max-body-bytes, chaque
+ * follower refait sa propre requête. Les followers sont libérés dès que
+ * la réponse dépasse max-body-bytes, ou dès le début d'une réponse en flux
+ * (writeAndFlushWith : SSE, NDJSON), sans attendre la fin du transfert.
+ *
+ * Métriques : gateway.coalescing.requests{role=leader|follower},
+ * gateway.coalescing.collapse.ratio (part des requêtes servies par la
+ * réponse d'un autre), gateway.coalescing.in_flight.
+ */
+public class RequestCoalescingFilter implements GatewayFilter, Ordered {
+
+    private final ConcurrentHashMap<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final int maxBodyBytes;
+    private final Counter leaders;
+    private final Counter followers;
+
+    public RequestCoalescingFilter(int maxBodyBytes, MeterRegistry registry) {
+        this.maxBodyBytes = maxBodyBytes;
+        this.leaders = requestCounter(registry, "leader");
+        this.followers = requestCounter(registry, "follower");
+        Gauge.builder("gateway.coalescing.collapse.ratio", this, RequestCoalescingFilter::collapseRatio)
+                .description("Part des GET servis par la réponse d'une requête identique simultanée")
+                .register(registry);
+        Gauge.builder("gateway.coalescing.in_flight", inFlight, ConcurrentHashMap::size)
+                .description("Requêtes en cours suivies par des requêtes identiques")
+                .register(registry);
+    }
+
+    /**
+     * Comme ResponseCacheFilter : avant NettyWriteResponseFilter
+     */
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET || request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+            return chain.filter(exchange);
+        }
+
+        String key = ResponseCacheFilter.key(request) + '|' + String.join(",", request.getHeaders().getIfNoneMatch());
+        Sinks.One<SharedResponse> flight = Sinks.one();
+        Sinks.One<SharedResponse> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            followers.increment();
+            return running.asMono()
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(shared -> shared.isPresent()
+                            ? shared.get().writeTo(exchange.getResponse())
+                            : chain.filter(exchange));
+        }
+
+        leaders.increment();
+        return chain.filter(exchange.mutate().response(new SharingResponse(exchange.getResponse(), key, flight)).build())
+                .doFinally(signal -> {
+                    // Réponse non partagée (erreur, abandon) : les followers repartent seuls
+                    inFlight.remove(key, flight);
+                    flight.tryEmitEmpty();
+                });
+    }
+
+    private double collapseRatio() {
+        double shared = followers.count();
+        double total = leaders.count() + shared;
+        return total == 0 ? 0 : shared / total;
+    }
+
+    private static Counter requestCounter(MeterRegistry registry, String role) {
+        return Counter.builder("gateway.coalescing.requests")
+                .description("GET regroupés, par rôle : transmis au service ou servis par la réponse d'un autre")
+                .tag("role", role)
+                .register(registry);
+    }
+
+    /**
+     * Réponse du leader, telle que recopiée vers ses followers
+     */
+    private static final class SharedResponse {
+
+        private final HttpStatusCode status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        /**
+         * Sans corps (304) : écrit par writeWith plutôt que setComplete, pour
+         * que les décorateurs en amont (ResponseCacheFilter, qui remplace un
+         * 304 de revalidation par la réponse gardée) le voient passer
+         */
+        Mono<Void> writeTo(ServerHttpResponse response) {
+            response.setStatusCode(status);
+            response.getHeaders().putAll(headers);
+            if (body.length == 0) {
+                return response.writeWith(Flux.empty());
+            }
+            response.getHeaders().setContentLength(body.length);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }
+    }
+
+    /**
+     * Réponse du leader : transmise à son client au fur et à mesure, et
+     * copiée (jusqu'à max-body-bytes) pour ses followers
+     */
+    private class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final Sinks.One<SharedResponse> flight;
+
+        SharingResponse(ServerHttpResponse delegate, String key, Sinks.One<SharedResponse> flight) {
+            super(delegate);
+            this.key = key;
+            this.flight = flight;
+        }
+
+        /**
+         * Réponse sans corps (304 en particulier) : partagée telle quelle
+         */
+        @Override
+        public Mono<Void> setComplete() {
+            HttpStatusCode status = getStatusCode();
+            HttpHeaders headers = sharedHeaders();
+            return super.setComplete().doOnSuccess(done -> share(status == null ? null
+                    : new SharedResponse(status, headers, new byte[0])));
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            HttpHeaders headers = sharedHeaders();
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            boolean[] tooLarge = {false};
+            Flux<DataBuffer> tee = Flux.from(body).map(buffer -> {
+                int length = buffer.readableByteCount();
+                if (tooLarge[0]) return buffer;
+                if (copy.size() + length <= maxBodyBytes) {
+                    byte[] bytes = new byte[length];
+                    int position = buffer.readPosition();
+                    buffer.read(bytes);
+                    buffer.readPosition(position);
+                    copy.write(bytes, 0, length);
+                } else {
+                    // Ne sera pas partagée : les followers repartent sans attendre la fin
+                    tooLarge[0] = true;
+                    share(null);
+                }
+                return buffer;
+            });
+            return super.writeWith(tee).doOnSuccess(done -> share(tooLarge[0] || status == null ? null
+                    : new SharedResponse(status, headers, copy.toByteArray())));
+        }
+
+        /**
+         * Réponse en flux (SSE, NDJSON) : jamais partagée, les followers
+         * sont libérés tout de suite
+         */
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            share(null);
+            return super.writeAndFlushWith(body);
+        }
+
+        /**
+         * En-têtes recopiés vers les followers, sans ceux propres à la
+         * connexion ou au client du leader
+         */
+        private HttpHeaders sharedHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            getHeaders().forEach((name, values) -> {
+                if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)
+                        && !HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(name)
+                        && !HttpHeaders.SET_COOKIE.equalsIgnoreCase(name)) {
+                    headers.put(name, List.copyOf(values));
+                }
+            });
+            return headers;
+        }
+
+        /**
+         * Libère la clé, puis transmet la réponse aux followers (ou rien :
+         * ils refont leur requête). Sans effet après le premier appel
+         */
+        private void share(SharedResponse response) {
+            inFlight.remove(key, flight);
+            if (response == null) {
+                flight.tryEmitEmpty();
+            } else {
+                flight.tryEmitValue(response);
+            }
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.event.platform.apigateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Cache de réponses du Gateway pour les lectures du catalogue
+ *
+ * Les GET répétés (pages populaires de /events, /events/available,
+ * /events/category/*) sont servis depuis le Gateway, sans appel à
+ * Event Service tant que la réponse est fraîche.
+ *
+ * Respect de HTTP :
+ * - Cache-Control du service : no-store / private ne sont jamais gardés,
+ *   s-maxage puis max-age fixent la fraîcheur (plafonnée par le ttl du
+ *   Gateway, qui s'applique aussi sans Cache-Control), no-cache ou
+ *   max-age=0 avec un ETag gardent la réponse mais la revalident à
+ *   chaque requête ;
+ * - réponse périmée avec ETag : revalidée par If-None-Match, un 304 du
+ *   service la rend de nouveau fraîche sans retransférer le corps ;
+ * - If-None-Match du client : 304 directement depuis le cache ;
+ * - Cache-Control: no-cache / Pragma: no-cache du client : passe par le
+ *   service, no-store : ne touche pas au cache ; requêtes avec
+ *   Authorization jamais mises en cache.
+ *
+ * Mémoire bornée : poids total (corps + en-têtes) limité à max-bytes,
+ * réponses de plus de max-entry-bytes transmises sans être gardées.
+ *
+ * Métriques : gateway.cache.requests{result=hit|miss|revalidated|bypass},
+ * gateway.cache.entries, gateway.cache.bytes.
+ */
+public class ResponseCacheFilter implements GatewayFilter, Ordered {
+
+    static final String CACHE_HEADER = "X-Cache";
+
+    /**
+     * En-têtes propres à une réponse ou à la connexion, jamais rejoués
+     */
+    private static final Set<String> NOT_STORED = Set.of(
+            "date", "content-length", "transfer-encoding", "connection", "keep-alive",
+            "set-cookie", "age", CACHE_HEADER.toLowerCase(Locale.ROOT));
+
+    public enum Result {
+        HIT, MISS, REVALIDATED, BYPASS;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Cache<String, CachedResponse> cache;
+    private final long ttlNanos;
+    private final int maxEntryBytes;
+    private final LongSupplier nanoClock;
+    private final Map<Result, Counter> requests = new EnumMap<>(Result.class);
+
+    public ResponseCacheFilter(Duration ttl, long maxBytes, int maxEntryBytes, Duration retention,
+                               MeterRegistry registry) {
+        this(ttl, maxBytes, maxEntryBytes, retention, registry, System::nanoTime);
+    }
+
+    ResponseCacheFilter(Duration ttl, long maxBytes, int maxEntryBytes, Duration retention,
+                        MeterRegistry registry, LongSupplier nanoClock) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntryBytes = maxEntryBytes;
+        this.nanoClock = nanoClock;
+        // Les réponses périmées restent retention après écriture, pour être
+        // revalidées par ETag plutôt que rechargées
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse response) -> key.length() + response.weight())
+                .expireAfterWrite(retention.compareTo(ttl) > 0 ? retention : ttl)
+                .build();
+
+        for (Result result : Result.values()) {
+            requests.put(result, Counter.builder("gateway.cache.requests")
+                    .description("Lectures du catalogue par résultat du cache du Gateway")
+                    .tag("result", result.tag())
+                    .register(registry));
+        }
+        Gauge.builder("gateway.cache.entries", cache, c -> c.estimatedSize())
+                .description("Réponses gardées par le cache du Gateway")
+                .register(registry);
+        Gauge.builder("gateway.cache.bytes", cache,
+                        c -> c.policy().eviction().map(e -> (double) e.weightedSize().orElse(0L)).orElse(0.0))
+                .description("Taille approximative des réponses gardées")
+                .register(registry);
+    }
+
+    /**
+     * Avant NettyWriteResponseFilter, pour que la réponse qu'il écrit soit
+     * celle décorée ici (même ordre que ModifyResponseBody)
+     */
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpHeaders requestHeaders = request.getHeaders();
+        List<String> requestDirectives = directives(requestHeaders.getCacheControl());
+        if (request.getMethod() != HttpMethod.GET
+                || requestHeaders.containsKey(HttpHeaders.AUTHORIZATION)
+                || requestDirectives.contains("no-store")) {
+            count(Result.BYPASS);
+            return chain.filter(exchange);
+        }
+
+        String key = key(request);
+        CachedResponse cached = cache.getIfPresent(key);
+        boolean forceReload = requestDirectives.contains("no-cache")
+                || "no-cache".equalsIgnoreCase(requestHeaders.getFirst(HttpHeaders.PRAGMA));
+        long now = nanoClock.getAsLong();
+        if (cached != null && !forceReload && cached.isFresh(now)) {
+            count(Result.HIT);
+            return write(exchange.getResponse(), requestHeaders.getIfNoneMatch(), cached, now, Result.HIT);
+        }
+
+        CachedResponse revalidating = cached != null && cached.getETag() != null ? cached : null;
+        // Lu avant la mutation, qui partage les en-têtes de la requête d'origine
+        List<String> clientETags = requestHeaders.getIfNoneMatch();
+        ServerWebExchange forwarded = exchange;
+        if (revalidating != null) {
+            forwarded = exchange.mutate()
+                    .request(r -> r.headers(h -> h.setIfNoneMatch(revalidating.getETag())))
+                    .build();
+        }
+        return chain.filter(forwarded.mutate()
+                .response(new CachingResponse(exchange.getResponse(), key, clientETags, revalidating))
+                .build());
+    }
+
+    /**
+     * Clé : chemin et paramètres, plus les en-têtes de requête qui changent
+     * la représentation (format, compression, origine CORS)
+     */
+    static String key(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        StringBuilder key = new StringBuilder(request.getURI().getRawPath());
+        if (request.getURI().getRawQuery() != null) {
+            key.append('?').append(request.getURI().getRawQuery());
+        }
+        key.append('|').append(nullToEmpty(headers.getFirst(HttpHeaders.ACCEPT)))
+                .append('|').append(nullToEmpty(headers.getFirst(HttpHeaders.ACCEPT_ENCODING)))
+                .append('|').append(nullToEmpty(headers.getFirst(HttpHeaders.ORIGIN)));
+        return key.toString();
+    }
+
+    /**
+     * Réponse servie depuis le cache : 304 si le client a déjà cette
+     * version (If-None-Match), sinon 200 avec le corps gardé
+     */
+    private static Mono<Void> write(ServerHttpResponse response, List<String> clientETags, CachedResponse cached,
+                                    long now, Result result) {
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.getHeaders());
+        headers.set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds(now)));
+        headers.set(CACHE_HEADER, result.name());
+        if (cached.getETag() != null && matches(clientETags, cached.getETag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    /**
+     * If-None-Match contient-il etag ? Comparaison faible, comme le veut
+     * If-None-Match : W/"x" et "x" désignent la même version, * toutes
+     */
+    static boolean matches(List<String> ifNoneMatch, String etag) {
+        String opaque = opaque(etag);
+        for (String candidate : ifNoneMatch) {
+            if ("*".equals(candidate.trim()) || opaque(candidate).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String etag) {
+        String tag = etag.trim();
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    /**
+     * Durée de fraîcheur d'une réponse du service, ou -1 si elle ne doit
+     * pas être gardée
+     */
+    long freshness(HttpHeaders headers) {
+        List<String> directives = directives(headers.getCacheControl());
+        if (directives.contains("no-store") || directives.contains("private")
+                || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return -1;
+        }
+        boolean hasETag = headers.getETag() != null;
+        if (directives.contains("no-cache")) {
+            return hasETag ? 0 : -1;
+        }
+        long maxAge = seconds(directives, "s-maxage");
+        if (maxAge < 0) {
+            maxAge = seconds(directives, "max-age");
+        }
+        if (maxAge < 0) {
+            return ttlNanos;
+        }
+        if (maxAge == 0) {
+            return hasETag ? 0 : -1;
+        }
+        return Math.min(ttlNanos, Duration.ofSeconds(maxAge).toNanos());
+    }
+
+    private static long seconds(List<String> directives, String name) {
+        for (String directive : directives) {
+            if (directive.startsWith(name + "=")) {
+                try {
+                    return Long.parseLong(directive.substring(name.length() + 1).replace("\"", ""));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static List<String> directives(String cacheControl) {
+        if (cacheControl == null || cacheControl.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(cacheControl.split(","))
+                .map(d -> d.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+    }
+
+    private static HttpHeaders storedHeaders(HttpHeaders headers) {
+        HttpHeaders stored = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            if (!NOT_STORED.contains(name.toLowerCase(Locale.ROOT))) {
+                stored.put(name, values);
+            }
+        });
+        return stored;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private void count(Result result) {
+        requests.get(result).increment();
+    }
+
+    /**
+     * Réponse du service : gardée au passage si elle peut l'être (le corps
+     * est transmis au client au fur et à mesure, copié jusqu'à
+     * max-entry-bytes), ou remplacée par la réponse gardée sur un 304
+     * de revalidation.
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final List<String> clientETags;
+        private final CachedResponse revalidating;
+
+        CachingResponse(ServerHttpResponse delegate, String key, List<String> clientETags, CachedResponse revalidating) {
+            super(delegate);
+            this.key = key;
+            this.clientETags = clientETags;
+            this.revalidating = revalidating;
+        }
+
+        /**
+         * Réponse terminée sans corps : un 304 de revalidation doit tout de
+         * même être remplacé par la réponse gardée
+         */
+        @Override
+        public Mono<Void> setComplete() {
+            if (revalidating != null && getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                return writeWith(Flux.empty());
+            }
+            return super.setComplete();
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            long now = nanoClock.getAsLong();
+            if (revalidating != null && getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                // Un 304 peut annoncer un nouveau Cache-Control pour la même version
+                HttpHeaders validated = revalidating.getHeaders();
+                if (getHeaders().getCacheControl() != null) {
+                    validated = new HttpHeaders();
+                    validated.putAll(revalidating.getHeaders());
+                    validated.setCacheControl(getHeaders().getCacheControl());
+                }
+                CachedResponse refreshed = revalidating.revalidated(validated, now, Math.max(0, freshness(validated)));
+                cache.put(key, refreshed);
+                count(Result.REVALIDATED);
+                return Flux.from(body).doOnNext(DataBufferUtils::release)
+                        .then(Mono.defer(() -> write(getDelegate(), clientETags, refreshed, now, Result.REVALIDATED)));
+            }
+
+            count(Result.MISS);
+            getHeaders().set(CACHE_HEADER, Result.MISS.name());
+            long ttl = getStatusCode() == HttpStatus.OK ? freshness(getHeaders()) : -1;
+            if (ttl < 0) {
+                if (revalidating != null) {
+                    cache.invalidate(key);
+                }
+                return super.writeWith(body);
+            }
+
+            HttpHeaders stored = storedHeaders(getHeaders());
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            boolean[] tooLarge = {false};
+            Flux<DataBuffer> tee = Flux.from(body).map(buffer -> {
+                int length = buffer.readableByteCount();
+                if (!tooLarge[0] && copy.size() + length <= maxEntryBytes) {
+                    byte[] bytes = new byte[length];
+                    int position = buffer.readPosition();
+                    buffer.read(bytes);
+                    buffer.readPosition(position);
+                    copy.write(bytes, 0, length);
+                } else {
+                    tooLarge[0] = true;
+                }
+                return buffer;
+            });
+            return super.writeWith(tee).doOnSuccess(done -> {
+                if (tooLarge[0]) {
+                    cache.invalidate(key);
+                } else {
+                    cache.put(key, new CachedResponse(stored, copy.toByteArray(), now, ttl));
+                }
+            });
+        }
+    }
+}
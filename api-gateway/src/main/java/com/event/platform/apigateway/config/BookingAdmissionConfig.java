@@ -0,0 +1,57 @@
+package com.event.platform.apigateway.config;
+
+import com.event.platform.apigateway.admission.AdmissionController;
+import com.event.platform.apigateway.admission.BookingAdmissionFilter;
+import com.event.platform.apigateway.admission.BucketLimit;
+import com.event.platform.apigateway.admission.InMemoryTokenBucketStore;
+import com.event.platform.apigateway.admission.TokenBucketStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Limitation de débit et salle d'attente de POST /bookings
+ * (réglages gateway.booking.*)
+ */
+@Configuration
+public class BookingAdmissionConfig {
+
+    /**
+     * Seaux en mémoire par défaut ; un autre bean TokenBucketStore
+     * (partagé entre instances, Redis) le remplace
+     */
+    @Bean
+    @ConditionalOnMissingBean(TokenBucketStore.class)
+    public TokenBucketStore tokenBucketStore(@Value("${gateway.booking.rate-limit.max-keys:100000}") long maxKeys,
+                                             @Value("${gateway.booking.rate-limit.idle-ms:600000}") long idleMs) {
+        return new InMemoryTokenBucketStore(maxKeys, Duration.ofMillis(idleMs));
+    }
+
+    @Bean
+    public AdmissionController bookingAdmissionController(@Value("${gateway.booking.admission.max-concurrent:64}") int maxConcurrent,
+                                                          @Value("${gateway.booking.admission.max-queue:2000}") int maxQueue,
+                                                          @Value("${gateway.booking.admission.max-queued-per-user:1}") int maxQueuedPerUser,
+                                                          @Value("${gateway.booking.admission.max-wait-ms:10000}") long maxWaitMs) {
+        return new AdmissionController(maxConcurrent, maxQueue, maxQueuedPerUser, Duration.ofMillis(maxWaitMs));
+    }
+
+    @Bean
+    public BookingAdmissionFilter bookingAdmissionFilter(TokenBucketStore tokenBucketStore,
+                                                         AdmissionController bookingAdmissionController,
+                                                         @Value("${gateway.booking.rate-limit.user.capacity:5}") long userCapacity,
+                                                         @Value("${gateway.booking.rate-limit.user.refill-per-second:1}") double userRefill,
+                                                         @Value("${gateway.booking.rate-limit.event.capacity:500}") long eventCapacity,
+                                                         @Value("${gateway.booking.rate-limit.event.refill-per-second:200}") double eventRefill,
+                                                         @Value("${gateway.booking.admission.retry-after-seconds:2}") long retryAfterSeconds,
+                                                         ObjectMapper objectMapper,
+                                                         MeterRegistry meterRegistry) {
+        return new BookingAdmissionFilter(tokenBucketStore,
+                new BucketLimit(userCapacity, userRefill), new BucketLimit(eventCapacity, eventRefill),
+                bookingAdmissionController, retryAfterSeconds, objectMapper, meterRegistry);
+    }
+}
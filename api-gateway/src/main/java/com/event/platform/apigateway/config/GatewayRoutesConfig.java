@@ -0,0 +1,96 @@
+package com.event.platform.apigateway.config;
+
+import com.event.platform.apigateway.admission.BookingAdmissionFilter;
+import com.event.platform.apigateway.cache.RequestCoalescingFilter;
+import com.event.platform.apigateway.cache.ResponseCacheFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+
+/**
+ * Routes du Gateway vers les microservices
+ *
+ * - event-catalog : lectures du catalogue (GET /events, /events/available,
+ *   /events/category/*), servies par le cache de réponses du Gateway
+ *   (ResponseCacheFilter) ; les défauts de cache simultanés sont regroupés
+ *   en un seul appel (RequestCoalescingFilter) ;
+ * - event-read : GET /events/{id} (id numérique : ni /events/export, ni
+ *   /events/search, ni /events/batch), non mis en cache (places
+ *   disponibles) mais regroupé de la même façon ;
+ * - event-service : le reste de /events ;
+ * - booking-create : POST /bookings, derrière la limitation de débit et
+ *   la salle d'attente (BookingAdmissionFilter, voir BookingAdmissionConfig) ;
+ * - booking-service : le reste de /bookings.
+ *
+ * Les URI passent par le load balancer (lb://, instances Eureka) et
+ * peuvent être remplacées par gateway.routes.*-uri (tests, déploiement
+ * sans Eureka).
+ */
+@Configuration
+public class GatewayRoutesConfig {
+
+    @Value("${gateway.routes.event-service-uri:lb://event-service}")
+    private String eventServiceUri;
+
+    @Value("${gateway.routes.booking-service-uri:lb://booking-service}")
+    private String bookingServiceUri;
+
+    /**
+     * Définit les routes ; les routes du catalogue et de création de
+     * réservation passent avant celles, plus larges, de leur service
+     */
+    @Bean
+    public RouteLocator gatewayRoutes(RouteLocatorBuilder builder, ResponseCacheFilter catalogResponseCache,
+                                      RequestCoalescingFilter eventReadCoalescing,
+                                      BookingAdmissionFilter bookingAdmission) {
+        return builder.routes()
+                .route("event-catalog", r -> r.order(-1)
+                        .method(HttpMethod.GET)
+                        .and().path("/events", "/events/available", "/events/category/**")
+                        .filters(f -> f.filter(catalogResponseCache).filter(eventReadCoalescing))
+                        .uri(eventServiceUri))
+                .route("event-read", r -> r.order(-1)
+                        .method(HttpMethod.GET)
+                        .and().path("/events/{id:[0-9]+}")
+                        .filters(f -> f.filter(eventReadCoalescing))
+                        .uri(eventServiceUri))
+                .route("event-service", r -> r.path("/events", "/events/**")
+                        .uri(eventServiceUri))
+                .route("booking-create", r -> r.order(-1)
+                        .method(HttpMethod.POST)
+                        .and().path("/bookings")
+                        .filters(f -> f.filter(bookingAdmission))
+                        .uri(bookingServiceUri))
+                .route("booking-service", r -> r.path("/bookings", "/bookings/**")
+                        .uri(bookingServiceUri))
+                .build();
+    }
+
+    /**
+     * Cache des lectures du catalogue, borné en mémoire
+     */
+    @Bean
+    public ResponseCacheFilter catalogResponseCache(@Value("${gateway.cache.ttl-ms:5000}") long ttlMs,
+                                                    @Value("${gateway.cache.max-bytes:33554432}") long maxBytes,
+                                                    @Value("${gateway.cache.max-entry-bytes:262144}") int maxEntryBytes,
+                                                    @Value("${gateway.cache.retention-ms:600000}") long retentionMs,
+                                                    MeterRegistry meterRegistry) {
+        return new ResponseCacheFilter(Duration.ofMillis(ttlMs), maxBytes, maxEntryBytes,
+                Duration.ofMillis(retentionMs), meterRegistry);
+    }
+
+    /**
+     * Regroupement des lectures identiques simultanées d'événements
+     */
+    @Bean
+    public RequestCoalescingFilter eventReadCoalescing(@Value("${gateway.coalescing.max-body-bytes:262144}") int maxBodyBytes,
+                                                      MeterRegistry meterRegistry) {
+        return new RequestCoalescingFilter(maxBodyBytes, meterRegistry);
+    }
+}
@@ -0,0 +1,74 @@
+package com.event.platform.apigateway.admission;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControllerTest {
+
+    @Test
+    void excessRequestsWaitAndAreServedInArrivalOrder() {
+        AdmissionController admission = new AdmissionController(1, 10, 1, Duration.ofMinutes(1));
+        List<String> served = new ArrayList<>();
+
+        assertThat(admission.admit("a").block()).isEqualTo(AdmissionController.Outcome.ADMITTED);
+        admission.admit("b").subscribe(outcome -> served.add("b:" + outcome));
+        admission.admit("c").subscribe(outcome -> served.add("c:" + outcome));
+        assertThat(served).isEmpty();
+        assertThat(admission.getQueued()).isEqualTo(2);
+
+        admission.release();
+        assertThat(served).containsExactly("b:QUEUED");
+        admission.release();
+        assertThat(served).containsExactly("b:QUEUED", "c:QUEUED");
+        assertThat(admission.getInFlight()).isEqualTo(1);
+
+        admission.release();
+        assertThat(admission.getInFlight()).isZero();
+        assertThat(admission.getQueued()).isZero();
+    }
+
+    @Test
+    void fullQueueAndRepeatedUsersAreRejected() {
+        AdmissionController admission = new AdmissionController(1, 2, 1, Duration.ofMinutes(1));
+        admission.admit("a").block();
+        admission.admit("b").subscribe();
+
+        assertThat(admission.admit("b").block()).isEqualTo(AdmissionController.Outcome.REJECTED);
+        admission.admit("c").subscribe();
+        assertThat(admission.admit("d").block()).isEqualTo(AdmissionController.Outcome.REJECTED);
+    }
+
+    @Test
+    void waitIsBounded() {
+        AdmissionController admission = new AdmissionController(1, 10, 1, Duration.ofMillis(50));
+        admission.admit("a").block();
+
+        assertThat(admission.admit("b").block(Duration.ofSeconds(5))).isEqualTo(AdmissionController.Outcome.EXPIRED);
+        assertThat(admission.getQueued()).isZero();
+        assertThat(admission.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void abandonedWaiterLeavesTheQueue() {
+        AdmissionController admission = new AdmissionController(1, 10, 1, Duration.ofMinutes(1));
+        admission.admit("a").block();
+        List<AdmissionController.Outcome> served = new ArrayList<>();
+        Disposable gone = admission.admit("b").subscribe(served::add);
+        admission.admit("c").subscribe(served::add);
+
+        gone.dispose();
+        assertThat(admission.getQueued()).isEqualTo(1);
+
+        admission.release();
+        assertThat(served).containsExactly(AdmissionController.Outcome.QUEUED);
+        // b peut de nouveau attendre
+        admission.admit("b").subscribe(served::add);
+        assertThat(admission.getQueued()).isEqualTo(1);
+    }
+}
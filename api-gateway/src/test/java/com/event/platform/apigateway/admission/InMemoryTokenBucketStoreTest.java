@@ -0,0 +1,43 @@
+package com.event.platform.apigateway.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryTokenBucketStoreTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final InMemoryTokenBucketStore store = new InMemoryTokenBucketStore(1000, Duration.ofMinutes(10), now::get);
+    private final BucketLimit limit = new BucketLimit(3, 2);
+
+    @Test
+    void burstUpToCapacityThenWaitForRefill() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryConsume("user:1", limit)).isZero();
+        }
+        long wait = store.tryConsume("user:1", limit);
+        assertThat(wait).isEqualTo(Duration.ofMillis(500).toNanos());
+
+        now.addAndGet(wait);
+        assertThat(store.tryConsume("user:1", limit)).isZero();
+        assertThat(store.tryConsume("user:1", limit)).isPositive();
+    }
+
+    @Test
+    void bucketsAreIndependentAndCappedAtCapacity() {
+        for (int i = 0; i < 3; i++) {
+            store.tryConsume("user:1", limit);
+        }
+        assertThat(store.tryConsume("user:2", limit)).isZero();
+
+        // Une longue pause ne recharge pas au-delà de la capacité
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryConsume("user:1", limit)).isZero();
+        }
+        assertThat(store.tryConsume("user:1", limit)).isPositive();
+    }
+}
@@ -0,0 +1,226 @@
+package com.event.platform.apigateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescingFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestCoalescingFilter filter = new RequestCoalescingFilter(1_000, registry);
+
+    /**
+     * Event Service simulé : ne répond qu'une fois la barrière ouverte, pour
+     * garder la première requête en cours pendant l'arrivée des suivantes
+     */
+    private final AtomicInteger backendCalls = new AtomicInteger();
+    private Sinks.Empty<Void> gate = Sinks.empty();
+    private HttpStatus backendStatus = HttpStatus.OK;
+    private String backendETag;
+    private boolean firstCallFails;
+
+    private final GatewayFilterChain backend = exchange -> {
+        int call = backendCalls.incrementAndGet();
+        return gate.asMono().then(Mono.defer(() -> {
+            if (firstCallFails && call == 1) {
+                return Mono.error(new IllegalStateException("connexion refusée"));
+            }
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(backendStatus);
+            if (backendETag != null) {
+                response.getHeaders().setETag(backendETag);
+            }
+            if (backendStatus == HttpStatus.NOT_MODIFIED) {
+                return response.setComplete();
+            }
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            byte[] body = ("{\"id\":7,\"call\":" + call + "}").getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }));
+    };
+
+    @Test
+    void concurrentIdenticalReadsShareOneBackendCall() {
+        List<MockServerWebExchange> exchanges = new ArrayList<>();
+        List<Mono<Void>> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/events/7"));
+            exchanges.add(exchange);
+            requests.add(filter.filter(exchange, backend).cache());
+            requests.get(i).subscribe();
+        }
+        gate.tryEmitEmpty();
+        requests.forEach(request -> request.block(Duration.ofSeconds(5)));
+
+        assertThat(backendCalls).hasValue(1);
+        for (MockServerWebExchange exchange : exchanges) {
+            assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+            assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("{\"id\":7,\"call\":1}");
+        }
+        assertThat(registry.counter("gateway.coalescing.requests", "role", "leader").count()).isEqualTo(1);
+        assertThat(registry.counter("gateway.coalescing.requests", "role", "follower").count()).isEqualTo(4);
+        assertThat(registry.get("gateway.coalescing.collapse.ratio").gauge().value()).isEqualTo(0.8);
+
+        // Rien n'est gardé : une nouvelle lecture repart vers le service
+        gate = Sinks.empty();
+        gate.tryEmitEmpty();
+        MockServerWebExchange later = MockServerWebExchange.from(MockServerHttpRequest.get("/events/7"));
+        filter.filter(later, backend).block(Duration.ofSeconds(5));
+        assertThat(backendCalls).hasValue(2);
+    }
+
+    @Test
+    void differentReadsAreNotCoalesced() {
+        Mono<Void> first = filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/events/7")), backend).cache();
+        Mono<Void> other = filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/events/8")), backend).cache();
+        Mono<Void> revalidation = filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/events/7")
+                .ifNoneMatch("\"3\"")), backend).cache();
+        first.subscribe();
+        other.subscribe();
+        revalidation.subscribe();
+        gate.tryEmitEmpty();
+
+        first.block(Duration.ofSeconds(5));
+        assertThat(backendCalls).hasValue(3);
+    }
+
+    @Test
+    void followersRetryThemselvesWhenTheLeaderFails() {
+        firstCallFails = true;
+        Mono<Void> leader = filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/events/7")), backend).cache();
+        leader.subscribe(done -> { }, error -> { });
+        MockServerWebExchange follower = MockServerWebExchange.from(MockServerHttpRequest.get("/events/7"));
+        Mono<Void> followed = filter.filter(follower, backend).cache();
+        followed.subscribe(done -> { }, error -> { });
+        gate.tryEmitEmpty();
+        followed.block(Duration.ofSeconds(5));
+
+        assertThat(backendCalls).hasValue(2);
+        assertThat(follower.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo("{\"id\":7,\"call\":2}");
+    }
+
+    @Test
+    void notModifiedIsSharedWithoutBody() {
+        backendStatus = HttpStatus.NOT_MODIFIED;
+        List<MockServerWebExchange> exchanges = new ArrayList<>();
+        List<Mono<Void>> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/events/7")
+                    .ifNoneMatch("\"3\""));
+            exchanges.add(exchange);
+            requests.add(filter.filter(exchange, backend).cache());
+            requests.get(i).subscribe();
+        }
+        gate.tryEmitEmpty();
+        requests.forEach(request -> request.block(Duration.ofSeconds(5)));
+
+        assertThat(backendCalls).hasValue(1);
+        exchanges.forEach(exchange ->
+                assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED));
+    }
+
+    @Test
+    void staleCatalogReadsShareOneRevalidationAndAllGetTheCachedBody() {
+        AtomicLong now = new AtomicLong();
+        ResponseCacheFilter cache = new ResponseCacheFilter(
+                Duration.ofSeconds(5), 1_000_000, 1_000, Duration.ofMinutes(10), registry, now::get);
+        // Même ordre que sur la route event-catalog : cache puis regroupement
+        GatewayFilterChain route = exchange -> cache.filter(exchange, forwarded -> filter.filter(forwarded, backend));
+
+        backendETag = "\"v1\"";
+        gate.tryEmitEmpty();
+        route.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/events/available"))).block(Duration.ofSeconds(5));
+
+        // Entrée périmée : chaque GET simple part en revalidation avec le même If-None-Match
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        gate = Sinks.empty();
+        backendStatus = HttpStatus.NOT_MODIFIED;
+        List<MockServerWebExchange> exchanges = new ArrayList<>();
+        List<Mono<Void>> requests = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/events/available"));
+            exchanges.add(exchange);
+            requests.add(route.filter(exchange).cache());
+            requests.get(i).subscribe();
+        }
+        gate.tryEmitEmpty();
+        requests.forEach(request -> request.block(Duration.ofSeconds(5)));
+
+        assertThat(backendCalls).hasValue(2);
+        for (MockServerWebExchange exchange : exchanges) {
+            assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(exchange.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER)).isEqualTo("REVALIDATED");
+            assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.ETAG)).isEqualTo("\"v1\"");
+            assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("{\"id\":7,\"call\":1}");
+        }
+    }
+
+    @Test
+    void followersDoNotWaitForAnOversizedBody() {
+        followersAreReleasedBeforeTheLeaderEnds(false);
+    }
+
+    @Test
+    void followersDoNotWaitForAStreamedBody() {
+        followersAreReleasedBeforeTheLeaderEnds(true);
+    }
+
+    /**
+     * Le leader envoie un premier morceau puis ne termine qu'à l'ouverture
+     * de end (export, flux) : le follower doit faire sa propre requête sans
+     * attendre la fin du transfert
+     */
+    private void followersAreReleasedBeforeTheLeaderEnds(boolean streamed) {
+        Sinks.Empty<Void> end = Sinks.empty();
+        byte[] chunk = new byte[streamed ? 10 : 1_500];
+        Arrays.fill(chunk, (byte) 'x');
+        GatewayFilterChain export = exchange -> {
+            int call = backendCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            if (call > 1) {
+                return response.writeWith(Mono.just(response.bufferFactory().wrap("seul".getBytes(StandardCharsets.UTF_8))));
+            }
+            Flux<DataBuffer> body = gate.asMono().thenMany(Flux.concat(
+                    Mono.fromSupplier(() -> response.bufferFactory().wrap(chunk)),
+                    end.asMono().then(Mono.fromSupplier(() -> response.bufferFactory().wrap(chunk)))));
+            return streamed ? response.writeAndFlushWith(body.map(Mono::just)) : response.writeWith(body);
+        };
+
+        Mono<Void> leader = filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/events/export")), export).cache();
+        leader.subscribe();
+        MockServerWebExchange follower = MockServerWebExchange.from(MockServerHttpRequest.get("/events/export"));
+        Mono<Void> followed = filter.filter(follower, export).cache();
+        followed.subscribe();
+        gate.tryEmitEmpty();
+
+        followed.block(Duration.ofSeconds(5));
+        assertThat(backendCalls).hasValue(2);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo("seul");
+
+        end.tryEmitEmpty();
+        leader.block(Duration.ofSeconds(5));
+    }
+}
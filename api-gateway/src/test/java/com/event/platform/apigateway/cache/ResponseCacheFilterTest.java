@@ -0,0 +1,162 @@
+package com.event.platform.apigateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheFilterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(
+            Duration.ofSeconds(5), 1_000_000, 1_000, Duration.ofMinutes(10), registry, now::get);
+
+    /**
+     * Event Service simulé : répond status / en-têtes / corps et garde les
+     * requêtes reçues
+     */
+    private final List<HttpHeaders> backendRequests = new ArrayList<>();
+    private HttpStatus backendStatus = HttpStatus.OK;
+    private final HttpHeaders backendHeaders = new HttpHeaders();
+    private String backendBody = "[{\"id\":1}]";
+
+    private final GatewayFilterChain backend = exchange -> {
+        backendRequests.add(exchange.getRequest().getHeaders());
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(backendStatus);
+        response.getHeaders().putAll(backendHeaders);
+        if (backendStatus == HttpStatus.NOT_MODIFIED) {
+            return response.writeWith(Flux.empty());
+        }
+        byte[] body = backendBody.getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    };
+
+    @Test
+    void freshResponseIsServedWithoutCallingTheService() {
+        backendHeaders.setContentType(MediaType.APPLICATION_JSON);
+
+        MockServerHttpResponse first = get(MockServerHttpRequest.get("/events/available?page=0"));
+        MockServerHttpResponse second = get(MockServerHttpRequest.get("/events/available?page=0"));
+
+        assertThat(backendRequests).hasSize(1);
+        assertThat(first.getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER)).isEqualTo("MISS");
+        assertThat(second.getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER)).isEqualTo("HIT");
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(second.getBodyAsString().block()).isEqualTo("[{\"id\":1}]");
+
+        get(MockServerHttpRequest.get("/events/available?page=1"));
+        assertThat(backendRequests).hasSize(2);
+        assertThat(registry.counter("gateway.cache.requests", "result", "hit").count()).isEqualTo(1);
+    }
+
+    @Test
+    void noStoreAndPrivateResponsesAreNotKept() {
+        backendHeaders.setCacheControl("no-store");
+        get(MockServerHttpRequest.get("/events"));
+        get(MockServerHttpRequest.get("/events"));
+
+        backendHeaders.setCacheControl("private, max-age=60");
+        get(MockServerHttpRequest.get("/events/category/MUSIC"));
+        get(MockServerHttpRequest.get("/events/category/MUSIC"));
+
+        assertThat(backendRequests).hasSize(4);
+    }
+
+    @Test
+    void maxAgeShortensFreshness() {
+        backendHeaders.setCacheControl("max-age=1");
+        get(MockServerHttpRequest.get("/events"));
+
+        now.addAndGet(Duration.ofMillis(1500).toNanos());
+        get(MockServerHttpRequest.get("/events"));
+
+        assertThat(backendRequests).hasSize(2);
+    }
+
+    @Test
+    void staleResponseIsRevalidatedWithItsETag() {
+        backendHeaders.setETag("\"v1\"");
+        get(MockServerHttpRequest.get("/events"));
+
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        backendStatus = HttpStatus.NOT_MODIFIED;
+        MockServerHttpResponse revalidated = get(MockServerHttpRequest.get("/events"));
+
+        assertThat(backendRequests).hasSize(2);
+        assertThat(backendRequests.get(1).getIfNoneMatch()).containsExactly("\"v1\"");
+        assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(revalidated.getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER)).isEqualTo("REVALIDATED");
+        assertThat(revalidated.getBodyAsString().block()).isEqualTo("[{\"id\":1}]");
+
+        // De nouveau frais pour ttl-ms
+        get(MockServerHttpRequest.get("/events"));
+        assertThat(backendRequests).hasSize(2);
+    }
+
+    @Test
+    void clientWithTheCachedVersionGetsNotModified() {
+        backendHeaders.setETag("\"v1\"");
+        get(MockServerHttpRequest.get("/events"));
+
+        MockServerHttpResponse response = get(MockServerHttpRequest.get("/events").ifNoneMatch("\"v1\""));
+
+        assertThat(backendRequests).hasSize(1);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    void clientETagsAreComparedWeakly() {
+        backendHeaders.setETag("W/\"v1\"");
+        get(MockServerHttpRequest.get("/events"));
+
+        assertThat(get(MockServerHttpRequest.get("/events").ifNoneMatch("\"v1\"")).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(get(MockServerHttpRequest.get("/events").ifNoneMatch("W/\"v1\"")).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(get(MockServerHttpRequest.get("/events").ifNoneMatch("*")).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(get(MockServerHttpRequest.get("/events").ifNoneMatch("W/\"v0\"")).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(backendRequests).hasSize(1);
+    }
+
+    @Test
+    void clientNoCacheGoesToTheServiceAndLargeBodiesAreNotKept() {
+        get(MockServerHttpRequest.get("/events"));
+        get(MockServerHttpRequest.get("/events").header(HttpHeaders.CACHE_CONTROL, "no-cache"));
+        assertThat(backendRequests).hasSize(2);
+
+        backendBody = "x".repeat(2_000);
+        MockServerHttpResponse large = get(MockServerHttpRequest.get("/events/available"));
+        get(MockServerHttpRequest.get("/events/available"));
+
+        assertThat(large.getBodyAsString().block()).hasSize(2_000);
+        assertThat(backendRequests).hasSize(4);
+    }
+
+    private MockServerHttpResponse get(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, backend).block();
+        return exchange.getResponse();
+    }
+}
@@ -0,0 +1,39 @@
+package com.event.platform.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Point d'entrée de benchmarks.jar
+ *
+ * Identique au Main de JMH, mais écrit par défaut les résultats en JSON
+ * dans jmh-result.json, pour pouvoir les comparer d'une version à l'autre.
+ * Les options JMH habituelles restent utilisables (filtre, -f, -wi, -rf...).
+ *
+ * Exemples :
+ *   java -jar target/benchmarks.jar
+ *   java -jar target/benchmarks.jar EventMapping -rff before.json
+ */
+public final class BenchmarkMain {
+
+    static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.add("-rf");
+            options.add("json");
+        }
+        if (!options.contains("-rff")) {
+            options.add("-rff");
+            options.add(DEFAULT_RESULT_FILE);
+        }
+        Main.main(options.toArray(new String[0]));
+    }
+}
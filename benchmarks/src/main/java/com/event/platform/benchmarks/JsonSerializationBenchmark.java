@@ -0,0 +1,83 @@
+package com.event.platform.benchmarks;
+
+import com.event.platform.bookingservice.dto.BookingResponse;
+import com.event.platform.eventservice.dto.EventDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation JSON des réponses les plus fréquentes
+ * ObjectMapper configuré comme celui de Spring Boot (dates ISO-8601)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private ObjectWriter eventWriter;
+    private ObjectWriter bookingWriter;
+    private EventDTO event;
+    private BookingResponse booking;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        eventWriter = mapper.writerFor(EventDTO.class);
+        bookingWriter = mapper.writerFor(BookingResponse.class);
+
+        OffsetDateTime start = OffsetDateTime.of(2026, 6, 21, 20, 0, 0, 0, ZoneOffset.UTC);
+        event = new EventDTO(42L, "Fête de la musique", "Concerts gratuits dans tout le quartier, scène ouverte",
+                "Place de la République, Paris", start, start.plusHours(4), 5000, 1234,
+                new BigDecimal("25.00"), "CONCERT", "PUBLISHED", start.minusDays(30));
+
+        LocalDateTime now = LocalDateTime.of(2026, 5, 1, 10, 30);
+        booking = BookingResponse.builder()
+                .id(1001L)
+                .bookingCode("BK-20260501-0042")
+                .eventId(42L)
+                .userId(7L)
+                .numberOfTickets(2)
+                .totalPrice(new BigDecimal("50.00"))
+                .status("CONFIRMED")
+                .userEmail("user@example.com")
+                .eventName("Fête de la musique")
+                .eventDate(start.toLocalDateTime())
+                .notes("Accès PMR")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializeEvent() throws Exception {
+        return eventWriter.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] serializeBooking() throws Exception {
+        return bookingWriter.writeValueAsBytes(booking);
+    }
+}
@@ -0,0 +1,69 @@
+package com.event.platform.bookingservice.code;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Booking code generation, called for every booking before its insert.
+ *
+ * SequenceBlockBookingCodeGenerator with an in-memory block allocator
+ * (the database round trip is paid once per block-size codes), against the
+ * former Booking.generateBookingCode (LocalDateTime.toString, String.format,
+ * Math.random) as a baseline. Measured single-threaded and with concurrent
+ * callers; add -prof gc for the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingCodeBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final SequenceBlockBookingCodeGenerator generator = new SequenceBlockBookingCodeGenerator(
+            size -> sequence.getAndAdd(size), 1000, Clock.systemUTC());
+
+    @Benchmark
+    public String sequenceBlock() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String sequenceBlockContended() {
+        return generator.next();
+    }
+
+    @Benchmark
+    public String legacy() {
+        return legacyCode();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String legacyContended() {
+        return legacyCode();
+    }
+
+    private static String legacyCode() {
+        String date = LocalDateTime.now().toString()
+                .substring(0, 10).replace("-", "");
+        int random = (int) (Math.random() * 10000);
+        return String.format("BK-%s-%04d", date, random);
+    }
+}
@@ -0,0 +1,63 @@
+package com.event.platform.bookingservice.service;
+
+import com.event.platform.bookingservice.dto.BookingResponse;
+import com.event.platform.bookingservice.model.Booking;
+import com.event.platform.bookingservice.model.BookingStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BookingService.toResponse, called for every booking returned.
+ * Lives in the service package to reach the package-private method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingMappingBenchmark {
+
+    private BookingService service;
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        // Only the mapping is exercised: no repository or client needed
+        service = new BookingService(null, null, null, null, null, null, 20, 100, new ObjectMapper(), null);
+        LocalDateTime now = LocalDateTime.of(2026, 5, 1, 10, 30);
+        booking = Booking.builder()
+                .id(1001L)
+                .bookingCode("BK-20260501-0042")
+                .eventId(42L)
+                .userId(7L)
+                .numberOfTickets(2)
+                .totalPrice(new BigDecimal("50.00"))
+                .status(BookingStatus.CONFIRMED)
+                .userEmail("user@example.com")
+                .eventName("Fête de la musique")
+                .eventDate(now.plusDays(50))
+                .notes("Accès PMR")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    @Benchmark
+    public BookingResponse toResponse() {
+        return service.toResponse(booking);
+    }
+}
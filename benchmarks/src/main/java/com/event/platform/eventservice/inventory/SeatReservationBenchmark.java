@@ -0,0 +1,86 @@
+package com.event.platform.eventservice.inventory;
+
+import com.event.platform.eventservice.model.Event;
+import com.event.platform.eventservice.repository.EventRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Réservation de places sur un même événement, 8 threads en concurrence
+ * (mise en vente)
+ *
+ * - entityReserveLocked : Event.reserveSeats sous verrou exclusif, comme
+ *   le chemin SELECT ... FOR UPDATE
+ * - inventoryReserve : SeatInventory (CAS sur le compteur en mémoire puis
+ *   UPDATE conditionnel), base simulée par un compteur atomique
+ *
+ * La capacité est assez grande pour ne jamais être épuisée pendant la mesure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class SeatReservationBenchmark {
+
+    private static final long EVENT_ID = 1L;
+    private static final int CAPACITY = 1_000_000_000;
+
+    private Event event;
+    private SeatInventory inventory;
+
+    @Setup
+    public void setUp() {
+        event = Event.builder().id(EVENT_ID).capacity(CAPACITY).availableSeats(CAPACITY).build();
+
+        AtomicInteger dbSeats = new AtomicInteger(CAPACITY);
+        EventRepository repository = (EventRepository) Proxy.newProxyInstance(
+                EventRepository.class.getClassLoader(), new Class<?>[] {EventRepository.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findAvailableSeatsById":
+                            return Optional.of(dbSeats.get());
+                        case "decrementAvailableSeats": {
+                            int seats = (Integer) args[1];
+                            int current;
+                            do {
+                                current = dbSeats.get();
+                                if (current < seats) return 0;
+                            } while (!dbSeats.compareAndSet(current, current - seats));
+                            return 1;
+                        }
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        inventory = new SeatInventory(repository, change -> { }, 1000);
+    }
+
+    @Benchmark
+    public boolean entityReserveLocked() {
+        synchronized (event) {
+            return event.reserveSeats(1);
+        }
+    }
+
+    @Benchmark
+    public boolean inventoryReserve() {
+        return inventory.reserve(EVENT_ID, 1);
+    }
+}
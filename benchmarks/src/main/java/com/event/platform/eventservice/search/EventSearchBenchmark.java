@@ -0,0 +1,133 @@
+package com.event.platform.eventservice.search;
+
+import com.event.platform.eventservice.model.Event;
+import com.event.platform.eventservice.model.EventCategory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latence de GET /events/search selon la taille du catalogue
+ *
+ * - index : EventSearchIndex (index inversé en mémoire)
+ * - likeScan : la requête LIKE '%mot%' d'origine, sur H2 en mode MySQL
+ *   (référence : parcours complet de la table)
+ *
+ * Les deux reçoivent la même requête, un mot complet suivi d'un mot en
+ * cours de saisie.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "concert", "jazz", "théâtre", "opéra", "festival", "rock", "électro", "soirée",
+            "conférence", "exposition", "musée", "danse", "cinéma", "humour", "classique",
+            "marché", "gastronomie", "vins", "atelier", "enfants", "famille", "plein", "air",
+            "nocturne", "découverte", "lecture", "poésie", "photographie", "sport", "course"
+    };
+    private static final String[] CITIES = {
+            "Paris", "Lyon", "Marseille", "Toulouse", "Nantes", "Lille", "Bordeaux", "Montréal"
+    };
+
+    private static final String QUERY = "concert jaz";
+    private static final String LIKE_KEYWORD = "jazz";
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private EventSearchIndex index;
+    private Connection connection;
+    private PreparedStatement likeQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        index = new EventSearchIndex(null, null, true);
+        connection = DriverManager.getConnection("jdbc:h2:mem:search" + size + ";MODE=MySQL");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE events (id BIGINT PRIMARY KEY, name VARCHAR(200), description TEXT)");
+        }
+
+        Random random = new Random(42);
+        EventCategory[] categories = EventCategory.values();
+        LocalDateTime now = LocalDateTime.now();
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO events VALUES (?, ?, ?)")) {
+            for (long id = 1; id <= size; id++) {
+                String name = sentence(random, 3);
+                String description = sentence(random, 25);
+                index.index(Event.builder()
+                        .id(id)
+                        .name(name)
+                        .description(description)
+                        .location(CITIES[random.nextInt(CITIES.length)])
+                        .category(categories[random.nextInt(categories.length)])
+                        .updatedAt(now)
+                        .build());
+                insert.setLong(1, id);
+                insert.setString(2, name);
+                insert.setString(3, description);
+                insert.addBatch();
+                if (id % 1000 == 0) insert.executeBatch();
+            }
+            insert.executeBatch();
+        }
+        likeQuery = connection.prepareStatement("SELECT id FROM events WHERE "
+                + "LOWER(name) LIKE LOWER(CONCAT('%', ?, '%')) OR "
+                + "LOWER(description) LIKE LOWER(CONCAT('%', ?, '%'))");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        likeQuery.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public EventSearchIndex.SearchHits index() {
+        return index.search(QUERY, 0, 20);
+    }
+
+    @Benchmark
+    public int likeScan() throws SQLException {
+        likeQuery.setString(1, LIKE_KEYWORD);
+        likeQuery.setString(2, LIKE_KEYWORD);
+        int count = 0;
+        try (ResultSet rs = likeQuery.executeQuery()) {
+            while (rs.next()) count++;
+        }
+        return count;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,73 @@
+package com.event.platform.eventservice.service;
+
+import com.event.platform.eventservice.dto.EventDTO;
+import com.event.platform.eventservice.model.Event;
+import com.event.platform.eventservice.model.EventCategory;
+import com.event.platform.eventservice.model.EventStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion entité <-> DTO de EventServiceImpl, appelée sur chaque lecture
+ * et chaque écriture du catalogue
+ * Dans le même package pour accéder à toDTO/toEntity
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMappingBenchmark {
+
+    private EventServiceImpl service;
+    private Event event;
+    private EventDTO dto;
+
+    @Setup
+    public void setUp() {
+        // Seules les méthodes de conversion sont appelées : pas de dépendances
+        service = new EventServiceImpl(null, null, null, null, null, null, 500, 20, 100, new ObjectMapper());
+        LocalDateTime start = LocalDateTime.of(2026, 6, 21, 20, 0);
+        event = Event.builder()
+                .id(42L)
+                .name("Fête de la musique")
+                .description("Concerts gratuits dans tout le quartier, scène ouverte")
+                .category(EventCategory.CONCERT)
+                .location("Place de la République, Paris")
+                .startDate(start)
+                .endDate(start.plusHours(4))
+                .capacity(5000)
+                .availableSeats(1234)
+                .basePrice(new BigDecimal("25.00"))
+                .status(EventStatus.PUBLISHED)
+                .organizerId(1L)
+                .createdAt(start.minusMonths(2))
+                .updatedAt(start.minusDays(1))
+                .build();
+        dto = service.toDTO(event);
+    }
+
+    @Benchmark
+    public EventDTO toDTO() {
+        return service.toDTO(event);
+    }
+
+    @Benchmark
+    public Event toEntity() {
+        return service.toEntity(dto);
+    }
+}
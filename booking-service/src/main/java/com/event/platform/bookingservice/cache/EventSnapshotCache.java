@@ -0,0 +1,236 @@
+package com.event.platform.bookingservice.cache;
+
+import com.event.platform.bookingservice.client.EventServiceClient;
+import com.event.platform.bookingservice.dto.EventDTO;
+import com.event.platform.bookingservice.metrics.BookingMetrics;
+import com.event.platform.bookingservice.metrics.BookingMetrics.SnapshotLookup;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local copies of the events booked through this service, read instead of
+ * calling Event Service on every booking (name, date and price of the event).
+ *
+ * - bounded in count (booking.event-cache.max-size); a snapshot is fresh
+ *   for ttl-ms after it was fetched
+ * - snapshots read since the last refresh are refreshed ahead of expiry by
+ *   a scheduled job, up to refresh-batch-size events per GET /events/batch,
+ *   so hot events are never fetched on the request path
+ * - a miss is fetched once, however many requests wait for it
+ * - version-aware: an answer older (updatedAt) than the snapshot held,
+ *   e.g. a slow refresh overtaken by a miss, never replaces it
+ * - when Event Service cannot be reached, an expired snapshot is still
+ *   served, up to stale-ttl-ms after it was fetched
+ *
+ * Each refresh run ends with one {@link EventSnapshotsChanged}: events
+ * refreshed, deleted or evicted since the previous run.
+ *
+ * Seat counts in a snapshot are informative only: Event Service remains
+ * the authority when seats are reserved. Lookups and refreshes are counted
+ * in event.snapshot.* (see {@link BookingMetrics}).
+ */
+@Component
+public class EventSnapshotCache {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSnapshotCache.class);
+
+    private final EventServiceClient client;
+    private final BookingMetrics metrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<Long, Snapshot> snapshots;
+    private final ConcurrentLinkedQueue<Long> evicted = new ConcurrentLinkedQueue<>();
+    private final ConcurrentMap<Long, CompletableFuture<Snapshot>> loading = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final long refreshAfterNanos;
+    private final int refreshBatchSize;
+
+    public EventSnapshotCache(EventServiceClient client,
+                              BookingMetrics metrics,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${booking.event-cache.max-size:10000}") long maxSize,
+                              @Value("${booking.event-cache.ttl-ms:30000}") long ttlMillis,
+                              @Value("${booking.event-cache.stale-ttl-ms:3600000}") long staleTtlMillis,
+                              @Value("${booking.event-cache.refresh-batch-size:200}") int refreshBatchSize) {
+        this.client = client;
+        this.metrics = metrics;
+        this.eventPublisher = eventPublisher;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(Math.max(ttlMillis, staleTtlMillis)))
+                .removalListener((Long id, Snapshot snapshot, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) evicted.add(id);
+                })
+                .build();
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.refreshAfterNanos = ttlNanos / 2;
+        this.refreshBatchSize = Math.max(1, refreshBatchSize);
+        metrics.monitorEventSnapshots(snapshots.asMap());
+    }
+
+    /**
+     * @return the event, or null if Event Service does not know it
+     * @throws RuntimeException if Event Service cannot be reached and no snapshot is held
+     */
+    public EventDTO get(Long eventId) {
+        Snapshot held = snapshots.getIfPresent(eventId);
+        if (held != null && System.nanoTime() - held.fetchedAt < ttlNanos) {
+            held.read = true;
+            metrics.recordSnapshotLookup(SnapshotLookup.HIT);
+            return held.event;
+        }
+        Snapshot loaded;
+        try {
+            loaded = load(eventId);
+        } catch (RuntimeException e) {
+            if (held == null) {
+                metrics.recordSnapshotLookup(SnapshotLookup.UNAVAILABLE);
+                throw e;
+            }
+            metrics.recordSnapshotLookup(SnapshotLookup.STALE);
+            return held.event;
+        }
+        metrics.recordSnapshotLookup(SnapshotLookup.MISS);
+        return loaded == null ? null : loaded.event;
+    }
+
+    /**
+     * Snapshot held, however old, without calling Event Service
+     *
+     * @return null if the event was never read or has been evicted
+     */
+    public EventDTO peek(Long eventId) {
+        Snapshot held = snapshots.getIfPresent(eventId);
+        return held == null ? null : held.event;
+    }
+
+    /**
+     * Refreshes, several at a time, the snapshots read since their last
+     * refresh and past half their TTL. Snapshots nobody reads are left to
+     * expire. If Event Service cannot be reached, the snapshots are kept
+     * as they are until the next run.
+     */
+    @Scheduled(fixedDelayString = "${booking.event-cache.refresh-interval-ms:5000}")
+    public void refresh() {
+        long now = System.nanoTime();
+        List<Long> due = new ArrayList<>();
+        for (Map.Entry<Long, Snapshot> entry : snapshots.asMap().entrySet()) {
+            Snapshot snapshot = entry.getValue();
+            if (snapshot.read && now - snapshot.fetchedAt >= refreshAfterNanos) {
+                due.add(entry.getKey());
+            }
+        }
+        List<EventDTO> updated = new ArrayList<>();
+        Set<Long> removed = new HashSet<>();
+        for (int from = 0; from < due.size(); from += refreshBatchSize) {
+            List<Long> ids = due.subList(from, Math.min(due.size(), from + refreshBatchSize));
+            if (!refresh(ids, updated, removed)) {
+                metrics.recordSnapshotRefresh(due.size() - from, false);
+                break;
+            }
+            metrics.recordSnapshotRefresh(ids.size(), true);
+        }
+        for (Long id = evicted.poll(); id != null; id = evicted.poll()) {
+            removed.add(id);
+        }
+        if (!updated.isEmpty() || !removed.isEmpty()) {
+            eventPublisher.publishEvent(new EventSnapshotsChanged(updated, removed));
+        }
+    }
+
+    private boolean refresh(List<Long> ids, List<EventDTO> updated, Set<Long> removed) {
+        List<EventDTO> found;
+        try {
+            found = client.getEventsByIds(ids);
+        } catch (RuntimeException e) {
+            log.warn("Event snapshots not refreshed, keeping {} copies: {}", ids.size(), e.toString());
+            return false;
+        }
+        Set<Long> present = new HashSet<>(found.size() * 2);
+        for (EventDTO event : found) {
+            store(event, false);
+            updated.add(event);
+            present.add(event.getId());
+        }
+        for (Long id : ids) {
+            // Deleted in Event Service
+            if (!present.contains(id)) {
+                snapshots.invalidate(id);
+                removed.add(id);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fetches one event; concurrent misses on the same event share the call
+     */
+    private Snapshot load(Long eventId) {
+        CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = loading.putIfAbsent(eventId, mine);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        try {
+            Snapshot loaded = null;
+            for (EventDTO event : client.getEventsByIds(List.of(eventId))) {
+                if (eventId.equals(event.getId())) loaded = store(event, true);
+            }
+            if (loaded == null) snapshots.invalidate(eventId);
+            mine.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(eventId, mine);
+        }
+    }
+
+    private Snapshot store(EventDTO event, boolean read) {
+        Snapshot fetched = new Snapshot(event, System.nanoTime(), read);
+        return snapshots.asMap().merge(event.getId(), fetched,
+                (held, update) -> isOlder(update.event, held.event) ? held : update);
+    }
+
+    static boolean isOlder(EventDTO candidate, EventDTO held) {
+        return candidate.getUpdatedAt() != null && held.getUpdatedAt() != null
+                && candidate.getUpdatedAt().isBefore(held.getUpdatedAt());
+    }
+
+    private static final class Snapshot {
+        private final EventDTO event;
+        private final long fetchedAt;
+        // Read since the last refresh: worth refreshing ahead of expiry
+        private volatile boolean read;
+
+        private Snapshot(EventDTO event, long fetchedAt, boolean read) {
+            this.event = event;
+            this.fetchedAt = fetchedAt;
+            this.read = read;
+        }
+    }
+}
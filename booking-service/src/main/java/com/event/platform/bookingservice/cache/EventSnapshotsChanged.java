@@ -0,0 +1,29 @@
+package com.event.platform.bookingservice.cache;
+
+import com.event.platform.bookingservice.dto.EventDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Application event published by {@link EventSnapshotCache} after each
+ * refresh run: what changed in the local copies, as one batch
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class EventSnapshotsChanged {
+
+    /**
+     * Snapshots fetched again from Event Service
+     */
+    private final List<EventDTO> updated;
+
+    /**
+     * Events deleted in Event Service, or whose snapshot was evicted
+     */
+    private final Collection<Long> removed;
+}
@@ -1,6 +1,12 @@
 package com.event.platform.bookingservice.client;
 
 import com.event.platform.bookingservice.dto.EventDTO;
+import com.event.platform.bookingservice.dto.SeatRequest;
+import com.event.platform.bookingservice.dto.SeatResult;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface du client vers Event Service utilisée par le Booking Service.
@@ -10,7 +16,54 @@ public interface EventServiceClient {
 
     EventDTO getEventById(Long id);
 
+    /**
+     * Lit plusieurs événements en un seul appel (GET /events/batch).
+     * Les événements inconnus sont absents du résultat. Lève une exception
+     * si Event Service n'a pas répondu, pour que l'appelant distingue un
+     * événement inexistant d'un service indisponible.
+     */
+    List<EventDTO> getEventsByIds(Collection<Long> ids);
+
     Boolean reserveSeats(Long eventId, int numberOfSeats);
 
+    /**
+     * Réserve des places pour plusieurs événements en un seul appel.
+     * Retourne un résultat par élément, dans l'ordre de la demande.
+     * Lève une exception si Event Service n'a pas répondu : le résultat est
+     * alors inconnu et l'appelant (relais d'outbox) rejoue la demande.
+     */
+    List<SeatResult> reserveSeatsBatch(List<SeatRequest> requests);
+
     void releaseSeats(Long eventId, int numberOfSeats);
+
+    /**
+     * Libère des places pour plusieurs événements en un seul appel.
+     * Même contrat que {@link #reserveSeatsBatch}.
+     */
+    List<SeatResult> releaseSeatsBatch(List<SeatRequest> requests);
+
+    /**
+     * Variante non bloquante de {@link #reserveSeatsBatch} : le futur échoue
+     * là où la méthode bloquante lève une exception. Par défaut, l'appel est
+     * fait dans le thread appelant ; {@link WebClientEventServiceClient} rend
+     * la main dès l'envoi.
+     */
+    default CompletableFuture<List<SeatResult>> reserveSeatsBatchAsync(List<SeatRequest> requests) {
+        try {
+            return CompletableFuture.completedFuture(reserveSeatsBatch(requests));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Variante non bloquante de {@link #releaseSeatsBatch}, voir {@link #reserveSeatsBatchAsync}.
+     */
+    default CompletableFuture<List<SeatResult>> releaseSeatsBatchAsync(List<SeatRequest> requests) {
+        try {
+            return CompletableFuture.completedFuture(releaseSeatsBatch(requests));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
@@ -0,0 +1,96 @@
+package com.event.platform.bookingservice.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Transport HTTP vers Event Service.
+ *
+ * Remplace le SimpleClientHttpRequestFactory du JDK (sans pool ni timeouts)
+ * par Apache HttpClient 5 :
+ * - pool de connexions keep-alive borné (total et par route)
+ * - timeouts de connexion, de lecture et d'attente d'une connexion du pool
+ * - réponses gzip/deflate décompressées de façon transparente
+ *
+ * Les métriques du pool (httpcomponents.httpclient.pool.*) sont publiées sur
+ * actuator. Les appels sont chronométrés par RestEventServiceClient
+ * (event.client.requests, voir BookingMetrics) : l'observation générique
+ * http.client.requests de RestTemplateBuilder est retirée, elle allouait
+ * un contexte et des tags par requête sans distinguer les opérations.
+ *
+ * Client bloquant uniquement (booking.event-client.mode=blocking, par défaut) ;
+ * le client non bloquant est configuré par ReactiveEventServiceClientConfig.
+ */
+@Configuration
+@ConditionalOnProperty(name = "booking.event-client.mode", havingValue = "blocking", matchIfMissing = true)
+public class EventServiceClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager eventServiceConnectionManager(
+            @Value("${booking.event-client.max-connections:200}") int maxConnections,
+            @Value("${booking.event-client.max-connections-per-route:100}") int maxConnectionsPerRoute,
+            @Value("${booking.event-client.connect-timeout-ms:1000}") long connectTimeoutMs,
+            @Value("${booking.event-client.read-timeout-ms:3000}") long readTimeoutMs,
+            @Value("${booking.event-client.connection-ttl-ms:300000}") long connectionTtlMs) {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .setTimeToLive(TimeValue.ofMilliseconds(connectionTtlMs))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build();
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient eventServiceHttpClient(
+            PoolingHttpClientConnectionManager eventServiceConnectionManager,
+            @Value("${booking.event-client.read-timeout-ms:3000}") long readTimeoutMs,
+            @Value("${booking.event-client.pool-acquire-timeout-ms:500}") long poolAcquireTimeoutMs,
+            @Value("${booking.event-client.keep-alive-ms:30000}") long keepAliveMs) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .setConnectionKeepAlive(TimeValue.ofMilliseconds(keepAliveMs))
+                .setContentCompressionEnabled(true)
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(eventServiceConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMs))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate eventServiceRestTemplate(RestTemplateBuilder builder,
+                                                 CloseableHttpClient eventServiceHttpClient) {
+        return builder
+                .customizers()
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(eventServiceHttpClient))
+                .build();
+    }
+
+    @Bean
+    public MeterBinder eventServiceConnectionPoolMetrics(PoolingHttpClientConnectionManager eventServiceConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(eventServiceConnectionManager, "event-service");
+    }
+}
@@ -1,51 +1,83 @@
 package com.event.platform.bookingservice.client;
 
+import com.event.platform.bookingservice.cache.EventSnapshotCache;
 import com.event.platform.bookingservice.dto.EventDTO;
+import com.event.platform.bookingservice.dto.SeatRequest;
+import com.event.platform.bookingservice.dto.SeatResult;
+import com.event.platform.bookingservice.metrics.BookingMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Fallback pour EventServiceClient
  *
- * Cette classe implémente le pattern Circuit Breaker.
- * Elle est appelée quand:
+ * Appelée par ResilientEventServiceClient (circuit breaker) quand:
  * - Event Service est indisponible
  * - Timeout de la requête
  * - Erreur 5xx du serveur
+ * - le circuit est ouvert ou le bulkhead plein
  *
  * Le fallback permet de:
  * 1. Éviter la propagation des erreurs en cascade
  * 2. Fournir une réponse dégradée mais fonctionnelle
  * 3. Améliorer la résilience du système
  *
- * En production, on pourrait:
- * - Retourner des données en cache
- * - Proposer une alternative
- * - Logger l'incident pour investigation
+ * Les lectures d'événements sont servies depuis les copies locales
+ * d'EventSnapshotCache, même expirées.
  */
 @Component
 public class EventServiceClientFallback implements EventServiceClient {
 
     private static final Logger log = LoggerFactory.getLogger(EventServiceClientFallback.class);
 
+    private final BookingMetrics metrics;
+
+    // Résolu à l'usage : le cache dépend lui-même du client
+    private final ObjectProvider<EventSnapshotCache> snapshots;
+
+    public EventServiceClientFallback(BookingMetrics metrics, ObjectProvider<EventSnapshotCache> snapshots) {
+        this.metrics = metrics;
+        this.snapshots = snapshots;
+    }
+
     /**
      * Fallback pour getEventById
      *
-     * Retourne null car on ne peut pas inventer un événement.
-     * Le service appelant doit gérer ce cas.
+     * Retourne la dernière copie connue de l'événement, même expirée,
+     * ou null si l'événement n'a jamais été lu : on ne peut pas inventer
+     * un événement. Le service appelant doit gérer ce cas.
      */
     @Override
     public EventDTO getEventById(Long id) {
-        log.error("FALLBACK: Impossible de récupérer l'événement ID={}. " +
-                "Event Service indisponible.", id);
+        EventSnapshotCache cache = snapshots.getIfAvailable();
+        EventDTO stale = cache == null ? null : cache.peek(id);
+        if (stale == null) {
+            log.error("FALLBACK: Impossible de récupérer l'événement ID={}. " +
+                    "Event Service indisponible.", id);
+        } else {
+            log.warn("FALLBACK: Event Service indisponible, copie locale de l'événement ID={} (version {}).",
+                    id, stale.getUpdatedAt());
+        }
+        return stale;
+    }
 
-        // En production, on pourrait:
-        // 1. Chercher dans un cache Redis
-        // 2. Retourner des données partielles
-        // 3. Déclencher une alerte
+    /**
+     * Fallback pour getEventsByIds
+     *
+     * L'exception signale à EventSnapshotCache que les événements n'ont pas
+     * pu être lus : il garde alors ses copies au lieu de les oublier.
+     */
+    @Override
+    public List<EventDTO> getEventsByIds(Collection<Long> ids) {
+        log.error("FALLBACK: Impossible de lire {} événements. " +
+                "Event Service indisponible.", ids.size());
 
-        return null;
+        throw new IllegalStateException("Event Service unavailable");
     }
 
     /**
@@ -62,24 +94,50 @@ public class EventServiceClientFallback implements EventServiceClient {
 
         // Retourne false pour empêcher la création de la réservation
         // sans avoir réservé les places
+        metrics.recordReserveFallback(1);
         return false;
     }
 
+    /**
+     * Fallback pour reserveSeatsBatch
+     *
+     * Pas de réponse dégradée : le résultat d'un lot non transmis est
+     * inconnu. L'exception laisse les commandes dans l'outbox, et
+     * OutboxRelay les renverra plus tard.
+     */
+    @Override
+    public List<SeatResult> reserveSeatsBatch(List<SeatRequest> requests) {
+        log.error("FALLBACK: Impossible de réserver un lot de {} demandes. " +
+                "Event Service indisponible, nouvel envoi par l'outbox.", requests.size());
+
+        throw new IllegalStateException("Event Service unavailable");
+    }
+
     /**
      * Fallback pour releaseSeats
      *
      * Log l'erreur mais ne bloque pas l'annulation.
-     * Les places seront libérées lors du prochain retry ou manuellement.
+     * Les annulations passent par l'outbox (releaseSeatsBatch), qui
+     * réessaie jusqu'à ce qu'Event Service réponde.
      */
     @Override
     public void releaseSeats(Long eventId, int numberOfSeats) {
         log.error("FALLBACK: Impossible de libérer {} places pour l'événement ID={}. " +
-                        "Event Service indisponible. Tentative ultérieure nécessaire.",
+                        "Event Service indisponible.",
                 numberOfSeats, eventId);
+    }
+
+    /**
+     * Fallback pour releaseSeatsBatch
+     *
+     * Comme reserveSeatsBatch : l'exception laisse les commandes dans
+     * l'outbox pour un nouvel envoi.
+     */
+    @Override
+    public List<SeatResult> releaseSeatsBatch(List<SeatRequest> requests) {
+        log.error("FALLBACK: Impossible de libérer un lot de {} demandes. " +
+                "Event Service indisponible, nouvel envoi par l'outbox.", requests.size());
 
-        // En production:
-        // 1. Enregistrer dans une queue de retry
-        // 2. Déclencher une compensation manuelle
-        // 3. Alerter l'équipe ops
+        throw new IllegalStateException("Event Service unavailable");
     }
 }
\ No newline at end of file
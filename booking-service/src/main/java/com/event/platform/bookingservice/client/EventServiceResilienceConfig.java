@@ -0,0 +1,23 @@
+package com.event.platform.bookingservice.client;
+
+import io.github.resilience4j.common.circuitbreaker.configuration.CircuitBreakerConfigCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Règles du circuit breaker "event-service" qui ne s'expriment pas en propriétés
+ * (les seuils sont dans application.properties, resilience4j.circuitbreaker.*).
+ */
+@Configuration
+public class EventServiceResilienceConfig {
+
+    /**
+     * Seules les défaillances d'Event Service ouvrent le circuit : une réponse
+     * 4xx (événement inconnu, requête invalide) ou un refus du bulkhead non
+     */
+    @Bean
+    public CircuitBreakerConfigCustomizer eventServiceCircuitBreakerCustomizer() {
+        return CircuitBreakerConfigCustomizer.of(ResilientEventServiceClient.INSTANCE, builder -> builder
+                .recordException(ResilientEventServiceClient::isFailure));
+    }
+}
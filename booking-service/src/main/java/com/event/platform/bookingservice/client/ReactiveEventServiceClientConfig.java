@@ -0,0 +1,66 @@
+package com.event.platform.bookingservice.client;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Transport non bloquant vers Event Service (booking.event-client.mode=reactive).
+ *
+ * WebClient sur Reactor Netty : les appels en cours n'occupent aucun thread,
+ * les réponses sont traitées par les quelques boucles d'événements Netty
+ * (une par cœur). Le pool reste petit (reactive.max-connections) : les
+ * demandes au-delà attendent une connexion libre dans une file bornée
+ * (reactive.max-pending, pool-acquire-timeout-ms) au lieu de bloquer un thread.
+ *
+ * Mêmes timeouts, keep-alive et durée de vie que le client bloquant.
+ * Les métriques du pool sont publiées sous reactor.netty.connection.provider.*
+ * ; comme pour RestTemplate, l'observation générique http.client.requests
+ * est retirée au profit de event.client.requests.
+ */
+@Configuration
+@ConditionalOnProperty(name = "booking.event-client.mode", havingValue = "reactive")
+public class ReactiveEventServiceClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider eventServiceConnectionProvider(
+            @Value("${booking.event-client.reactive.max-connections:8}") int maxConnections,
+            @Value("${booking.event-client.reactive.max-pending:10000}") int maxPending,
+            @Value("${booking.event-client.pool-acquire-timeout-ms:500}") long poolAcquireTimeoutMs,
+            @Value("${booking.event-client.keep-alive-ms:30000}") long keepAliveMs,
+            @Value("${booking.event-client.connection-ttl-ms:300000}") long connectionTtlMs) {
+        return ConnectionProvider.builder("event-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPending)
+                .pendingAcquireTimeout(Duration.ofMillis(poolAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(keepAliveMs))
+                .maxLifeTime(Duration.ofMillis(connectionTtlMs))
+                .evictInBackground(Duration.ofMillis(keepAliveMs))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient eventServiceWebClient(WebClient.Builder builder,
+                                           ConnectionProvider eventServiceConnectionProvider,
+                                           @Value("${booking.event-client.connect-timeout-ms:1000}") int connectTimeoutMs,
+                                           @Value("${booking.event-client.read-timeout-ms:3000}") long readTimeoutMs) {
+        HttpClient httpClient = HttpClient.create(eventServiceConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs))
+                .compress(true);
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .observationRegistry(ObservationRegistry.NOOP)
+                .build();
+    }
+}
@@ -0,0 +1,279 @@
+package com.event.platform.bookingservice.client;
+
+import com.event.platform.bookingservice.dto.EventDTO;
+import com.event.platform.bookingservice.dto.SeatRequest;
+import com.event.platform.bookingservice.dto.SeatResult;
+import com.event.platform.bookingservice.metrics.BookingMetrics;
+import com.event.platform.bookingservice.metrics.BookingMetrics.ClientOperation;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * EventServiceClient used by the application: the transport client
+ * (blocking or reactive, see booking.event-client.mode) behind a circuit
+ * breaker, a concurrency bulkhead and a retry with a time budget.
+ *
+ * - Circuit breaker "event-service" (resilience4j.circuitbreaker.instances.event-service.*):
+ *   once Event Service fails or slows down, calls are refused at once
+ *   instead of each waiting for a timeout. 4xx answers are not failures.
+ * - Bulkhead "event-service" (resilience4j.bulkhead.instances.event-service.*):
+ *   caps concurrent calls; beyond it the call is refused, no thread piles up.
+ * - Retry: up to booking.event-client.retry.max-attempts, exponential
+ *   backoff with jitter, and never past retry.budget-ms from the first
+ *   attempt. Only idempotent calls (GET, batches carrying operationIds) are
+ *   retried after an answer may have been lost; single reserve/release calls
+ *   are retried only when the request was never sent (connection refused).
+ *   Refusals by the breaker or the bulkhead are not retried.
+ *   Async batch calls are not retried here: the outbox relay reschedules
+ *   them with its own backoff.
+ *
+ * A call that still fails goes to {@link EventServiceClientFallback}: single
+ * calls degrade (last known event, false), batch calls fail with the original cause.
+ * Breaker and bulkhead state are on /actuator/circuitbreakers,
+ * /actuator/bulkheads and resilience4j.* metrics; retries, refusals and
+ * fallbacks are counted by {@link BookingMetrics} (event.client.*).
+ */
+@Component
+@Primary
+public class ResilientEventServiceClient implements EventServiceClient {
+
+    /** Qualifier of the transport client being decorated */
+    public static final String TRANSPORT = "eventServiceTransport";
+
+    static final String INSTANCE = "event-service";
+
+    private static final Logger log = LoggerFactory.getLogger(ResilientEventServiceClient.class);
+
+    private final EventServiceClient transport;
+    private final EventServiceClientFallback fallback;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final BookingMetrics metrics;
+    private final int maxAttempts;
+    private final long retryBudgetNanos;
+    private final IntervalFunction backoff;
+
+    public ResilientEventServiceClient(@Qualifier(TRANSPORT) EventServiceClient transport,
+                                       EventServiceClientFallback fallback,
+                                       CircuitBreakerRegistry circuitBreakerRegistry,
+                                       BulkheadRegistry bulkheadRegistry,
+                                       BookingMetrics metrics,
+                                       @Value("${booking.event-client.retry.max-attempts:3}") int maxAttempts,
+                                       @Value("${booking.event-client.retry.initial-ms:50}") long retryInitialMillis,
+                                       @Value("${booking.event-client.retry.max-ms:500}") long retryMaxMillis,
+                                       @Value("${booking.event-client.retry.budget-ms:1000}") long retryBudgetMillis) {
+        this.transport = transport;
+        this.fallback = fallback;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(INSTANCE);
+        this.metrics = metrics;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBudgetNanos = TimeUnit.MILLISECONDS.toNanos(retryBudgetMillis);
+        this.backoff = IntervalFunction.ofExponentialRandomBackoff(retryInitialMillis, 2.0, 0.5, retryMaxMillis);
+    }
+
+    @Override
+    public EventDTO getEventById(Long id) {
+        try {
+            return call(ClientOperation.GET_EVENT, true, () -> transport.getEventById(id));
+        } catch (RuntimeException e) {
+            if (isClientError(e)) return null;
+            degraded(ClientOperation.GET_EVENT, e);
+            return fallback.getEventById(id);
+        }
+    }
+
+    @Override
+    public List<EventDTO> getEventsByIds(Collection<Long> ids) {
+        try {
+            return call(ClientOperation.GET_EVENTS, true, () -> transport.getEventsByIds(ids));
+        } catch (RuntimeException e) {
+            return failBatch(ClientOperation.GET_EVENTS, e, () -> fallback.getEventsByIds(ids));
+        }
+    }
+
+    @Override
+    public Boolean reserveSeats(Long eventId, int numberOfSeats) {
+        try {
+            return call(ClientOperation.RESERVE, false, () -> transport.reserveSeats(eventId, numberOfSeats));
+        } catch (RuntimeException e) {
+            if (isClientError(e)) return false;
+            degraded(ClientOperation.RESERVE, e);
+            return fallback.reserveSeats(eventId, numberOfSeats);
+        }
+    }
+
+    @Override
+    public List<SeatResult> reserveSeatsBatch(List<SeatRequest> requests) {
+        try {
+            return call(ClientOperation.RESERVE_BATCH, true, () -> transport.reserveSeatsBatch(requests));
+        } catch (RuntimeException e) {
+            return failBatch(ClientOperation.RESERVE_BATCH, e, () -> fallback.reserveSeatsBatch(requests));
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<SeatResult>> reserveSeatsBatchAsync(List<SeatRequest> requests) {
+        return callAsync(() -> transport.reserveSeatsBatchAsync(requests))
+                .exceptionally(e -> failBatch(ClientOperation.RESERVE_BATCH, unwrap(e), () -> fallback.reserveSeatsBatch(requests)));
+    }
+
+    @Override
+    public void releaseSeats(Long eventId, int numberOfSeats) {
+        try {
+            call(ClientOperation.RELEASE, false, () -> {
+                transport.releaseSeats(eventId, numberOfSeats);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            if (isClientError(e)) return;
+            degraded(ClientOperation.RELEASE, e);
+            fallback.releaseSeats(eventId, numberOfSeats);
+        }
+    }
+
+    @Override
+    public List<SeatResult> releaseSeatsBatch(List<SeatRequest> requests) {
+        try {
+            return call(ClientOperation.RELEASE_BATCH, true, () -> transport.releaseSeatsBatch(requests));
+        } catch (RuntimeException e) {
+            return failBatch(ClientOperation.RELEASE_BATCH, e, () -> fallback.releaseSeatsBatch(requests));
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<SeatResult>> releaseSeatsBatchAsync(List<SeatRequest> requests) {
+        return callAsync(() -> transport.releaseSeatsBatchAsync(requests))
+                .exceptionally(e -> failBatch(ClientOperation.RELEASE_BATCH, unwrap(e), () -> fallback.releaseSeatsBatch(requests)));
+    }
+
+    /**
+     * Retry (budgeted) → circuit breaker → bulkhead → transport
+     */
+    private <T> T call(ClientOperation operation, boolean idempotent, Supplier<T> call) {
+        Supplier<T> guarded = CircuitBreaker.decorateSupplier(circuitBreaker, Bulkhead.decorateSupplier(bulkhead, call));
+        long deadline = System.nanoTime() + retryBudgetNanos;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return guarded.get();
+            } catch (RuntimeException e) {
+                long waitMillis = backoff.apply(attempt);
+                if (attempt >= maxAttempts || !isRetryable(e, idempotent)
+                        || System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis) - deadline > 0) {
+                    throw e;
+                }
+                metrics.recordClientRetry(operation);
+                try {
+                    Thread.sleep(waitMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Circuit breaker → bulkhead → transport, permits released when the future completes
+     */
+    private <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call) {
+        try {
+            return CircuitBreaker.decorateCompletionStage(circuitBreaker,
+                            Bulkhead.decorateCompletionStage(bulkhead, call::get))
+                    .get()
+                    .toCompletableFuture();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void degraded(ClientOperation operation, Throwable e) {
+        if (e instanceof CallNotPermittedException) {
+            metrics.recordClientCircuitOpen(operation);
+        } else if (e instanceof BulkheadFullException) {
+            metrics.recordClientBulkheadFull(operation);
+        } else {
+            log.warn("Event Service call {} failed: {}", operation, e.toString());
+        }
+        metrics.recordClientFallback(operation);
+    }
+
+    /**
+     * The fallback refuses the batch; its exception keeps the original cause
+     */
+    private <T> T failBatch(ClientOperation operation, Throwable cause, Supplier<T> fallbackCall) {
+        degraded(operation, cause);
+        try {
+            return fallbackCall.get();
+        } catch (RuntimeException e) {
+            if (e.getCause() == null && e != cause) e.initCause(cause);
+            throw e;
+        }
+    }
+
+    /**
+     * What the circuit breaker records as a failure (see EventServiceResilienceConfig):
+     * a 4xx answer or a refusal by the bulkhead says nothing about Event Service health
+     */
+    static boolean isFailure(Throwable e) {
+        return !isClientError(e) && !(e instanceof BulkheadFullException);
+    }
+
+    static boolean isRetryable(Throwable e, boolean idempotent) {
+        if (e instanceof CallNotPermittedException || e instanceof BulkheadFullException || isClientError(e)) {
+            return false;
+        }
+        return idempotent || isNotSent(e);
+    }
+
+    /**
+     * 4xx from Event Service: the request was understood and refused
+     */
+    public static boolean isClientError(Throwable e) {
+        if (e instanceof HttpClientErrorException) return true;
+        return e instanceof WebClientResponseException
+                && ((WebClientResponseException) e).getStatusCode().is4xxClientError();
+    }
+
+    /**
+     * The request never left: no connection could be opened or leased
+     */
+    static boolean isNotSent(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConnectException || t instanceof UnknownHostException
+                    || t instanceof ConnectTimeoutException || t instanceof ConnectionRequestTimeoutException) {
+                return true;
+            }
+            if (t.getCause() == t) break;
+        }
+        return false;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+}
@@ -1,73 +1,159 @@
 package com.event.platform.bookingservice.client;
 
 import com.event.platform.bookingservice.dto.EventDTO;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.event.platform.bookingservice.dto.SeatRequest;
+import com.event.platform.bookingservice.dto.SeatResult;
+import com.event.platform.bookingservice.metrics.BookingMetrics;
+import com.event.platform.bookingservice.metrics.BookingMetrics.ClientOperation;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Simple REST client to call Event Service endpoints.
  * Uses `EVENT_SERVICE_URL` environment variable (or default http://event-service:8080).
+ * The pooled transport and its timeouts are defined in {@link EventServiceClientConfig}.
+ *
+ * URLs are built by plain concatenation: every path variable is numeric,
+ * so there is nothing to encode and no template to parse on each call.
+ * Each call is timed in event.client.requests (see {@link BookingMetrics}).
+ *
+ * Default client (booking.event-client.mode=blocking): each call holds the
+ * calling thread until Event Service answers. See {@link WebClientEventServiceClient}
+ * for the non-blocking one.
+ *
+ * Transport only: every failure is thrown. Callers get it through
+ * {@link ResilientEventServiceClient}, which decides on retries and fallbacks.
  */
 @Component
+@Qualifier(ResilientEventServiceClient.TRANSPORT)
+@ConditionalOnProperty(name = "booking.event-client.mode", havingValue = "blocking", matchIfMissing = true)
 public class RestEventServiceClient implements EventServiceClient {
 
-    private static final Logger log = LoggerFactory.getLogger(RestEventServiceClient.class);
+    private static final ParameterizedTypeReference<List<SeatResult>> SEAT_RESULTS =
+            new ParameterizedTypeReference<>() {};
+
+    private static final ParameterizedTypeReference<List<EventDTO>> EVENTS =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestTemplate restTemplate;
+
+    private final String eventsUrl;
+
+    private final URI reserveBatchUri;
+
+    private final URI releaseBatchUri;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final BookingMetrics metrics;
 
-    @Value("${EVENT_SERVICE_URL:http://event-service:8080}")
-    private String eventServiceUrl;
+    public RestEventServiceClient(RestTemplate eventServiceRestTemplate,
+                                  @Value("${EVENT_SERVICE_URL:http://event-service:8080}") String eventServiceUrl,
+                                  BookingMetrics metrics) {
+        this.restTemplate = eventServiceRestTemplate;
+        this.metrics = metrics;
+        this.eventsUrl = eventServiceUrl + "/events/";
+        this.reserveBatchUri = URI.create(eventServiceUrl + "/events/reserve:batch");
+        this.releaseBatchUri = URI.create(eventServiceUrl + "/events/release:batch");
+    }
 
     @Override
     public EventDTO getEventById(Long id) {
+        long start = System.nanoTime();
+        boolean success = false;
         try {
-            String url = UriComponentsBuilder.fromHttpUrl(eventServiceUrl)
-                    .path("/events/")
-                    .path(String.valueOf(id))
-                    .toUriString();
-            ResponseEntity<EventDTO> res = restTemplate.getForEntity(url, EventDTO.class);
+            ResponseEntity<EventDTO> res = restTemplate.getForEntity(URI.create(eventsUrl + id), EventDTO.class);
+            success = true;
             return res.getBody();
-        } catch (RestClientException e) {
-            log.warn("Event Service unreachable for getEventById id={}. Returning null.", id, e);
-            return null;
+        } finally {
+            metrics.recordClientCall(ClientOperation.GET_EVENT, start, success);
+        }
+    }
+
+    @Override
+    public List<EventDTO> getEventsByIds(Collection<Long> ids) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            ResponseEntity<List<EventDTO>> res = restTemplate.exchange(
+                    URI.create(eventsUrl + "batch?ids=" + joinIds(ids)), HttpMethod.GET, null, EVENTS);
+            success = true;
+            return res.getBody() == null ? List.of() : res.getBody();
+        } finally {
+            metrics.recordClientCall(ClientOperation.GET_EVENTS, start, success);
         }
     }
 
     @Override
     public Boolean reserveSeats(Long eventId, int numberOfSeats) {
+        long start = System.nanoTime();
+        boolean success = false;
         try {
-            String url = UriComponentsBuilder.fromHttpUrl(eventServiceUrl)
-                    .path("/events/")
-                    .path(String.valueOf(eventId))
-                    .path("/reserve")
-                    .queryParam("numberOfSeats", numberOfSeats)
-                    .toUriString();
-            ResponseEntity<Boolean> res = restTemplate.postForEntity(url, null, Boolean.class);
+            URI uri = URI.create(eventsUrl + eventId + "/reserve?numberOfSeats=" + numberOfSeats);
+            ResponseEntity<Boolean> res = restTemplate.postForEntity(uri, null, Boolean.class);
+            success = true;
             return Boolean.TRUE.equals(res.getBody());
-        } catch (RestClientException e) {
-            log.warn("Event Service unreachable for reserveSeats eventId={}. Returning false.", eventId, e);
-            return false;
+        } finally {
+            metrics.recordClientCall(ClientOperation.RESERVE, start, success);
         }
     }
 
+    @Override
+    public List<SeatResult> reserveSeatsBatch(List<SeatRequest> requests) {
+        return exchangeBatch(reserveBatchUri, ClientOperation.RESERVE_BATCH, requests);
+    }
+
     @Override
     public void releaseSeats(Long eventId, int numberOfSeats) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            URI uri = URI.create(eventsUrl + eventId + "/release?numberOfSeats=" + numberOfSeats);
+            restTemplate.postForEntity(uri, null, Void.class);
+            success = true;
+        } finally {
+            metrics.recordClientCall(ClientOperation.RELEASE, start, success);
+        }
+    }
+
+    @Override
+    public List<SeatResult> releaseSeatsBatch(List<SeatRequest> requests) {
+        return exchangeBatch(releaseBatchUri, ClientOperation.RELEASE_BATCH, requests);
+    }
+
+    static String joinIds(Collection<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    /**
+     * An incomplete answer is a failure: the outcome of the missing items is unknown
+     */
+    private List<SeatResult> exchangeBatch(URI uri, ClientOperation operation, List<SeatRequest> requests) {
+        long start = System.nanoTime();
+        boolean success = false;
         try {
-            String url = UriComponentsBuilder.fromHttpUrl(eventServiceUrl)
-                    .path("/events/")
-                    .path(String.valueOf(eventId))
-                    .path("/release")
-                    .queryParam("numberOfSeats", numberOfSeats)
-                    .toUriString();
-            restTemplate.postForEntity(url, null, Void.class);
-        } catch (RestClientException e) {
-            log.warn("Event Service unreachable for releaseSeats eventId={}.", eventId, e);
+            ResponseEntity<List<SeatResult>> res = restTemplate.exchange(
+                    uri, HttpMethod.POST, new HttpEntity<>(requests), SEAT_RESULTS);
+            List<SeatResult> results = res.getBody();
+            if (results == null || results.size() != requests.size()) {
+                throw new RestClientException("Event Service returned an incomplete batch result for "
+                        + requests.size() + " requests");
+            }
+            success = true;
+            return results;
+        } finally {
+            metrics.recordClientCall(operation, start, success);
         }
     }
 }
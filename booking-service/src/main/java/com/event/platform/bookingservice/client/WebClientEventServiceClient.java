@@ -0,0 +1,154 @@
+package com.event.platform.bookingservice.client;
+
+import com.event.platform.bookingservice.dto.EventDTO;
+import com.event.platform.bookingservice.dto.SeatRequest;
+import com.event.platform.bookingservice.dto.SeatResult;
+import com.event.platform.bookingservice.metrics.BookingMetrics;
+import com.event.platform.bookingservice.metrics.BookingMetrics.ClientOperation;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking client to Event Service (booking.event-client.mode=reactive).
+ *
+ * Every call is a Mono on the WebClient of {@link ReactiveEventServiceClientConfig}:
+ * the batch methods used by the outbox relay hand back a CompletableFuture
+ * as soon as the request is written, so one relay thread keeps several
+ * reserve/release batches in flight over a handful of connections.
+ * The blocking methods wait on the same Mono.
+ *
+ * Transport only, like {@link RestEventServiceClient}: every failure is
+ * thrown, and {@link ResilientEventServiceClient} handles it.
+ * Each call is timed in event.client.requests (see {@link BookingMetrics}).
+ */
+@Component
+@Qualifier(ResilientEventServiceClient.TRANSPORT)
+@ConditionalOnProperty(name = "booking.event-client.mode", havingValue = "reactive")
+public class WebClientEventServiceClient implements EventServiceClient {
+
+    private static final ParameterizedTypeReference<List<SeatResult>> SEAT_RESULTS =
+            new ParameterizedTypeReference<>() {};
+
+    private static final ParameterizedTypeReference<List<EventDTO>> EVENTS =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+
+    private final String eventsUrl;
+
+    private final URI reserveBatchUri;
+
+    private final URI releaseBatchUri;
+
+    private final BookingMetrics metrics;
+
+    public WebClientEventServiceClient(WebClient eventServiceWebClient,
+                                       @Value("${EVENT_SERVICE_URL:http://event-service:8080}") String eventServiceUrl,
+                                       BookingMetrics metrics) {
+        this.webClient = eventServiceWebClient;
+        this.metrics = metrics;
+        this.eventsUrl = eventServiceUrl + "/events/";
+        this.reserveBatchUri = URI.create(eventServiceUrl + "/events/reserve:batch");
+        this.releaseBatchUri = URI.create(eventServiceUrl + "/events/release:batch");
+    }
+
+    @Override
+    public EventDTO getEventById(Long id) {
+        Mono<EventDTO> call = webClient.get()
+                .uri(URI.create(eventsUrl + id))
+                .retrieve()
+                .bodyToMono(EventDTO.class);
+        return timed(ClientOperation.GET_EVENT, call).block();
+    }
+
+    @Override
+    public List<EventDTO> getEventsByIds(Collection<Long> ids) {
+        Mono<List<EventDTO>> call = webClient.get()
+                .uri(URI.create(eventsUrl + "batch?ids=" + RestEventServiceClient.joinIds(ids)))
+                .retrieve()
+                .bodyToMono(EVENTS)
+                .defaultIfEmpty(List.of());
+        return timed(ClientOperation.GET_EVENTS, call).block();
+    }
+
+    @Override
+    public Boolean reserveSeats(Long eventId, int numberOfSeats) {
+        Mono<Boolean> call = webClient.post()
+                .uri(URI.create(eventsUrl + eventId + "/reserve?numberOfSeats=" + numberOfSeats))
+                .retrieve()
+                .bodyToMono(Boolean.class);
+        return timed(ClientOperation.RESERVE, call)
+                .map(Boolean.TRUE::equals)
+                .defaultIfEmpty(false)
+                .block();
+    }
+
+    @Override
+    public List<SeatResult> reserveSeatsBatch(List<SeatRequest> requests) {
+        return exchangeBatch(reserveBatchUri, ClientOperation.RESERVE_BATCH, requests).block();
+    }
+
+    @Override
+    public CompletableFuture<List<SeatResult>> reserveSeatsBatchAsync(List<SeatRequest> requests) {
+        return exchangeBatch(reserveBatchUri, ClientOperation.RESERVE_BATCH, requests).toFuture();
+    }
+
+    @Override
+    public void releaseSeats(Long eventId, int numberOfSeats) {
+        Mono<Void> call = webClient.post()
+                .uri(URI.create(eventsUrl + eventId + "/release?numberOfSeats=" + numberOfSeats))
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+        timed(ClientOperation.RELEASE, call).block();
+    }
+
+    @Override
+    public List<SeatResult> releaseSeatsBatch(List<SeatRequest> requests) {
+        return exchangeBatch(releaseBatchUri, ClientOperation.RELEASE_BATCH, requests).block();
+    }
+
+    @Override
+    public CompletableFuture<List<SeatResult>> releaseSeatsBatchAsync(List<SeatRequest> requests) {
+        return exchangeBatch(releaseBatchUri, ClientOperation.RELEASE_BATCH, requests).toFuture();
+    }
+
+    /**
+     * An incomplete answer is a failure: the outcome of the missing items is unknown
+     */
+    private Mono<List<SeatResult>> exchangeBatch(URI uri, ClientOperation operation, List<SeatRequest> requests) {
+        Mono<List<SeatResult>> call = webClient.post()
+                .uri(uri)
+                .bodyValue(requests)
+                .retrieve()
+                .bodyToMono(SEAT_RESULTS)
+                .defaultIfEmpty(List.of())
+                .flatMap(results -> results.size() == requests.size()
+                        ? Mono.just(results)
+                        : Mono.error(new IllegalStateException("Event Service returned an incomplete batch result for "
+                                + requests.size() + " requests")));
+        return timed(operation, call);
+    }
+
+    /**
+     * Times the call from subscription, i.e. from when the request is sent
+     */
+    private <T> Mono<T> timed(ClientOperation operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call
+                    .doOnSuccess(result -> metrics.recordClientCall(operation, start, true))
+                    .doOnError(e -> metrics.recordClientCall(operation, start, false));
+        });
+    }
+}
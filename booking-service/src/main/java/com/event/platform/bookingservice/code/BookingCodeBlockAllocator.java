@@ -0,0 +1,15 @@
+package com.event.platform.bookingservice.code;
+
+/**
+ * Reserves ranges of the global booking code sequence
+ */
+@FunctionalInterface
+public interface BookingCodeBlockAllocator {
+
+    /**
+     * Reserves size consecutive values, never handed out again, to any caller
+     *
+     * @return the first value of the block
+     */
+    long allocate(int size);
+}
@@ -0,0 +1,28 @@
+package com.event.platform.bookingservice.code;
+
+import com.event.platform.bookingservice.repository.BookingCodeSequenceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+
+/**
+ * Générateur de codes de réservation par défaut : séquence partagée en
+ * base, réservée par blocs de booking.code.block-size valeurs.
+ * Un autre bean BookingCodeGenerator le remplace.
+ */
+@Configuration
+public class BookingCodeConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(BookingCodeGenerator.class)
+    public BookingCodeGenerator bookingCodeGenerator(BookingCodeSequenceRepository repository,
+                                                     PlatformTransactionManager transactionManager,
+                                                     @Value("${booking.code.block-size:1000}") int blockSize) {
+        return new SequenceBlockBookingCodeGenerator(
+                new JpaBookingCodeBlockAllocator(repository, transactionManager), blockSize, Clock.systemUTC());
+    }
+}
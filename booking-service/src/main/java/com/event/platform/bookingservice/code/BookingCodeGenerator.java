@@ -0,0 +1,14 @@
+package com.event.platform.bookingservice.code;
+
+/**
+ * Source of booking codes, assigned before a booking is inserted.
+ *
+ * Codes must stay unique across every booking-service replica: the column
+ * is unique, a duplicate fails the insert. The default implementation is
+ * {@link SequenceBlockBookingCodeGenerator}; declaring another bean of this
+ * type replaces it (see {@link BookingCodeConfig}).
+ */
+public interface BookingCodeGenerator {
+
+    String next();
+}
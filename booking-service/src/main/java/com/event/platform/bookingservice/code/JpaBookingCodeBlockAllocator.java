@@ -0,0 +1,62 @@
+package com.event.platform.bookingservice.code;
+
+import com.event.platform.bookingservice.model.BookingCodeSequence;
+import com.event.platform.bookingservice.repository.BookingCodeSequenceRepository;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reserves blocks of the booking code sequence in the booking database
+ * (table booking_code_sequence), shared by every booking-service replica.
+ *
+ * Each block is its own short transaction, committed before any code of
+ * the block is used: a rolled back booking never gives its block back.
+ * It takes a connection of its own, so codes are assigned before the
+ * booking transaction starts, not inside it.
+ *
+ * While the row does not exist yet, two instances locking it at once take
+ * InnoDB gap locks and one of them is chosen as deadlock victim; the other
+ * may instead hit the primary key. Both are retried: the row exists by then.
+ */
+public class JpaBookingCodeBlockAllocator implements BookingCodeBlockAllocator {
+
+    static final String SEQUENCE = "booking_code";
+    static final int MAX_ATTEMPTS = 3;
+
+    private final BookingCodeSequenceRepository repository;
+    private final TransactionTemplate transaction;
+
+    public JpaBookingCodeBlockAllocator(BookingCodeSequenceRepository repository,
+                                        PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public long allocate(int size) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return reserve(size);
+            } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+                // Another instance created the row first, or won the lock: it now exists
+                if (attempt >= MAX_ATTEMPTS) throw e;
+            }
+        }
+    }
+
+    private long reserve(int size) {
+        Long first = transaction.execute(status -> {
+            BookingCodeSequence sequence = repository.findByNameForUpdate(SEQUENCE)
+                    .orElseGet(() -> new BookingCodeSequence(SEQUENCE, 0L));
+            long start = sequence.getNextValue();
+            sequence.setNextValue(start + size);
+            repository.saveAndFlush(sequence);
+            return start;
+        });
+        return first;
+    }
+}
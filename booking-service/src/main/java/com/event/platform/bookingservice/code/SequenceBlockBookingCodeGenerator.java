@@ -0,0 +1,152 @@
+package com.event.platform.bookingservice.code;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Booking codes from a global sequence, handed out by blocks.
+ *
+ * Format: BK-YYYYMMDD-XXXXXXXX, the UTC date of the booking then 8
+ * characters (Crockford base 32) encoding a value of the sequence.
+ *
+ * - unique across replicas: each instance reserves blocks of block-size
+ *   values from {@link BookingCodeBlockAllocator} (one database round trip
+ *   per block), and no block is ever given twice. Unused values of a block
+ *   are lost on restart, which only leaves gaps.
+ * - cheap: within a block, a code is one atomic increment and one char[]
+ *   filled by hand; the date part is recomputed once a day. No
+ *   String.format, no LocalDateTime.toString, no lock.
+ * - not sequential to the eye: the value is scrambled by a bijection on
+ *   40 bits before being encoded, so consecutive bookings do not get
+ *   consecutive codes. This is no protection against a determined guess.
+ *
+ * 40 bits give about 10^12 codes in total, whatever the day.
+ */
+public class SequenceBlockBookingCodeGenerator implements BookingCodeGenerator {
+
+    static final int VALUE_BITS = 40;
+    static final long MAX_VALUE = (1L << VALUE_BITS) - 1;
+
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int CODE_CHARS = VALUE_BITS / 5;
+    private static final int PREFIX_LENGTH = "BK-YYYYMMDD-".length();
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    // Odd, hence invertible modulo 2^40
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final BookingCodeBlockAllocator allocator;
+    private final int blockSize;
+    private final Clock clock;
+    // Held while a block is being reserved; a lock rather than synchronized,
+    // so a virtual thread waiting on the database does not pin its carrier
+    private final ReentrantLock refill = new ReentrantLock();
+
+    private volatile Block block = Block.EMPTY;
+    private volatile Day day = Day.NONE;
+
+    public SequenceBlockBookingCodeGenerator(BookingCodeBlockAllocator allocator, int blockSize, Clock clock) {
+        this.allocator = allocator;
+        this.blockSize = Math.max(1, blockSize);
+        this.clock = clock;
+    }
+
+    @Override
+    public String next() {
+        return format(today(), scramble(nextValue()));
+    }
+
+    long nextValue() {
+        while (true) {
+            Block current = block;
+            long value = current.next.getAndIncrement();
+            if (value < current.end) return value;
+            refill.lock();
+            try {
+                // Another thread may have refilled while this one waited
+                if (block == current) {
+                    long first = allocator.allocate(blockSize);
+                    if (first < 0 || first + blockSize - 1 > MAX_VALUE) {
+                        throw new IllegalStateException("Booking code sequence exhausted");
+                    }
+                    block = new Block(first, first + blockSize);
+                }
+            } finally {
+                refill.unlock();
+            }
+        }
+    }
+
+    private Day today() {
+        long epochDay = Math.floorDiv(clock.millis(), MILLIS_PER_DAY);
+        Day current = day;
+        if (current.epochDay != epochDay) {
+            current = new Day(epochDay);
+            day = current;
+        }
+        return current;
+    }
+
+    /**
+     * Bijection on [0, 2^40): multiply, fold the high bits in, multiply
+     */
+    static long scramble(long value) {
+        long x = (value * MULTIPLIER) & MAX_VALUE;
+        x ^= x >>> 20;
+        return (x * MULTIPLIER) & MAX_VALUE;
+    }
+
+    static String format(Day day, long value) {
+        char[] code = new char[PREFIX_LENGTH + CODE_CHARS];
+        System.arraycopy(day.prefix, 0, code, 0, PREFIX_LENGTH);
+        for (int i = code.length - 1; i >= PREFIX_LENGTH; i--) {
+            code[i] = CROCKFORD[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(code);
+    }
+
+    private static final class Block {
+        static final Block EMPTY = new Block(0, 0);
+
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long first, long end) {
+            this.next = new AtomicLong(first);
+            this.end = end;
+        }
+    }
+
+    static final class Day {
+        static final Day NONE = new Day(Long.MIN_VALUE, new char[PREFIX_LENGTH]);
+
+        private final long epochDay;
+        private final char[] prefix;
+
+        Day(long epochDay) {
+            this(epochDay, prefix(LocalDate.ofEpochDay(epochDay)));
+        }
+
+        private Day(long epochDay, char[] prefix) {
+            this.epochDay = epochDay;
+            this.prefix = prefix;
+        }
+
+        private static char[] prefix(LocalDate date) {
+            char[] prefix = {'B', 'K', '-', 0, 0, 0, 0, 0, 0, 0, 0, '-'};
+            digits(prefix, 3, date.getYear(), 4);
+            digits(prefix, 7, date.getMonthValue(), 2);
+            digits(prefix, 9, date.getDayOfMonth(), 2);
+            return prefix;
+        }
+
+        private static void digits(char[] target, int offset, int value, int width) {
+            for (int i = offset + width - 1; i >= offset; i--) {
+                target[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+    }
+}
@@ -2,38 +2,171 @@ package com.event.platform.bookingservice.controller;
 
 import com.event.platform.bookingservice.dto.BookingRequest;
 import com.event.platform.bookingservice.dto.BookingResponse;
+import com.event.platform.bookingservice.dto.BookingSummary;
+import com.event.platform.bookingservice.dto.CursorPage;
+import com.event.platform.bookingservice.idempotency.IdempotencyStore;
+import com.event.platform.bookingservice.service.BookingPipeline;
 import com.event.platform.bookingservice.service.BookingService;
+import com.event.platform.bookingservice.service.ExportFormat;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/bookings")
-@CrossOrigin(origins = "http://localhost:4200")
+@CrossOrigin(origins = "http://localhost:4200", exposedHeaders = {BookingController.NEXT_CURSOR_HEADER, IdempotencyStore.REPLAYED_HEADER})
 public class BookingController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
 
-    public BookingController(BookingService bookingService) {
+    private final BookingPipeline bookingPipeline;
+
+    private final IdempotencyStore idempotencyStore;
+
+    public BookingController(BookingService bookingService, BookingPipeline bookingPipeline,
+                             IdempotencyStore idempotencyStore) {
         this.bookingService = bookingService;
+        this.bookingPipeline = bookingPipeline;
+        this.idempotencyStore = idempotencyStore;
     }
 
+    /**
+     * Creates a PENDING booking. Seats are reserved asynchronously by the
+     * outbox relay; GET /bookings/{id} then shows CONFIRMED or REJECTED.
+     *
+     * Event name, date and total price are filled in from the event
+     * (see {@link BookingService#prepare}): 400 if the event does not
+     * exist, 409 if it is cancelled or over, 503 with Retry-After if no
+     * server-side price is available or if the event cannot be looked up
+     * and the request does not carry its name and date. The totalPrice
+     * sent by the client is ignored.
+     *
+     * In asynchronous mode (booking.pipeline.enabled), the booking is only
+     * queued: 202 Accepted with its code, to poll on GET /bookings/code/{code},
+     * or 503 with Retry-After when the queue is full.
+     *
+     * With an Idempotency-Key header, a retry of the same request returns
+     * the booking created by the first attempt instead of a duplicate.
+     */
     @PostMapping
-    public ResponseEntity<BookingResponse> create(@Valid @RequestBody BookingRequest req) {
-        try {
-            BookingResponse res = bookingService.createBooking(req);
-            return new ResponseEntity<>(res, HttpStatus.CREATED);
-        } catch (IllegalStateException e) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).build();
-        }
+    public ResponseEntity<BookingResponse> create(@RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                                  @Valid @RequestBody BookingRequest req) {
+        return idempotencyStore.execute("create", idempotencyKey, req, () -> {
+            BookingRequest booking;
+            try {
+                booking = bookingService.prepare(req);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            } catch (IllegalStateException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+            if (booking == null) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .<BookingResponse>build();
+            }
+            if (bookingPipeline.isEnabled()) {
+                BookingResponse accepted = bookingPipeline.submit(booking);
+                if (accepted == null) {
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, "1")
+                            .<BookingResponse>build();
+                }
+                return ResponseEntity.accepted()
+                        .location(URI.create("/bookings/code/" + accepted.getBookingCode()))
+                        .body(accepted);
+            }
+            try {
+                BookingResponse res = bookingService.createBooking(booking);
+                return new ResponseEntity<>(res, HttpStatus.CREATED);
+            } catch (IllegalStateException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+        });
     }
 
+    /**
+     * Paginated listing. The next page token is returned in the X-Next-Cursor
+     * header (absent on the last page) and sent back as ?cursor=.
+     */
     @GetMapping
-    public ResponseEntity<List<BookingResponse>> all() {
-        return ResponseEntity.ok(bookingService.getAll());
+    public ResponseEntity<List<BookingResponse>> all(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer page,
+                                                     @RequestParam(required = false) Integer size) {
+        return page(() -> bookingService.getBookings(cursor, page, size));
+    }
+
+    /**
+     * Bookings of a user, optionally filtered by ?status=. Summaries
+     * (without notes), paginated like GET /bookings with ?cursor= and ?size=.
+     */
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<BookingSummary>> byUser(@PathVariable Long userId,
+                                                       @RequestParam(required = false) String status,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer size) {
+        return page(() -> bookingService.getBookingsByUser(userId, status, cursor, size));
+    }
+
+    /**
+     * Bookings of an event, optionally filtered by ?status=
+     * (?status=CONFIRMED for its attendees).
+     */
+    @GetMapping("/event/{eventId}")
+    public ResponseEntity<List<BookingSummary>> byEvent(@PathVariable Long eventId,
+                                                        @RequestParam(required = false) String status,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer size) {
+        return page(() -> bookingService.getBookingsByEvent(eventId, status, cursor, size));
+    }
+
+    @GetMapping("/status/{status}")
+    public ResponseEntity<List<BookingSummary>> byStatus(@PathVariable String status,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer size) {
+        return page(() -> bookingService.getBookingsByStatus(status, cursor, size));
+    }
+
+    /**
+     * Bookings created in [from, to), ISO date-times
+     * (?from=2024-01-01T00:00:00&to=2024-02-01T00:00:00), oldest first.
+     */
+    @GetMapping("/created")
+    public ResponseEntity<List<BookingSummary>> createdBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer size) {
+        return page(() -> bookingService.getBookingsCreatedBetween(from, to, cursor, size));
+    }
+
+    /**
+     * Streams every booking as NDJSON (default) or CSV. Rows are written as
+     * they are read, so memory does not depend on the number of bookings.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> bookingService.exportBookings(out, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings." + exportFormat.getExtension() + "\"")
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -42,6 +175,20 @@ public class BookingController {
         return res == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(res);
     }
 
+    /**
+     * Booking status by code: PENDING while queued or reserving seats, then
+     * CONFIRMED or REJECTED. Works in both modes.
+     */
+    @GetMapping("/code/{code}")
+    public ResponseEntity<BookingResponse> getByCode(@PathVariable String code) {
+        BookingResponse res = bookingPipeline.status(code);
+        return res == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(res);
+    }
+
+    /**
+     * Cancels a PENDING or CONFIRMED booking; 409 once it is final
+     * (REJECTED, CANCELLED, REFUNDED).
+     */
     @PostMapping("/{id}/cancel")
     public ResponseEntity<BookingResponse> cancel(@PathVariable Long id) {
         try {
@@ -54,6 +201,24 @@ public class BookingController {
         }
     }
 
+    /**
+     * One page of results, the next page token in X-Next-Cursor. 400 on an
+     * invalid cursor, status or date range.
+     */
+    private static <T> ResponseEntity<List<T>> page(Supplier<CursorPage<T>> query) {
+        CursorPage<T> results;
+        try {
+            results = query.get();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (results.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, results.getNextCursor());
+        }
+        return response.body(results.getItems());
+    }
+
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Booking Service is running");
@@ -16,7 +16,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class BookingRequest {
     @NotNull(message = "eventId is required")
     private Long eventId;
@@ -28,7 +28,7 @@ public class BookingRequest {
     @Min(value = 1, message = "At least one ticket is required")
     private Integer numberOfTickets;
 
-    @NotNull(message = "totalPrice is required")
+    // Ignored: always replaced by the price computed by PricingEngine
     @DecimalMin(value = "0.0", inclusive = false, message = "Total price must be positive")
     private BigDecimal totalPrice;
 
@@ -36,11 +36,13 @@ public class BookingRequest {
     @Email(message = "userEmail must be a valid email")
     private String userEmail;
 
-    @NotBlank(message = "eventName is required")
+    // Optional: taken from the event when it can be looked up
     private String eventName;
 
-    @NotNull(message = "eventDate is required")
     private LocalDateTime eventDate;
 
+    // Optional ticket tier (booking.pricing.tiers), STANDARD by default
+    private String ticketTier;
+
     private String notes;
 }
@@ -0,0 +1,31 @@
+package com.event.platform.bookingservice.dto;
+
+import com.event.platform.bookingservice.model.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Booking as listed by the search endpoints: built directly by the query
+ * (constructor expression), so the TEXT notes column is never read.
+ * GET /bookings/{id} still returns the full booking.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSummary {
+    private Long id;
+    private String bookingCode;
+    private Long eventId;
+    private Long userId;
+    private Integer numberOfTickets;
+    private BigDecimal totalPrice;
+    private BookingStatus status;
+    private String userEmail;
+    private String eventName;
+    private LocalDateTime eventDate;
+    private LocalDateTime createdAt;
+}
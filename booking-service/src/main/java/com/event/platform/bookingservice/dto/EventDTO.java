@@ -5,9 +5,12 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 
 /**
  * DTO minimal pour représenter un événement dans le Booking Service.
+ * updatedAt sert de version (voir EventSnapshotCache).
  */
 @Data
 @NoArgsConstructor
@@ -17,4 +20,8 @@ public class EventDTO implements Serializable {
     private String name;
     private String location;
     private Integer availableSeats;
+    private OffsetDateTime startDate;
+    private BigDecimal basePrice;
+    private String status;
+    private OffsetDateTime updatedAt;
 }
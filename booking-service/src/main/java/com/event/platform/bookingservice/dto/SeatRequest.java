@@ -0,0 +1,18 @@
+package com.event.platform.bookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Élément d'une demande groupée de réservation ou de libération envoyée
+ * à Event Service. operationId rend l'élément idempotent côté Event Service.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatRequest {
+    private Long eventId;
+    private Integer seats;
+    private String operationId;
+}
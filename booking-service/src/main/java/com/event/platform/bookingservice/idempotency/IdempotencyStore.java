@@ -0,0 +1,134 @@
+package com.event.platform.bookingservice.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for non-idempotent POST endpoints.
+ *
+ * The first request with a given key runs and its response is stored;
+ * a retry with the same key gets the stored response back, marked with
+ * Idempotent-Replayed: true, without running again. A retry arriving
+ * while the first request is still running waits for its response
+ * instead of starting a second execution.
+ *
+ * - same key, different request: 422, the key was reused by mistake
+ * - 5xx responses and exceptions are not stored, so a retry runs again
+ * - keys are kept in memory, bounded in count and expired after a TTL
+ *   (booking.idempotency.*), and scoped per endpoint
+ *
+ * Cache statistics are published as cache.* with cache=idempotency.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Entry> entries;
+    private final long waitTimeoutMillis;
+
+    public IdempotencyStore(MeterRegistry meterRegistry,
+                            @Value("${booking.idempotency.max-keys:50000}") long maxKeys,
+                            @Value("${booking.idempotency.ttl-seconds:3600}") long ttlSeconds,
+                            @Value("${booking.idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "idempotency");
+    }
+
+    /**
+     * Runs action once per (scope, key).
+     *
+     * @param scope       endpoint the key belongs to
+     * @param key         Idempotency-Key header, or null to run without deduplication
+     * @param fingerprint request identity, compared with equals() on replay
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object fingerprint,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) return action.get();
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) return ResponseEntity.badRequest().build();
+
+        String id = scope + ' ' + key;
+        Entry entry = new Entry(fingerprint);
+        Entry existing = entries.asMap().putIfAbsent(id, entry);
+        if (existing == null) {
+            return run(id, entry, action);
+        }
+        if (!existing.fingerprint.equals(fingerprint)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+        }
+
+        ResponseEntity<?> stored;
+        try {
+            stored = existing.response.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Still running: the client should retry later with the same key
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (ExecutionException e) {
+            // The first attempt failed and was not stored: this one runs
+            return execute(scope, key, fingerprint, action);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return replay(stored);
+    }
+
+    private <T> ResponseEntity<T> run(String id, Entry entry, Supplier<ResponseEntity<T>> action) {
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            forget(id, entry, e);
+            throw e;
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            forget(id, entry, new IllegalStateException("Not stored: " + response.getStatusCode()));
+        } else {
+            entry.response.complete(response);
+        }
+        return response;
+    }
+
+    private void forget(String id, Entry entry, Throwable cause) {
+        entries.asMap().remove(id, entry);
+        entry.response.completeExceptionally(cause);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ResponseEntity<T> replay(ResponseEntity<?> stored) {
+        return (ResponseEntity<T>) ResponseEntity.status(stored.getStatusCode())
+                .headers(stored.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(stored.getBody());
+    }
+
+    private static final class Entry {
+        private final Object fingerprint;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        private Entry(Object fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.event.platform.bookingservice.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Booking and Event Service call metrics.
+ *
+ * - booking.create / booking.cancel: timers with a percentile histogram,
+ *   result=success|rejected|error
+ * - booking.inflight: bookings currently being created
+ * - booking.pipeline.queued: bookings accepted (202) and not inserted yet,
+ *   in asynchronous mode
+ * - booking.seats.reserve: seat reservation outcomes,
+ *   result=success|failure|fallback (fallback = Event Service unreachable,
+ *   the reservation was refused without an answer)
+ * - event.client.requests: HTTP calls to Event Service,
+ *   operation=get_event|get_events|reserve|reserve_batch|release|release_batch,
+ *   outcome=success|error
+ * - booking.outbox.messages: outbox commands relayed to Event Service,
+ *   outcome=delivered|retried|refused|dead_lettered (retried = call failed,
+ *   rescheduled; refused = 4xx for the command alone, applied as a refusal;
+ *   dead_lettered = max attempts reached, no longer sent)
+ * - event.client.retries: attempts repeated after a failed call, by operation
+ * - event.client.rejected: calls refused without reaching Event Service,
+ *   reason=circuit_open|bulkhead_full
+ * - event.client.fallbacks: calls answered by EventServiceClientFallback
+ * - event.snapshot.lookups: event reads from EventSnapshotCache,
+ *   result=hit|miss|stale|unavailable (stale = expired snapshot served
+ *   because Event Service could not be reached, unavailable = nothing to serve)
+ * - event.snapshot.hit.ratio: share of lookups answered by a fresh snapshot
+ * - event.snapshot.size: snapshots held
+ * - event.snapshot.refreshes: events refreshed ahead of expiry,
+ *   outcome=success|error
+ *
+ * Every meter is registered up front: recording on the request path is a
+ * field read plus an atomic update, with no tag allocation or registry lookup.
+ */
+@Component
+public class BookingMetrics {
+
+    public enum Result { SUCCESS, REJECTED, ERROR }
+
+    public enum SnapshotLookup { HIT, MISS, STALE, UNAVAILABLE }
+
+    public enum ClientOperation {
+        GET_EVENT("get_event"), GET_EVENTS("get_events"), RESERVE("reserve"), RESERVE_BATCH("reserve_batch"), RELEASE("release"),
+        RELEASE_BATCH("release_batch");
+
+        private final String tag;
+
+        ClientOperation(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Timer[] createTimers;
+    private final Timer[] cancelTimers;
+    private final Timer[] clientSuccess;
+    private final Timer[] clientError;
+    private final Counter[] clientRetries;
+    private final Counter[] clientCircuitOpen;
+    private final Counter[] clientBulkheadFull;
+    private final Counter[] clientFallbacks;
+    private final Counter reserveSuccess;
+    private final Counter reserveFailure;
+    private final Counter reserveFallback;
+    private final Counter outboxDelivered;
+    private final Counter outboxRetried;
+    private final Counter outboxRefused;
+    private final Counter outboxDeadLettered;
+    private final Counter[] snapshotLookups;
+    private final Counter snapshotRefreshed;
+    private final Counter snapshotRefreshFailed;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final MeterRegistry registry;
+
+    public BookingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.createTimers = resultTimers(registry, "booking.create");
+        this.cancelTimers = resultTimers(registry, "booking.cancel");
+        ClientOperation[] operations = ClientOperation.values();
+        this.clientSuccess = new Timer[operations.length];
+        this.clientError = new Timer[operations.length];
+        this.clientRetries = new Counter[operations.length];
+        this.clientCircuitOpen = new Counter[operations.length];
+        this.clientBulkheadFull = new Counter[operations.length];
+        this.clientFallbacks = new Counter[operations.length];
+        for (ClientOperation op : operations) {
+            clientSuccess[op.ordinal()] = clientTimer(registry, op, "success");
+            clientError[op.ordinal()] = clientTimer(registry, op, "error");
+            clientRetries[op.ordinal()] = Counter.builder("event.client.retries")
+                    .tag("operation", op.tag)
+                    .register(registry);
+            clientCircuitOpen[op.ordinal()] = rejectedCounter(registry, op, "circuit_open");
+            clientBulkheadFull[op.ordinal()] = rejectedCounter(registry, op, "bulkhead_full");
+            clientFallbacks[op.ordinal()] = Counter.builder("event.client.fallbacks")
+                    .tag("operation", op.tag)
+                    .register(registry);
+        }
+        this.reserveSuccess = reserveCounter(registry, "success");
+        this.reserveFailure = reserveCounter(registry, "failure");
+        this.reserveFallback = reserveCounter(registry, "fallback");
+        this.outboxDelivered = outboxCounter(registry, "delivered");
+        this.outboxRetried = outboxCounter(registry, "retried");
+        this.outboxRefused = outboxCounter(registry, "refused");
+        this.outboxDeadLettered = outboxCounter(registry, "dead_lettered");
+        SnapshotLookup[] lookups = SnapshotLookup.values();
+        this.snapshotLookups = new Counter[lookups.length];
+        for (SnapshotLookup lookup : lookups) {
+            snapshotLookups[lookup.ordinal()] = Counter.builder("event.snapshot.lookups")
+                    .tag("result", lookup.name().toLowerCase())
+                    .register(registry);
+        }
+        Gauge.builder("event.snapshot.hit.ratio", this, BookingMetrics::snapshotHitRatio)
+                .description("Share of event lookups answered by a fresh local snapshot")
+                .register(registry);
+        this.snapshotRefreshed = snapshotRefreshCounter(registry, "success");
+        this.snapshotRefreshFailed = snapshotRefreshCounter(registry, "error");
+        Gauge.builder("booking.inflight", inFlight, AtomicInteger::get)
+                .description("Bookings currently being created")
+                .register(registry);
+    }
+
+    /**
+     * @return System.nanoTime() at the start, to pass to {@link #bookingFinished}
+     */
+    public long bookingStarted() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    public void bookingFinished(long startNanos, Result result) {
+        inFlight.decrementAndGet();
+        createTimers[result.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCancel(long startNanos, Result result) {
+        cancelTimers[result.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordReserve(boolean reserved) {
+        (reserved ? reserveSuccess : reserveFailure).increment();
+    }
+
+    public void recordReserveFallback(int requests) {
+        reserveFallback.increment(requests);
+    }
+
+    public void recordOutboxDelivered(int messages) {
+        outboxDelivered.increment(messages);
+    }
+
+    public void recordOutboxRetried(int messages) {
+        outboxRetried.increment(messages);
+    }
+
+    public void recordOutboxRefused(int messages) {
+        outboxRefused.increment(messages);
+    }
+
+    public void recordOutboxDeadLettered(int messages) {
+        outboxDeadLettered.increment(messages);
+    }
+
+    /**
+     * Registers the queue of the asynchronous booking pipeline
+     */
+    public void monitorPipelineQueue(Collection<?> queue) {
+        Gauge.builder("booking.pipeline.queued", queue, Collection::size)
+                .description("Bookings accepted and not inserted yet")
+                .register(registry);
+    }
+
+    public void recordClientCall(ClientOperation operation, long startNanos, boolean success) {
+        Timer timer = success ? clientSuccess[operation.ordinal()] : clientError[operation.ordinal()];
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordClientRetry(ClientOperation operation) {
+        clientRetries[operation.ordinal()].increment();
+    }
+
+    public void recordClientCircuitOpen(ClientOperation operation) {
+        clientCircuitOpen[operation.ordinal()].increment();
+    }
+
+    public void recordClientBulkheadFull(ClientOperation operation) {
+        clientBulkheadFull[operation.ordinal()].increment();
+    }
+
+    public void recordClientFallback(ClientOperation operation) {
+        clientFallbacks[operation.ordinal()].increment();
+    }
+
+    public void recordSnapshotLookup(SnapshotLookup lookup) {
+        snapshotLookups[lookup.ordinal()].increment();
+    }
+
+    public void recordSnapshotRefresh(int events, boolean success) {
+        (success ? snapshotRefreshed : snapshotRefreshFailed).increment(events);
+    }
+
+    /**
+     * Registers the snapshots held by EventSnapshotCache
+     */
+    public void monitorEventSnapshots(Map<?, ?> snapshots) {
+        Gauge.builder("event.snapshot.size", snapshots, Map::size)
+                .description("Event snapshots held locally")
+                .register(registry);
+    }
+
+    private double snapshotHitRatio() {
+        double total = 0;
+        for (Counter counter : snapshotLookups) total += counter.count();
+        return total == 0 ? Double.NaN : snapshotLookups[SnapshotLookup.HIT.ordinal()].count() / total;
+    }
+
+    private static Timer[] resultTimers(MeterRegistry registry, String name) {
+        Result[] results = Result.values();
+        Timer[] timers = new Timer[results.length];
+        for (Result result : results) {
+            timers[result.ordinal()] = histogramTimer(Timer.builder(name).tag("result", result.name().toLowerCase()))
+                    .register(registry);
+        }
+        return timers;
+    }
+
+    private static Timer clientTimer(MeterRegistry registry, ClientOperation operation, String outcome) {
+        return histogramTimer(Timer.builder("event.client.requests")
+                .tag("operation", operation.tag)
+                .tag("outcome", outcome))
+                .register(registry);
+    }
+
+    private static Timer.Builder histogramTimer(Timer.Builder builder) {
+        return builder
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10));
+    }
+
+    private static Counter reserveCounter(MeterRegistry registry, String result) {
+        return Counter.builder("booking.seats.reserve")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, ClientOperation operation, String reason) {
+        return Counter.builder("event.client.rejected")
+                .tag("operation", operation.tag)
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private static Counter snapshotRefreshCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("event.snapshot.refreshes")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static Counter outboxCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("booking.outbox.messages")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,123 @@
+package com.event.platform.bookingservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Virtual thread pinning detector (spring.threads.virtual.enabled=true).
+ *
+ * A virtual thread that blocks inside a synchronized block or a native call
+ * stays pinned to its carrier thread. There are as many carriers as cores,
+ * so a few long pinnings (JDBC or HTTP I/O under a monitor, for instance)
+ * are enough to stall the whole service. The jdk.VirtualThreadPinned JFR
+ * event (Java 21) is streamed continuously, without a recording file:
+ *
+ * - jvm.threads.virtual.pinned: timer, count and duration of pinnings longer
+ *   than booking.virtual-threads.pinning-threshold-ms
+ * - one warning with the stack per pinning site (first application frame),
+ *   for at most MAX_REPORTED_SITES sites
+ *
+ * On Java 17 the property has no effect (Spring Boot stays on platform
+ * threads): the monitor says so and does not start.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.event.platform.";
+    private static final int MAX_REPORTED_SITES = 100;
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Timer pinned;
+    private final Environment environment;
+    private final Duration threshold;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry,
+                                       Environment environment,
+                                       @Value("${booking.virtual-threads.pinning-threshold-ms:20}") long thresholdMillis) {
+        this.environment = environment;
+        this.threshold = Duration.ofMillis(thresholdMillis);
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier longer than the threshold")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!Threading.VIRTUAL.isActive(environment)) {
+            log.warn("spring.threads.virtual.enabled=true ignored: Java 21 required (running Java {})", Runtime.version().feature());
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, event -> recordPinned(event.getDuration(), frames(event.getStackTrace())));
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) stream.close();
+    }
+
+    boolean isRunning() {
+        return stream != null;
+    }
+
+    /**
+     * @param frames Stack of the pinned thread, most recent frame first
+     */
+    void recordPinned(Duration duration, List<String> frames) {
+        pinned.record(duration);
+        String site = site(frames);
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(site)) {
+            List<String> logged = frames.subList(0, Math.min(frames.size(), LOGGED_FRAMES));
+            log.warn("Virtual thread pinned for {} ms in {}\n\tat {}",
+                    duration.toMillis(), site, String.join("\n\tat ", logged));
+        }
+    }
+
+    /**
+     * First application frame, or else the most recent one
+     */
+    static String site(List<String> frames) {
+        for (String frame : frames) {
+            if (frame.startsWith(APPLICATION_PACKAGE)) return frame;
+        }
+        return frames.isEmpty() ? "(unknown stack)" : frames.get(0);
+    }
+
+    private static List<String> frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) return Collections.emptyList();
+        List<String> frames = new ArrayList<>(stackTrace.getFrames().size());
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            frames.add(frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                    + ":" + frame.getLineNumber());
+        }
+        return frames;
+    }
+}
@@ -1,5 +1,6 @@
 package com.event.platform.bookingservice.model;
 
+import com.event.platform.bookingservice.code.BookingCodeGenerator;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -12,9 +13,19 @@ import java.time.LocalDateTime;
  * Cette entité gère les réservations de billets pour les événements.
  * Elle maintient la cohérence entre le nombre de billets réservés
  * et la capacité disponible de l'événement.
+ *
+ * Index : un par recherche de BookingRepository (par utilisateur, par
+ * événement, par statut, par date de création), terminé par la colonne de
+ * tri de la pagination, pour lire une page sans trier.
  */
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_user_id", columnList = "userId, id"),
+        @Index(name = "idx_bookings_event_id", columnList = "eventId, id"),
+        @Index(name = "idx_bookings_event_status", columnList = "eventId, status, id"),
+        @Index(name = "idx_bookings_status", columnList = "status, id"),
+        @Index(name = "idx_bookings_created_at", columnList = "createdAt, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -29,8 +40,9 @@ public class Booking {
     private Long id;
 
     /**
-     * Code de réservation unique (ex: BK-20231215-001)
+     * Code de réservation unique (ex: BK-20231215-7XK2M9QD)
      * Utilisé pour identifier la réservation côté utilisateur
+     * Attribué avant l'insertion par un BookingCodeGenerator
      */
     @Column(nullable = false, unique = true, length = 50)
     private String bookingCode;
@@ -64,7 +76,8 @@ public class Booking {
 
     /**
      * Statut de la réservation
-     * PENDING, CONFIRMED, CANCELLED, REFUNDED
+     * PENDING, CONFIRMED, REJECTED, CANCELLED, REFUNDED
+     * Transitions PENDING → CONFIRMED / REJECTED pilotées par BookingSaga
      */
     @Column(nullable = false, length = 20)
     @Enumerated(EnumType.STRING)
@@ -125,29 +138,29 @@ public class Booking {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
 
-        // Génère un code de réservation unique si non fourni
         if (bookingCode == null) {
-            bookingCode = generateBookingCode();
+            throw new IllegalStateException("Booking code not assigned");
         }
     }
 
     /**
-     * Callback avant mise à jour
+     * Attribue le code de réservation s'il ne l'est pas encore
+     * Appelée avant l'insertion, ou plus tôt quand le code doit être connu
+     * avant (réservation acceptée en asynchrone, code renvoyé avec le 202)
      */
-    @PreUpdate
-    protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+    public String assignBookingCode(BookingCodeGenerator generator) {
+        if (bookingCode == null) {
+            bookingCode = generator.next();
+        }
+        return bookingCode;
     }
 
     /**
-     * Génère un code de réservation unique
-     * Format: BK-YYYYMMDD-XXX
+     * Callback avant mise à jour
      */
-    private String generateBookingCode() {
-        String date = LocalDateTime.now().toString()
-                .substring(0, 10).replace("-", "");
-        int random = (int) (Math.random() * 10000);
-        return String.format("BK-%s-%04d", date, random);
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
     }
 
     /**
@@ -158,6 +171,13 @@ public class Booking {
         this.confirmedAt = LocalDateTime.now();
     }
 
+    /**
+     * Refuse la réservation (Event Service n'a pas pu réserver les places)
+     */
+    public void reject() {
+        this.status = BookingStatus.REJECTED;
+    }
+
     /**
      * Annule la réservation
      */
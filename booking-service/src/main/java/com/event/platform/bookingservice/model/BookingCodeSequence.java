@@ -0,0 +1,33 @@
+package com.event.platform.bookingservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entité BookingCodeSequence - Séquence partagée des codes de réservation
+ *
+ * Une ligne par séquence : la prochaine valeur non attribuée. Chaque
+ * instance du Booking Service en réserve un bloc sous verrou
+ * (voir JpaBookingCodeBlockAllocator), donc deux instances ne
+ * produisent jamais le même code.
+ */
+@Entity
+@Table(name = "booking_code_sequence")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingCodeSequence {
+
+    /**
+     * Nom de la séquence
+     */
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    /**
+     * Première valeur pas encore réservée
+     */
+    @Column(nullable = false)
+    private Long nextValue;
+}
@@ -4,8 +4,9 @@ package com.event.platform.bookingservice.model;
  * Énumération des statuts de réservation
  */
 public enum BookingStatus {
-    PENDING,    // En attente de confirmation
-    CONFIRMED,  // Confirmée et payée
+    PENDING,    // En attente de confirmation (places demandées à Event Service)
+    CONFIRMED,  // Confirmée : places réservées
+    REJECTED,   // Refusée par Event Service (places insuffisantes)
     CANCELLED,  // Annulée
     REFUNDED    // Remboursée
 }
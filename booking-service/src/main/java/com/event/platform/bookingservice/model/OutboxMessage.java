@@ -0,0 +1,93 @@
+package com.event.platform.bookingservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entité OutboxMessage - Commande de places à transmettre à Event Service
+ *
+ * Écrite dans la même transaction locale que la réservation (création ou
+ * annulation), puis relayée par OutboxRelay en lots idempotents : l'appel
+ * distant ne fait plus partie de la transaction, et une commande n'est
+ * jamais perdue si Event Service est indisponible. Supprimée une fois
+ * le résultat appliqué à la réservation, ou mise de côté (deadLetteredAt)
+ * après booking.outbox.max-attempts envois sans réponse.
+ */
+@Entity
+@Table(name = "booking_outbox", indexes = {
+        @Index(name = "idx_booking_outbox_next_attempt", columnList = "nextAttemptAt, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Réservation concernée
+     */
+    @Column(nullable = false)
+    private Long bookingId;
+
+    /**
+     * RESERVE ou RELEASE
+     */
+    @Column(nullable = false, length = 10)
+    @Enumerated(EnumType.STRING)
+    private Type type;
+
+    @Column(nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Integer seats;
+
+    /**
+     * Identifiant d'idempotence transmis à Event Service (ex : booking-42-reserve)
+     * Une commande rejouée renvoie le résultat de la première exécution.
+     */
+    @Column(nullable = false, unique = true, length = 100)
+    private String operationId;
+
+    /**
+     * Nombre de tentatives d'envoi
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /**
+     * Date à partir de laquelle le relais peut (re)prendre la commande
+     */
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * Abandonnée après trop d'échecs : plus reprise par le relais. Son
+     * résultat est inconnu ; remettre la colonne à null la renvoie, sans
+     * risque grâce à operationId
+     */
+    private LocalDateTime deadLetteredAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    public enum Type {
+        RESERVE,
+        RELEASE
+    }
+}
@@ -0,0 +1,113 @@
+package com.event.platform.bookingservice.pricing;
+
+import com.event.platform.bookingservice.dto.EventDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable table of ticket unit prices, by event and by tier.
+ *
+ * Unit prices are computed once, when an event enters the table or its
+ * base price changes: pricing a booking is a map lookup and one multiply.
+ * Changes never modify a table in place: {@link #with} returns a new table
+ * sharing the unchanged entries, so readers never see a table being built.
+ */
+public final class PriceTable {
+
+    static final int SCALE = 2;
+
+    private final Map<String, BigDecimal> tiers;
+    private final Map<Long, EventPrices> prices;
+
+    /**
+     * @param tiers multiplier of the base price, by tier code
+     */
+    public PriceTable(Map<String, BigDecimal> tiers) {
+        this(Collections.unmodifiableMap(new LinkedHashMap<>(tiers)), Collections.emptyMap());
+    }
+
+    private PriceTable(Map<String, BigDecimal> tiers, Map<Long, EventPrices> prices) {
+        this.tiers = tiers;
+        this.prices = prices;
+    }
+
+    /**
+     * @return null if the event is not in the table
+     */
+    public EventPrices get(Long eventId) {
+        return prices.get(eventId);
+    }
+
+    public int size() {
+        return prices.size();
+    }
+
+    /**
+     * Table with these events added or repriced, and these events removed.
+     * An update older than the entry it would replace is ignored, so is one
+     * that does not change the base price.
+     *
+     * @return this table if nothing changes
+     */
+    public PriceTable with(Collection<EventDTO> updated, Collection<Long> removed) {
+        Map<Long, EventPrices> next = null;
+        for (EventDTO event : updated) {
+            if (event.getId() == null || event.getBasePrice() == null) continue;
+            EventPrices current = (next == null ? prices : next).get(event.getId());
+            if (current != null && !current.isRepricedBy(event)) continue;
+            if (next == null) next = new HashMap<>(prices);
+            next.put(event.getId(), price(event));
+        }
+        for (Long id : removed) {
+            if (!(next == null ? prices : next).containsKey(id)) continue;
+            if (next == null) next = new HashMap<>(prices);
+            next.remove(id);
+        }
+        return next == null ? this : new PriceTable(tiers, Collections.unmodifiableMap(next));
+    }
+
+    private EventPrices price(EventDTO event) {
+        Map<String, BigDecimal> unitPrices = new HashMap<>(tiers.size() * 2);
+        for (Map.Entry<String, BigDecimal> tier : tiers.entrySet()) {
+            unitPrices.put(tier.getKey(), event.getBasePrice().multiply(tier.getValue()).setScale(SCALE, RoundingMode.HALF_UP));
+        }
+        return new EventPrices(event.getBasePrice(), event.getUpdatedAt(), unitPrices);
+    }
+
+    /**
+     * Unit prices of one event, computed from one version of its base price
+     */
+    public static final class EventPrices {
+        private final BigDecimal basePrice;
+        private final OffsetDateTime version;
+        private final Map<String, BigDecimal> unitPrices;
+
+        private EventPrices(BigDecimal basePrice, OffsetDateTime version, Map<String, BigDecimal> unitPrices) {
+            this.basePrice = basePrice;
+            this.version = version;
+            this.unitPrices = unitPrices;
+        }
+
+        /**
+         * @return null if the tier is unknown
+         */
+        public BigDecimal unitPrice(String tier) {
+            return unitPrices.get(tier);
+        }
+
+        /**
+         * A newer (or unversioned) snapshot of the event, with another base price
+         */
+        boolean isRepricedBy(EventDTO event) {
+            boolean older = version != null && event.getUpdatedAt() != null && event.getUpdatedAt().isBefore(version);
+            return !older && basePrice.compareTo(event.getBasePrice()) != 0;
+        }
+    }
+}
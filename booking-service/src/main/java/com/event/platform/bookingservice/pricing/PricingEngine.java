@@ -0,0 +1,117 @@
+package com.event.platform.bookingservice.pricing;
+
+import com.event.platform.bookingservice.cache.EventSnapshotCache;
+import com.event.platform.bookingservice.cache.EventSnapshotsChanged;
+import com.event.platform.bookingservice.dto.EventDTO;
+import com.event.platform.bookingservice.pricing.PriceTable.EventPrices;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Computes booking prices server-side: unit price of the tier x tickets.
+ *
+ * Unit prices come from a local {@link PriceTable}: the tier multipliers
+ * (booking.pricing.tiers, STANDARD = base price) are applied once per
+ * event and base price, not per booking. The table is replaced, never
+ * modified (copy-on-write):
+ * - after each snapshot refresh, with the events refreshed or removed in
+ *   that run ({@link EventSnapshotsChanged}), in one copy
+ * - when a booking brings a snapshot newer than the table, for that event
+ *
+ * Pricing never calls Event Service: the event comes from
+ * {@link EventSnapshotCache}, or only the table is read.
+ * Published as booking.pricing.events (events in the table).
+ */
+@Component
+public class PricingEngine {
+
+    public static final String STANDARD = "STANDARD";
+
+    private final AtomicReference<PriceTable> table;
+
+    public PricingEngine(MeterRegistry meterRegistry,
+                         @Value("${booking.pricing.tiers:STANDARD:1}") String tiers) {
+        this.table = new AtomicReference<>(new PriceTable(parseTiers(tiers)));
+        Gauge.builder("booking.pricing.events", table, t -> t.get().size())
+                .description("Events in the local price table")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Price of a booking on this snapshot of the event
+     *
+     * @param tier ticket tier, STANDARD if null
+     * @return null if the event has no base price
+     * @throws IllegalArgumentException unknown tier
+     */
+    public BigDecimal totalPrice(EventDTO event, String tier, int tickets) {
+        EventPrices prices = table.get().get(event.getId());
+        if (prices == null || prices.isRepricedBy(event)) {
+            if (event.getBasePrice() == null) return null;
+            prices = apply(List.of(event), List.of()).get(event.getId());
+            // Removed meanwhile by a refresh: the event was just deleted
+            if (prices == null) return null;
+        }
+        return total(prices, tier, tickets);
+    }
+
+    /**
+     * Price of a booking from the table alone, when no snapshot of the
+     * event is at hand
+     *
+     * @return null if the event is not in the table
+     * @throws IllegalArgumentException unknown tier
+     */
+    public BigDecimal totalPrice(Long eventId, String tier, int tickets) {
+        EventPrices prices = table.get().get(eventId);
+        return prices == null ? null : total(prices, tier, tickets);
+    }
+
+    @EventListener
+    public void onSnapshotsChanged(EventSnapshotsChanged change) {
+        apply(change.getUpdated(), change.getRemoved());
+    }
+
+    private PriceTable apply(List<EventDTO> updated, Collection<Long> removed) {
+        return table.updateAndGet(current -> current.with(updated, removed));
+    }
+
+    private static BigDecimal total(EventPrices prices, String tier, int tickets) {
+        BigDecimal unitPrice = prices.unitPrice(tier == null ? STANDARD : tier.toUpperCase(Locale.ROOT));
+        if (unitPrice == null) {
+            throw new IllegalArgumentException("Unknown ticket tier: " + tier);
+        }
+        return unitPrice.multiply(BigDecimal.valueOf(tickets));
+    }
+
+    /**
+     * "STANDARD:1,VIP:1.5" → multiplier by tier code; STANDARD is always 1
+     */
+    static Map<String, BigDecimal> parseTiers(String tiers) {
+        Map<String, BigDecimal> multipliers = new LinkedHashMap<>();
+        multipliers.put(STANDARD, BigDecimal.ONE);
+        for (String tier : tiers.split(",")) {
+            if (tier.isBlank()) continue;
+            int colon = tier.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Invalid pricing tier (CODE:multiplier expected): " + tier);
+            }
+            String code = tier.substring(0, colon).trim().toUpperCase(Locale.ROOT);
+            if (!code.equals(STANDARD)) {
+                multipliers.put(code, new BigDecimal(tier.substring(colon + 1).trim()));
+            }
+        }
+        return multipliers;
+    }
+}
@@ -0,0 +1,23 @@
+package com.event.platform.bookingservice.repository;
+
+import com.event.platform.bookingservice.model.BookingCodeSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BookingCodeSequenceRepository extends JpaRepository<BookingCodeSequence, String> {
+
+    /**
+     * Sequence row locked until commit: instances reserving a block at the
+     * same time are served one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BookingCodeSequence s WHERE s.name = :name")
+    Optional<BookingCodeSequence> findByNameForUpdate(@Param("name") String name);
+}
@@ -1,9 +1,126 @@
 package com.event.platform.bookingservice.repository;
 
+import com.event.platform.bookingservice.dto.BookingSummary;
 import com.event.platform.bookingservice.model.Booking;
+import com.event.platform.bookingservice.model.BookingStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    String SUMMARY = "SELECT new com.event.platform.bookingservice.dto.BookingSummary("
+            + "b.id, b.bookingCode, b.eventId, b.userId, b.numberOfTickets, b.totalPrice, b.status, "
+            + "b.userEmail, b.eventName, b.eventDate, b.createdAt) FROM Booking b ";
+
+    /**
+     * Status lookup by the code returned to the client (unique index).
+     */
+    Optional<Booking> findByBookingCode(String bookingCode);
+
+    /**
+     * Booking locked for a status transition (cancellation), so it cannot
+     * race with the outbox relay applying a reservation result.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Bookings locked for the outbox relay, see {@link #findByIdForUpdate}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids")
+    List<Booking> lockAllById(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset page on the primary key: O(page size) whatever the depth.
+     */
+    List<Booking> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable limit);
+
+    /**
+     * Classic page/size listing, without the COUNT query of a Page.
+     */
+    Slice<Booking> findAllBy(Pageable pageable);
+
+    /**
+     * Full table scan as a stream, for exports. Rows are fetched 1000 at a
+     * time (server-side cursor with useCursorFetch=true on MySQL), so memory
+     * stays flat. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b ORDER BY b.id ASC")
+    Stream<Booking> streamAll();
+
+    /*
+     * Searches, as BookingSummary projections (no notes column), keyset
+     * paginated like findByIdGreaterThanOrderByIdAsc. Each one is served by
+     * an index of Booking ending with its sort column.
+     */
+
+    /**
+     * Bookings of a user (idx_bookings_user_id).
+     */
+    @Query(SUMMARY + "WHERE b.userId = :userId AND b.id > :afterId ORDER BY b.id ASC")
+    List<BookingSummary> findSummariesByUser(@Param("userId") Long userId, @Param("afterId") Long afterId,
+                                             Pageable limit);
+
+    /**
+     * Bookings of a user with a given status: a user has few bookings, the
+     * status is filtered on the rows of idx_bookings_user_id.
+     */
+    @Query(SUMMARY + "WHERE b.userId = :userId AND b.status = :status AND b.id > :afterId ORDER BY b.id ASC")
+    List<BookingSummary> findSummariesByUserAndStatus(@Param("userId") Long userId, @Param("status") BookingStatus status,
+                                                      @Param("afterId") Long afterId, Pageable limit);
+
+    /**
+     * Bookings of an event (idx_bookings_event_id).
+     */
+    @Query(SUMMARY + "WHERE b.eventId = :eventId AND b.id > :afterId ORDER BY b.id ASC")
+    List<BookingSummary> findSummariesByEvent(@Param("eventId") Long eventId, @Param("afterId") Long afterId,
+                                              Pageable limit);
+
+    /**
+     * Bookings of an event with a given status, e.g. its attendees
+     * (idx_bookings_event_status).
+     */
+    @Query(SUMMARY + "WHERE b.eventId = :eventId AND b.status = :status AND b.id > :afterId ORDER BY b.id ASC")
+    List<BookingSummary> findSummariesByEventAndStatus(@Param("eventId") Long eventId, @Param("status") BookingStatus status,
+                                                       @Param("afterId") Long afterId, Pageable limit);
+
+    /**
+     * Bookings with a given status (idx_bookings_status).
+     */
+    @Query(SUMMARY + "WHERE b.status = :status AND b.id > :afterId ORDER BY b.id ASC")
+    List<BookingSummary> findSummariesByStatus(@Param("status") BookingStatus status, @Param("afterId") Long afterId,
+                                               Pageable limit);
+
+    /**
+     * Bookings created in [from, to), by creation date then id, starting
+     * after the (createdAt, id) of the previous page (idx_bookings_created_at).
+     */
+    @Query(SUMMARY + "WHERE b.createdAt >= :from AND b.createdAt < :to "
+            + "AND (b.createdAt > :afterCreatedAt OR (b.createdAt = :afterCreatedAt AND b.id > :afterId)) "
+            + "ORDER BY b.createdAt ASC, b.id ASC")
+    List<BookingSummary> findSummariesCreatedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                     @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                     @Param("afterId") Long afterId, Pageable limit);
 }
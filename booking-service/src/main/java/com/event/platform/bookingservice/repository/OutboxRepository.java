@@ -0,0 +1,55 @@
+package com.event.platform.bookingservice.repository;
+
+import com.event.platform.bookingservice.model.OutboxMessage;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Due commands, oldest first, dead-lettered ones excluded. Rows locked by
+     * another relay instance are skipped rather than waited for (FOR UPDATE
+     * SKIP LOCKED, MySQL 8 / H2), so several booking-service replicas share
+     * the outbox without blocking.
+     */
+    @Query(value = "SELECT * FROM booking_outbox WHERE next_attempt_at <= :now AND dead_lettered_at IS NULL " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMessage> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Leases claimed commands: they are not due again until :until, which
+     * covers the remote call made outside the transaction.
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.attempts = m.attempts + 1, m.nextAttemptAt = :until WHERE m.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    /**
+     * Re-reads commands under lock before applying a result: a command
+     * already completed by another relay (expired lease) is no longer there.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM OutboxMessage m WHERE m.id IN :ids")
+    List<OutboxMessage> lockAllById(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.nextAttemptAt = :at WHERE m.id = :id")
+    int reschedule(@Param("id") Long id, @Param("at") LocalDateTime at);
+
+    /**
+     * Stops relaying a command that failed too many times; the row is kept
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.deadLetteredAt = :at WHERE m.id = :id")
+    int deadLetter(@Param("id") Long id, @Param("at") LocalDateTime at);
+}
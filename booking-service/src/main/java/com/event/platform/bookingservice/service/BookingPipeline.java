@@ -0,0 +1,302 @@
+package com.event.platform.bookingservice.service;
+
+import com.event.platform.bookingservice.code.BookingCodeGenerator;
+import com.event.platform.bookingservice.dto.BookingRequest;
+import com.event.platform.bookingservice.dto.BookingResponse;
+import com.event.platform.bookingservice.metrics.BookingMetrics;
+import com.event.platform.bookingservice.model.Booking;
+import com.event.platform.bookingservice.model.BookingStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous booking mode (booking.pipeline.enabled=true).
+ *
+ * POST /bookings only assigns the booking code and puts the request in a
+ * bounded in-process queue, then answers 202 Accepted: no Tomcat thread
+ * waits for MySQL. Worker threads drain the queue in batches of up to
+ * batch-size and insert each batch in one transaction (one commit),
+ * together with the outbox commands of the saga.
+ *
+ * A full queue is refused right away (503) instead of building up latency.
+ * GET /bookings/code/{code} reports PENDING while the request is queued,
+ * then the stored booking (PENDING → CONFIRMED/REJECTED).
+ *
+ * Every queued request has already been acknowledged, so a transient
+ * failure (connection or pool unavailable, lock, timeout) is retried with
+ * an exponential backoff until the insert goes through; the request stays
+ * PENDING meanwhile, and the queue filling up turns new requests away.
+ * Only a data error rejects a request: a failed batch is then inserted one
+ * by one to isolate it, and the request is reported REJECTED for
+ * failed-retention-seconds.
+ *
+ * On shutdown the workers drain what is left in the queue before stopping,
+ * since every queued request has already been acknowledged.
+ *
+ * Workers are virtual threads when spring.threads.virtual.enabled=true on
+ * Java 21, like Tomcat: they spend their time waiting for MySQL. Their
+ * count still bounds the concurrent inserts, hence the connections used.
+ */
+@Component
+public class BookingPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingPipeline.class);
+
+    private final BookingService bookingService;
+    private final BookingMetrics bookingMetrics;
+    private final BookingCodeGenerator bookingCodeGenerator;
+    private final boolean enabled;
+    private final int workers;
+    private final int batchSize;
+    private final long shutdownTimeoutMillis;
+    private final long retryInitialMillis;
+    private final long retryMaxMillis;
+    private final BlockingQueue<Accepted> queue;
+    private final Map<String, Accepted> queued = new ConcurrentHashMap<>();
+    private final Cache<String, BookingResponse> failed;
+    private final SimpleAsyncTaskExecutor executor;
+
+    private volatile boolean running;
+    private CountDownLatch stopped;
+
+    public BookingPipeline(BookingService bookingService,
+                           BookingMetrics bookingMetrics,
+                           BookingCodeGenerator bookingCodeGenerator,
+                           @Value("${booking.pipeline.enabled:false}") boolean enabled,
+                           @Value("${booking.pipeline.workers:2}") int workers,
+                           @Value("${booking.pipeline.batch-size:100}") int batchSize,
+                           @Value("${booking.pipeline.queue-capacity:10000}") int queueCapacity,
+                           @Value("${booking.pipeline.failed-retention-seconds:600}") long failedRetentionSeconds,
+                           @Value("${booking.pipeline.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis,
+                           @Value("${booking.pipeline.retry-initial-ms:100}") long retryInitialMillis,
+                           @Value("${booking.pipeline.retry-max-ms:5000}") long retryMaxMillis,
+                           Environment environment) {
+        this.bookingService = bookingService;
+        this.bookingMetrics = bookingMetrics;
+        this.bookingCodeGenerator = bookingCodeGenerator;
+        this.enabled = enabled;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.retryInitialMillis = Math.max(1, retryInitialMillis);
+        this.retryMaxMillis = Math.max(this.retryInitialMillis, retryMaxMillis);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.failed = Caffeine.newBuilder()
+                .maximumSize(queueCapacity)
+                .expireAfterWrite(Duration.ofSeconds(failedRetentionSeconds))
+                .build();
+        this.executor = new SimpleAsyncTaskExecutor("booking-pipeline-");
+        this.executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        this.executor.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+        bookingMetrics.monitorPipelineQueue(queue);
+        running = true;
+        stopped = new CountDownLatch(workers);
+        for (int i = 0; i < workers; i++) {
+            executor.execute(() -> {
+                try {
+                    work();
+                } finally {
+                    stopped.countDown();
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (stopped != null) {
+            stopped.await(shutdownTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        if (!queue.isEmpty()) {
+            log.error("Booking pipeline stopped with {} accepted bookings not inserted", queue.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Accepts a booking for asynchronous insertion.
+     *
+     * @return the PENDING booking, with its code, or null if the queue is full
+     */
+    public BookingResponse submit(BookingRequest req) {
+        long start = bookingMetrics.bookingStarted();
+        BookingMetrics.Result result = BookingMetrics.Result.REJECTED;
+        try {
+            Accepted accepted = new Accepted(req, BookingService.newBooking(req).assignBookingCode(bookingCodeGenerator));
+            // Registered before it can be dequeued, so status() never misses it
+            queued.put(accepted.code, accepted);
+            if (!queue.offer(accepted)) {
+                queued.remove(accepted.code);
+                return null;
+            }
+            result = BookingMetrics.Result.SUCCESS;
+            return view(accepted, BookingStatus.PENDING);
+        } finally {
+            bookingMetrics.bookingFinished(start, result);
+        }
+    }
+
+    /**
+     * Current state of a booking by code: queued, stored, or failed.
+     *
+     * @return null if the code is unknown
+     */
+    public BookingResponse status(String bookingCode) {
+        Accepted accepted = queued.get(bookingCode);
+        if (accepted != null) return view(accepted, BookingStatus.PENDING);
+        BookingResponse stored = bookingService.getBookingByCode(bookingCode);
+        if (stored != null) return stored;
+        return failed.getIfPresent(bookingCode);
+    }
+
+    private void work() {
+        List<Accepted> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Accepted first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                insert(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void insert(List<Accepted> batch) throws InterruptedException {
+        try {
+            RuntimeException error = insertRetrying(batch);
+            if (error == null) return;
+            if (batch.size() == 1) {
+                fail(batch.get(0), error);
+                return;
+            }
+            // One bad row rolls back the whole batch: retry one by one to isolate it
+            log.warn("Booking batch of {} failed, inserting one by one", batch.size(), error);
+            for (Accepted accepted : batch) {
+                RuntimeException single = insertRetrying(List.of(accepted));
+                if (single != null) {
+                    fail(accepted, single);
+                }
+            }
+        } finally {
+            for (Accepted accepted : batch) {
+                queued.remove(accepted.code, accepted);
+            }
+        }
+    }
+
+    /**
+     * Inserts, retrying transient failures with an exponential backoff
+     *
+     * @return null once inserted, or the data error that rejects the batch
+     */
+    private RuntimeException insertRetrying(List<Accepted> batch) throws InterruptedException {
+        long delay = retryInitialMillis;
+        while (true) {
+            try {
+                bookingService.createBookings(entities(batch));
+                return null;
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) return e;
+                log.warn("Booking batch of {} not inserted, retrying in {} ms: {}", batch.size(), delay, e.toString());
+                Thread.sleep(delay);
+                delay = Math.min(retryMaxMillis, delay * 2);
+            }
+        }
+    }
+
+    /**
+     * Database or connection pool temporarily unavailable, lock conflict,
+     * timeout: the same insert can succeed later
+     */
+    static boolean isTransient(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof TransientDataAccessException || t instanceof CannotCreateTransactionException
+                    || t instanceof DataAccessResourceFailureException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void fail(Accepted accepted, RuntimeException e) {
+        log.warn("Accepted booking {} could not be inserted: {}", accepted.code, e.toString());
+        failed.put(accepted.code, view(accepted, BookingStatus.REJECTED));
+    }
+
+    /**
+     * Fresh entities for each attempt: a rolled back insert leaves its id
+     * on the entity, which must not be reused
+     */
+    private static List<Booking> entities(List<Accepted> batch) {
+        List<Booking> bookings = new ArrayList<>(batch.size());
+        for (Accepted accepted : batch) {
+            Booking booking = BookingService.newBooking(accepted.request);
+            booking.setBookingCode(accepted.code);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    private static BookingResponse view(Accepted accepted, BookingStatus status) {
+        BookingRequest req = accepted.request;
+        return BookingResponse.builder()
+                .bookingCode(accepted.code)
+                .eventId(req.getEventId())
+                .userId(req.getUserId())
+                .numberOfTickets(req.getNumberOfTickets())
+                .totalPrice(req.getTotalPrice())
+                .status(status.name())
+                .userEmail(req.getUserEmail())
+                .eventName(req.getEventName())
+                .eventDate(req.getEventDate())
+                .notes(req.getNotes())
+                .build();
+    }
+
+    private static final class Accepted {
+        private final BookingRequest request;
+        private final String code;
+
+        private Accepted(BookingRequest request, String code) {
+            this.request = request;
+            this.code = code;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.event.platform.bookingservice.service;
+
+import com.event.platform.bookingservice.dto.SeatResult;
+import com.event.platform.bookingservice.metrics.BookingMetrics;
+import com.event.platform.bookingservice.model.Booking;
+import com.event.platform.bookingservice.model.BookingStatus;
+import com.event.platform.bookingservice.model.OutboxMessage;
+import com.event.platform.bookingservice.repository.BookingRepository;
+import com.event.platform.bookingservice.repository.OutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Saga de réservation : machine à états sur BookingStatus, pilotée par
+ * les commandes de l'outbox.
+ *
+ * - création : PENDING + commande RESERVE
+ * - RESERVE acceptée : PENDING → CONFIRMED
+ * - RESERVE refusée : PENDING → REJECTED
+ * - annulation d'une réservation CONFIRMED : CANCELLED + commande RELEASE
+ * - annulation d'une réservation PENDING : CANCELLED ; si la RESERVE en
+ *   cours est acceptée ensuite, une RELEASE de compensation est émise
+ *
+ * Chaque réservation émet au plus une RESERVE et une RELEASE, avec des
+ * operationId déterministes : un renvoi ne peut pas être appliqué deux fois
+ * par Event Service. Toutes les méthodes s'exécutent dans la transaction
+ * de l'appelant (BookingService ou OutboxRelay).
+ */
+@Component
+public class BookingSaga {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingSaga.class);
+
+    private final BookingRepository bookingRepository;
+    private final OutboxRepository outboxRepository;
+    private final BookingMetrics bookingMetrics;
+
+    public BookingSaga(BookingRepository bookingRepository,
+                       OutboxRepository outboxRepository,
+                       BookingMetrics bookingMetrics) {
+        this.bookingRepository = bookingRepository;
+        this.outboxRepository = outboxRepository;
+        this.bookingMetrics = bookingMetrics;
+    }
+
+    /**
+     * Nouvelle réservation (PENDING, déjà persistée) : demande les places
+     */
+    public void start(Booking booking) {
+        enqueue(booking.getId(), OutboxMessage.Type.RESERVE, booking.getEventId(), booking.getNumberOfTickets());
+    }
+
+    /**
+     * Annule une réservation verrouillée par l'appelant. Les places ne sont
+     * rendues que si elles avaient été réservées ; pour une réservation
+     * PENDING, la compensation est faite à l'arrivée du résultat.
+     */
+    public void cancel(Booking booking) {
+        boolean seatsHeld = booking.getStatus() == BookingStatus.CONFIRMED;
+        booking.cancel();
+        if (seatsHeld) {
+            enqueue(booking.getId(), OutboxMessage.Type.RELEASE, booking.getEventId(), booking.getNumberOfTickets());
+        }
+    }
+
+    /**
+     * Applique les résultats d'un lot RESERVE (un résultat par commande,
+     * dans le même ordre)
+     */
+    public void onReserveResults(List<OutboxMessage> messages, List<SeatResult> results) {
+        Map<Long, Booking> bookings = lockBookings(messages);
+        for (int i = 0; i < messages.size(); i++) {
+            OutboxMessage message = messages.get(i);
+            boolean reserved = results.get(i).isSuccess();
+            bookingMetrics.recordReserve(reserved);
+
+            Booking booking = bookings.get(message.getBookingId());
+            if (booking != null && booking.getStatus() == BookingStatus.PENDING) {
+                if (reserved) {
+                    booking.confirm();
+                } else {
+                    booking.reject();
+                }
+            } else if (reserved) {
+                // Annulée (ou supprimée) pendant la réservation : on rend les places
+                log.info("Booking {} cancelled while its seats were being reserved, compensating", message.getBookingId());
+                enqueue(message.getBookingId(), OutboxMessage.Type.RELEASE, message.getEventId(), message.getSeats());
+            }
+        }
+    }
+
+    /**
+     * Applique les résultats d'un lot RELEASE. La réservation est déjà
+     * CANCELLED ; un refus (événement supprimé, capacité dépassée) est
+     * seulement signalé.
+     */
+    public void onReleaseResults(List<OutboxMessage> messages, List<SeatResult> results) {
+        for (int i = 0; i < messages.size(); i++) {
+            if (!results.get(i).isSuccess()) {
+                OutboxMessage message = messages.get(i);
+                log.warn("Event Service refused to release {} seats of event {} for booking {}",
+                        message.getSeats(), message.getEventId(), message.getBookingId());
+            }
+        }
+    }
+
+    static String operationId(Long bookingId, OutboxMessage.Type type) {
+        return "booking-" + bookingId + "-" + type.name().toLowerCase(Locale.ROOT);
+    }
+
+    private void enqueue(Long bookingId, OutboxMessage.Type type, Long eventId, int seats) {
+        outboxRepository.save(OutboxMessage.builder()
+                .bookingId(bookingId)
+                .type(type)
+                .eventId(eventId)
+                .seats(seats)
+                .operationId(operationId(bookingId, type))
+                .build());
+    }
+
+    private Map<Long, Booking> lockBookings(List<OutboxMessage> messages) {
+        List<Long> ids = new ArrayList<>(messages.size());
+        for (OutboxMessage m : messages) {
+            ids.add(m.getBookingId());
+        }
+        Map<Long, Booking> bookings = new HashMap<>();
+        for (Booking b : bookingRepository.lockAllById(ids)) {
+            bookings.put(b.getId(), b);
+        }
+        return bookings;
+    }
+}
@@ -1,78 +1,369 @@
 package com.event.platform.bookingservice.service;
 
-import com.event.platform.bookingservice.client.EventServiceClient;
+import com.event.platform.bookingservice.cache.EventSnapshotCache;
+import com.event.platform.bookingservice.code.BookingCodeGenerator;
 import com.event.platform.bookingservice.dto.BookingRequest;
 import com.event.platform.bookingservice.dto.BookingResponse;
+import com.event.platform.bookingservice.dto.BookingSummary;
+import com.event.platform.bookingservice.dto.CursorPage;
+import com.event.platform.bookingservice.dto.EventDTO;
+import com.event.platform.bookingservice.metrics.BookingMetrics;
 import com.event.platform.bookingservice.model.Booking;
+import com.event.platform.bookingservice.model.BookingStatus;
+import com.event.platform.bookingservice.pricing.PricingEngine;
 import com.event.platform.bookingservice.repository.BookingRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class BookingService {
 
+    private static final String[] CSV_HEADER = {
+            "id", "bookingCode", "eventId", "userId", "numberOfTickets", "totalPrice", "status",
+            "userEmail", "eventName", "eventDate", "notes", "createdAt", "updatedAt"
+    };
+
+    // EventStatus of Event Service
+    private static final String CANCELLED = "CANCELLED";
+    private static final String COMPLETED = "COMPLETED";
+
     private final BookingRepository bookingRepository;
-    private final EventServiceClient eventServiceClient;
+    private final BookingSaga bookingSaga;
+    private final BookingMetrics bookingMetrics;
+    private final EventSnapshotCache eventSnapshots;
+    private final PricingEngine pricingEngine;
+    private final BookingCodeGenerator bookingCodeGenerator;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public BookingService(BookingRepository bookingRepository, EventServiceClient eventServiceClient) {
+    public BookingService(BookingRepository bookingRepository,
+                          BookingSaga bookingSaga,
+                          BookingMetrics bookingMetrics,
+                          EventSnapshotCache eventSnapshots,
+                          PricingEngine pricingEngine,
+                          BookingCodeGenerator bookingCodeGenerator,
+                          @Value("${booking.pagination.default-size:20}") int defaultPageSize,
+                          @Value("${booking.pagination.max-size:100}") int maxPageSize,
+                          ObjectMapper objectMapper,
+                          PlatformTransactionManager transactionManager) {
         this.bookingRepository = bookingRepository;
-        this.eventServiceClient = eventServiceClient;
+        this.bookingSaga = bookingSaga;
+        this.bookingMetrics = bookingMetrics;
+        this.eventSnapshots = eventSnapshots;
+        this.pricingEngine = pricingEngine;
+        this.bookingCodeGenerator = bookingCodeGenerator;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
-    public BookingResponse createBooking(BookingRequest req) {
-        // 1. Reserve seats on Event Service
-        boolean reserved = eventServiceClient.reserveSeats(req.getEventId(), req.getNumberOfTickets());
-        if (!reserved) {
-            throw new IllegalStateException("Unable to reserve seats on Event Service");
+    /**
+     * Completes a booking request from the local snapshot of its event
+     * (see {@link EventSnapshotCache}): event name and date, and the total
+     * price, always computed by {@link PricingEngine}: the totalPrice sent
+     * by the client is never stored. Called before {@link #createBooking}
+     * or {@link BookingPipeline#submit}, outside any transaction.
+     *
+     * If Event Service cannot be reached and the event was never read,
+     * the request goes through when it carries its own name and date and
+     * the event is in the local price table. Seats are still checked when
+     * the outbox reserves them.
+     *
+     * @return a completed copy of the request, or null if no server-side
+     *         price is available (event cannot be looked up and is not in
+     *         the price table, or has no base price) or the event cannot
+     *         be looked up and the request is incomplete
+     * @throws IllegalArgumentException unknown event or ticket tier
+     * @throws IllegalStateException    event cancelled or completed
+     */
+    public BookingRequest prepare(BookingRequest req) {
+        EventDTO event;
+        try {
+            event = eventSnapshots.get(req.getEventId());
+        } catch (RuntimeException e) {
+            BigDecimal price = pricingEngine.totalPrice(req.getEventId(), req.getTicketTier(), req.getNumberOfTickets());
+            if (price == null) return null;
+            BookingRequest degraded = req.toBuilder().totalPrice(price).build();
+            return isComplete(degraded) ? degraded : null;
         }
+        if (event == null) {
+            throw new IllegalArgumentException("Event not found");
+        }
+        if (CANCELLED.equals(event.getStatus()) || COMPLETED.equals(event.getStatus())) {
+            throw new IllegalStateException("Event is not open for booking");
+        }
+        BookingRequest.BookingRequestBuilder prepared = req.toBuilder().eventName(event.getName());
+        if (event.getStartDate() != null) {
+            prepared.eventDate(event.getStartDate().toLocalDateTime());
+        }
+        BigDecimal price = pricingEngine.totalPrice(event, req.getTicketTier(), req.getNumberOfTickets());
+        if (price == null) return null;
+        return prepared.totalPrice(price).build();
+    }
 
-        // 2. Create booking
-        Booking booking = Booking.builder()
-                .eventId(req.getEventId())
-                .userId(req.getUserId())
-                .numberOfTickets(req.getNumberOfTickets())
-                .userEmail(req.getUserEmail())
-                .eventName(req.getEventName())
-                .eventDate(req.getEventDate())
-                .totalPrice(req.getTotalPrice() == null ? BigDecimal.ZERO : req.getTotalPrice())
-                .notes(req.getNotes())
-                .build();
+    private static boolean isComplete(BookingRequest req) {
+        return req.getEventName() != null && !req.getEventName().isBlank()
+                && req.getEventDate() != null && req.getTotalPrice() != null;
+    }
 
-        Booking saved = bookingRepository.save(booking);
+    /**
+     * Records the booking and its seat reservation command in one local
+     * transaction, without calling Event Service. The booking is returned
+     * PENDING; the outbox relay confirms or rejects it once Event Service
+     * has answered (see {@link BookingSaga}).
+     *
+     * The code is assigned before the transaction: reserving a new block of
+     * codes takes its own connection, which must not be requested while
+     * this transaction holds one (pool exhaustion under load).
+     */
+    public BookingResponse createBooking(BookingRequest req) {
+        long start = bookingMetrics.bookingStarted();
+        BookingMetrics.Result result = BookingMetrics.Result.ERROR;
+        try {
+            Booking booking = newBooking(req);
+            booking.assignBookingCode(bookingCodeGenerator);
+            Booking saved = transaction.execute(status -> {
+                Booking inserted = bookingRepository.save(booking);
+                bookingSaga.start(inserted);
+                return inserted;
+            });
+            result = BookingMetrics.Result.SUCCESS;
+            return toResponse(saved);
+        } finally {
+            bookingMetrics.bookingFinished(start, result);
+        }
+    }
 
-        return toResponse(saved);
+    /**
+     * Inserts bookings accepted by {@link BookingPipeline}, codes already
+     * assigned, with their reservation commands: one transaction, so one
+     * commit for the whole batch.
+     */
+    @Transactional
+    public void createBookings(List<Booking> bookings) {
+        for (Booking saved : bookingRepository.saveAll(bookings)) {
+            bookingSaga.start(saved);
+        }
     }
 
     public BookingResponse getBooking(Long id) {
         return bookingRepository.findById(id).map(this::toResponse).orElse(null);
     }
 
-    public List<BookingResponse> getAll() {
-        return bookingRepository.findAll().stream().map(this::toResponse).collect(Collectors.toList());
+    public BookingResponse getBookingByCode(String bookingCode) {
+        return bookingRepository.findByBookingCode(bookingCode).map(this::toResponse).orElse(null);
+    }
+
+    /**
+     * Bounded listing: keyset pagination by id, or classic page/size.
+     * The page size is capped by booking.pagination.max-size.
+     */
+    public CursorPage<BookingResponse> getBookings(String cursor, Integer page, Integer size) {
+        int limit = pageSize(size);
+        PageCursor position = cursor != null ? PageCursor.decode(cursor)
+                : page != null ? PageCursor.page(page)
+                : PageCursor.first();
+
+        if (position.isPage()) {
+            Slice<Booking> slice = bookingRepository.findAllBy(PageRequest.of(position.getPage(), limit, Sort.by("id")));
+            String next = slice.hasNext() ? PageCursor.page(position.getPage() + 1).encode() : null;
+            return new CursorPage<>(slice.map(this::toResponse).getContent(), next);
+        }
+
+        if (position.isTime()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        // One extra row tells whether another page exists
+        List<Booking> rows = bookingRepository.findByIdGreaterThanOrderByIdAsc(position.getAfterId(), PageRequest.of(0, limit + 1));
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            next = PageCursor.afterId(rows.get(limit - 1).getId()).encode();
+        }
+        return new CursorPage<>(rows.stream().map(this::toResponse).collect(Collectors.toList()), next);
+    }
+
+    /**
+     * Bookings of a user, optionally with a given status (e.g. "my bookings").
+     * Status is a BookingStatus name, case-insensitive: IllegalArgumentException
+     * otherwise, as for an invalid cursor.
+     */
+    public CursorPage<BookingSummary> getBookingsByUser(Long userId, String status, String cursor, Integer size) {
+        BookingStatus bookingStatus = parseStatus(status);
+        return search(cursor, size, (afterId, limit) -> bookingStatus == null
+                ? bookingRepository.findSummariesByUser(userId, afterId, limit)
+                : bookingRepository.findSummariesByUserAndStatus(userId, bookingStatus, afterId, limit));
+    }
+
+    /**
+     * Bookings of an event, optionally with a given status (e.g. CONFIRMED
+     * for its attendees).
+     */
+    public CursorPage<BookingSummary> getBookingsByEvent(Long eventId, String status, String cursor, Integer size) {
+        BookingStatus bookingStatus = parseStatus(status);
+        return search(cursor, size, (afterId, limit) -> bookingStatus == null
+                ? bookingRepository.findSummariesByEvent(eventId, afterId, limit)
+                : bookingRepository.findSummariesByEventAndStatus(eventId, bookingStatus, afterId, limit));
     }
 
+    public CursorPage<BookingSummary> getBookingsByStatus(String status, String cursor, Integer size) {
+        BookingStatus bookingStatus = parseStatus(status);
+        if (bookingStatus == null) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        return search(cursor, size, (afterId, limit) -> bookingRepository.findSummariesByStatus(bookingStatus, afterId, limit));
+    }
+
+    /**
+     * Bookings created in [from, to), oldest first. Paginated on
+     * (createdAt, id) rather than id alone, to follow the date index.
+     */
+    public CursorPage<BookingSummary> getBookingsCreatedBetween(LocalDateTime from, LocalDateTime to,
+                                                                String cursor, Integer size) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Invalid date range");
+        }
+        int limit = pageSize(size);
+        PageCursor position = cursor == null ? PageCursor.firstFrom(from) : PageCursor.decode(cursor);
+        if (!position.isTime()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        List<BookingSummary> rows = bookingRepository.findSummariesCreatedBetween(from, to,
+                position.getAfterCreatedAt(), position.getAfterId(), PageRequest.of(0, limit + 1));
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            BookingSummary last = rows.get(limit - 1);
+            next = PageCursor.afterCreated(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(rows, next);
+    }
+
+    /**
+     * Keyset page by id of one of the summary searches.
+     */
+    private CursorPage<BookingSummary> search(String cursor, Integer size,
+                                              BiFunction<Long, Pageable, List<BookingSummary>> query) {
+        int limit = pageSize(size);
+        PageCursor position = cursor == null ? PageCursor.first() : PageCursor.decode(cursor);
+        if (position.isPage() || position.isTime()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        List<BookingSummary> rows = query.apply(position.getAfterId(), PageRequest.of(0, limit + 1));
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            next = PageCursor.afterId(rows.get(limit - 1).getId()).encode();
+        }
+        return new CursorPage<>(rows, next);
+    }
+
+    private int pageSize(Integer size) {
+        return size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    private static BookingStatus parseStatus(String status) {
+        return status == null || status.isBlank() ? null : BookingStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Full export, written while rows are read. Each entity is detached once
+     * written so the persistence context does not grow with the table.
+     */
+    @Transactional(readOnly = true)
+    public void exportBookings(OutputStream out, ExportFormat format) throws IOException {
+        try (Stream<Booking> bookings = bookingRepository.streamAll();
+             ExportWriter<BookingResponse> writer = new ExportWriter<>(out, format, objectMapper, CSV_HEADER, BookingService::toCsvRow)) {
+            Iterator<Booking> it = bookings.iterator();
+            while (it.hasNext()) {
+                Booking b = it.next();
+                writer.write(toResponse(b));
+                entityManager.detach(b);
+            }
+        }
+    }
+
+    /**
+     * Cancels a PENDING or CONFIRMED booking. Seats are given back through
+     * the outbox, so the call does not wait for Event Service.
+     */
     @Transactional
     public BookingResponse cancelBooking(Long id) {
-        Booking booking = bookingRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Booking not found"));
-        if (!booking.canBeCancelled()) {
-            throw new IllegalStateException("Booking cannot be cancelled");
+        long start = System.nanoTime();
+        BookingMetrics.Result result = BookingMetrics.Result.ERROR;
+        try {
+            Booking booking = bookingRepository.findByIdForUpdate(id).orElse(null);
+            if (booking == null) {
+                result = BookingMetrics.Result.REJECTED;
+                throw new IllegalArgumentException("Booking not found");
+            }
+            if (!booking.canBeCancelled()) {
+                result = BookingMetrics.Result.REJECTED;
+                throw new IllegalStateException("Booking cannot be cancelled");
+            }
+
+            bookingSaga.cancel(booking);
+            Booking saved = bookingRepository.save(booking);
+            result = BookingMetrics.Result.SUCCESS;
+            return toResponse(saved);
+        } finally {
+            bookingMetrics.recordCancel(start, result);
         }
+    }
+
+    static Booking newBooking(BookingRequest req) {
+        return Booking.builder()
+                .eventId(req.getEventId())
+                .userId(req.getUserId())
+                .numberOfTickets(req.getNumberOfTickets())
+                .userEmail(req.getUserEmail())
+                .eventName(req.getEventName())
+                .eventDate(req.getEventDate())
+                .totalPrice(req.getTotalPrice() == null ? BigDecimal.ZERO : req.getTotalPrice())
+                .notes(req.getNotes())
+                .build();
+    }
 
-        // release seats on Event Service
-        eventServiceClient.releaseSeats(booking.getEventId(), booking.getNumberOfTickets());
-        booking.cancel();
-        Booking saved = bookingRepository.save(booking);
-        return toResponse(saved);
+    private static Object[] toCsvRow(BookingResponse r) {
+        return new Object[] {
+                r.getId(), r.getBookingCode(), r.getEventId(), r.getUserId(), r.getNumberOfTickets(),
+                r.getTotalPrice(), r.getStatus(), r.getUserEmail(), r.getEventName(), r.getEventDate(),
+                r.getNotes(), r.getCreatedAt(), r.getUpdatedAt()
+        };
     }
 
-    private BookingResponse toResponse(Booking b) {
+    BookingResponse toResponse(Booking b) {
         return BookingResponse.builder()
                 .id(b.getId())
                 .bookingCode(b.getBookingCode())
@@ -0,0 +1,34 @@
+package com.event.platform.bookingservice.service;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Streaming export formats.
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat from(String value) {
+        for (ExportFormat f : values()) {
+            if (f.extension.equalsIgnoreCase(value)) return f;
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + value);
+    }
+}
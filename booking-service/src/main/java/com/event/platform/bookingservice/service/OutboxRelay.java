@@ -0,0 +1,302 @@
+package com.event.platform.bookingservice.service;
+
+import com.event.platform.bookingservice.client.EventServiceClient;
+import com.event.platform.bookingservice.client.ResilientEventServiceClient;
+import com.event.platform.bookingservice.dto.SeatRequest;
+import com.event.platform.bookingservice.dto.SeatResult;
+import com.event.platform.bookingservice.metrics.BookingMetrics;
+import com.event.platform.bookingservice.model.OutboxMessage;
+import com.event.platform.bookingservice.repository.OutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Relais de l'outbox vers Event Service.
+ *
+ * À chaque passage :
+ * 1. réclame jusqu'à batch-size commandes dues (FOR UPDATE SKIP LOCKED)
+ *    et les réserve pour lease-ms, dans une courte transaction ;
+ * 2. envoie les RESERVE en un appel POST /events/reserve:batch et les
+ *    RELEASE en un appel POST /events/release:batch, hors transaction ;
+ * 3. applique les résultats à la saga et supprime les commandes, dans une
+ *    seconde transaction.
+ *
+ * Si l'appel échoue, les commandes sont reprogrammées avec un délai
+ * exponentiel (avec gigue). Si le relais s'arrête entre 2 et 3, le bail
+ * expire et la commande est renvoyée : les operationId rendent ce renvoi
+ * sans effet côté Event Service.
+ *
+ * Un 4xx n'est pas une panne : renvoyer le lot tel quel échouerait de
+ * nouveau, et une seule commande invalide bloquerait tout le lot. Les
+ * commandes d'un lot refusé sont renvoyées une par une ; une commande
+ * refusée seule est appliquée comme un refus (RESERVE : réservation
+ * rejetée par la saga). Après max-attempts envois sans réponse, une
+ * commande est mise de côté (deadLetteredAt) : son résultat est inconnu,
+ * la réservation reste PENDING jusqu'à ce qu'elle soit renvoyée.
+ *
+ * Avec le client non bloquant (booking.event-client.mode=reactive), le
+ * relais réclame et envoie les lots suivants sans attendre la réponse des
+ * précédents : jusqu'à max-in-flight envois en cours, terminés dans l'ordre
+ * d'envoi. Avec le client bloquant, chaque envoi se termine avant le suivant.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepository;
+    private final EventServiceClient eventServiceClient;
+    private final BookingSaga bookingSaga;
+    private final BookingMetrics bookingMetrics;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final long leaseMillis;
+    private final long retryInitialMillis;
+    private final long retryMaxMillis;
+    private final int maxAttempts;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       EventServiceClient eventServiceClient,
+                       BookingSaga bookingSaga,
+                       BookingMetrics bookingMetrics,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${booking.outbox.batch-size:100}") int batchSize,
+                       @Value("${booking.outbox.max-in-flight:4}") int maxInFlight,
+                       @Value("${booking.outbox.lease-ms:30000}") long leaseMillis,
+                       @Value("${booking.outbox.retry-initial-ms:500}") long retryInitialMillis,
+                       @Value("${booking.outbox.retry-max-ms:60000}") long retryMaxMillis,
+                       @Value("${booking.outbox.max-attempts:30}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.eventServiceClient = eventServiceClient;
+        this.bookingSaga = bookingSaga;
+        this.bookingMetrics = bookingMetrics;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.leaseMillis = leaseMillis;
+        this.retryInitialMillis = retryInitialMillis;
+        this.retryMaxMillis = retryMaxMillis;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * Vide l'outbox par lots ; un lot plein est suivi immédiatement du
+     * suivant, sans attendre le prochain passage.
+     */
+    @Scheduled(fixedDelayString = "${booking.outbox.poll-interval-ms:100}")
+    public void relay() {
+        Deque<Delivery> inFlight = new ArrayDeque<>();
+        List<OutboxMessage> claimed;
+        do {
+            claimed = claim();
+            send(claimed, OutboxMessage.Type.RESERVE, inFlight);
+            send(claimed, OutboxMessage.Type.RELEASE, inFlight);
+            // Réponses déjà arrivées (toujours le cas avec le client bloquant), ou plus de place
+            while (!inFlight.isEmpty() && (inFlight.size() >= maxInFlight || inFlight.peek().results.isDone())) {
+                complete(inFlight.poll(), inFlight);
+            }
+        } while (claimed.size() == batchSize);
+        while (!inFlight.isEmpty()) {
+            complete(inFlight.poll(), inFlight);
+        }
+    }
+
+    private List<OutboxMessage> claim() {
+        return transaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMessage> due = outboxRepository.lockDue(now, batchSize);
+            if (!due.isEmpty()) {
+                outboxRepository.lease(ids(due), now.plus(leaseMillis, ChronoUnit.MILLIS));
+            }
+            return due;
+        });
+    }
+
+    private void send(List<OutboxMessage> claimed, OutboxMessage.Type type, Deque<Delivery> inFlight) {
+        List<OutboxMessage> messages = new ArrayList<>();
+        List<SeatRequest> requests = new ArrayList<>();
+        for (OutboxMessage m : claimed) {
+            if (m.getType() != type) continue;
+            messages.add(m);
+            requests.add(new SeatRequest(m.getEventId(), m.getSeats(), m.getOperationId()));
+        }
+        if (messages.isEmpty()) return;
+
+        CompletableFuture<List<SeatResult>> results;
+        try {
+            results = type == OutboxMessage.Type.RESERVE
+                    ? eventServiceClient.reserveSeatsBatchAsync(requests)
+                    : eventServiceClient.releaseSeatsBatchAsync(requests);
+        } catch (RuntimeException e) {
+            results = CompletableFuture.failedFuture(e);
+        }
+        inFlight.add(new Delivery(messages, type, results));
+    }
+
+    private void complete(Delivery delivery, Deque<Delivery> inFlight) {
+        List<OutboxMessage> messages = delivery.messages;
+        OutboxMessage.Type type = delivery.type;
+        List<SeatResult> results;
+        try {
+            results = delivery.results.join();
+        } catch (RuntimeException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (isRefused(cause)) {
+                refused(messages, type, cause, inFlight);
+                return;
+            }
+            log.warn("Outbox: {} {} command(s) not delivered to Event Service, retrying later: {}",
+                    messages.size(), type, cause.toString());
+            reschedule(messages);
+            return;
+        }
+        applyResults(messages, results, type);
+    }
+
+    /**
+     * Lot refusé (4xx) : renvoyé commande par commande pour isoler celles
+     * en cause ; une commande refusée seule ne sera jamais acceptée
+     */
+    private void refused(List<OutboxMessage> messages, OutboxMessage.Type type, Throwable cause,
+                         Deque<Delivery> inFlight) {
+        if (messages.size() > 1) {
+            log.warn("Outbox: Event Service refused a batch of {} {} command(s), sending them one by one: {}",
+                    messages.size(), type, cause.toString());
+            for (OutboxMessage m : messages) {
+                send(List.of(m), type, inFlight);
+            }
+            return;
+        }
+        OutboxMessage m = messages.get(0);
+        log.error("Outbox: Event Service refused {} for booking {}, applied as a refusal: {}",
+                m.getOperationId(), m.getBookingId(), cause.toString());
+        bookingMetrics.recordOutboxRefused(1);
+        applyResults(messages, List.of(new SeatResult(m.getEventId(), m.getSeats(), false)), type);
+    }
+
+    private void applyResults(List<OutboxMessage> messages, List<SeatResult> results, OutboxMessage.Type type) {
+        try {
+            transaction.executeWithoutResult(status -> apply(messages, results, type));
+        } catch (RuntimeException e) {
+            // Le bail expirera : la commande sera renvoyée et Event Service rendra le même résultat
+            log.warn("Outbox: could not apply {} {} result(s), they will be replayed", messages.size(), type, e);
+        }
+    }
+
+    private void apply(List<OutboxMessage> messages, List<SeatResult> results, OutboxMessage.Type type) {
+        Set<Long> live = new HashSet<>();
+        for (OutboxMessage m : outboxRepository.lockAllById(ids(messages))) {
+            live.add(m.getId());
+        }
+        // Commandes déjà terminées par un autre relais (bail expiré) : ignorées
+        List<OutboxMessage> pending = new ArrayList<>(live.size());
+        List<SeatResult> pendingResults = new ArrayList<>(live.size());
+        for (int i = 0; i < messages.size(); i++) {
+            if (live.contains(messages.get(i).getId())) {
+                pending.add(messages.get(i));
+                pendingResults.add(results.get(i));
+            }
+        }
+        if (pending.isEmpty()) return;
+
+        if (type == OutboxMessage.Type.RESERVE) {
+            bookingSaga.onReserveResults(pending, pendingResults);
+        } else {
+            bookingSaga.onReleaseResults(pending, pendingResults);
+        }
+        outboxRepository.deleteAllByIdInBatch(ids(pending));
+        bookingMetrics.recordOutboxDelivered(pending.size());
+    }
+
+    private void reschedule(List<OutboxMessage> messages) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> retried = new ArrayList<>(messages.size());
+        List<OutboxMessage> exhausted = new ArrayList<>();
+        for (OutboxMessage m : messages) {
+            // attempts a été incrémenté par lease() après la lecture
+            (m.getAttempts() + 1 >= maxAttempts ? exhausted : retried).add(m);
+        }
+        try {
+            transaction.executeWithoutResult(status -> {
+                for (OutboxMessage m : retried) {
+                    outboxRepository.reschedule(m.getId(), now.plus(backoffMillis(m.getAttempts() + 1), ChronoUnit.MILLIS));
+                }
+                for (OutboxMessage m : exhausted) {
+                    outboxRepository.deadLetter(m.getId(), now);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Outbox: could not reschedule {} command(s), retried when their lease expires", messages.size(), e);
+            bookingMetrics.recordOutboxRetried(messages.size());
+            return;
+        }
+        for (OutboxMessage m : exhausted) {
+            log.error("Outbox: {} for booking {} not delivered after {} attempts, dead-lettered",
+                    m.getOperationId(), m.getBookingId(), m.getAttempts() + 1);
+        }
+        bookingMetrics.recordOutboxRetried(retried.size());
+        bookingMetrics.recordOutboxDeadLettered(exhausted.size());
+    }
+
+    /**
+     * 4xx de Event Service, directement ou comme cause du refus du fallback
+     */
+    private static boolean isRefused(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (ResilientEventServiceClient.isClientError(t)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Délai exponentiel borné, avec gigue sur la moitié du délai pour que
+     * plusieurs instances ne relancent pas Event Service au même instant
+     */
+    long backoffMillis(int attempts) {
+        long delay = Math.min(retryMaxMillis, retryInitialMillis << Math.min(Math.max(attempts - 1, 0), 20));
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+    }
+
+    /**
+     * Lot envoyé à Event Service, en attente de sa réponse
+     */
+    private static final class Delivery {
+        private final List<OutboxMessage> messages;
+        private final OutboxMessage.Type type;
+        private final CompletableFuture<List<SeatResult>> results;
+
+        private Delivery(List<OutboxMessage> messages, OutboxMessage.Type type,
+                         CompletableFuture<List<SeatResult>> results) {
+            this.messages = messages;
+            this.type = type;
+            this.results = results;
+        }
+    }
+
+    private static List<Long> ids(List<OutboxMessage> messages) {
+        List<Long> ids = new ArrayList<>(messages.size());
+        for (OutboxMessage m : messages) {
+            ids.add(m.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,98 @@
+package com.event.platform.bookingservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Continuation token for paginated booking lists.
+ *
+ * Three forms, base64url-encoded so clients treat them as opaque:
+ * - keyset by id:     "id,<lastId>"
+ * - keyset by date:   "time,<lastCreatedAt>,<lastId>" (searches by creation date)
+ * - classic paging:   "page,<number>"
+ */
+final class PageCursor {
+
+    private final Long afterId;
+    private final Integer page;
+    private final LocalDateTime afterCreatedAt;
+
+    private PageCursor(Long afterId, Integer page, LocalDateTime afterCreatedAt) {
+        this.afterId = afterId;
+        this.page = page;
+        this.afterCreatedAt = afterCreatedAt;
+    }
+
+    static PageCursor first() {
+        return new PageCursor(0L, null, null);
+    }
+
+    static PageCursor afterId(Long id) {
+        return new PageCursor(id, null, null);
+    }
+
+    /**
+     * First page of a search by creation date: every id is > 0, so rows
+     * created exactly at from are included.
+     */
+    static PageCursor firstFrom(LocalDateTime from) {
+        return afterCreated(from, 0L);
+    }
+
+    static PageCursor afterCreated(LocalDateTime createdAt, Long id) {
+        return new PageCursor(id, null, createdAt);
+    }
+
+    static PageCursor page(int page) {
+        if (page < 0) throw new IllegalArgumentException("page must be >= 0");
+        return new PageCursor(null, page, null);
+    }
+
+    static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(",");
+            switch (parts[0]) {
+                case "id":
+                    return afterId(Long.parseLong(parts[1]));
+                case "time":
+                    return afterCreated(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+                case "page":
+                    return page(Integer.parseInt(parts[1]));
+                default:
+                    throw new IllegalArgumentException("Invalid cursor");
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    String encode() {
+        String raw = isPage() ? "page," + page
+                : isTime() ? "time," + afterCreatedAt + "," + afterId
+                : "id," + afterId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    boolean isPage() {
+        return page != null;
+    }
+
+    boolean isTime() {
+        return afterCreatedAt != null;
+    }
+
+    Long getAfterId() {
+        return afterId;
+    }
+
+    int getPage() {
+        return page;
+    }
+
+    LocalDateTime getAfterCreatedAt() {
+        return afterCreatedAt;
+    }
+}
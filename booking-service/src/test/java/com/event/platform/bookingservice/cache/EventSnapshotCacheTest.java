@@ -0,0 +1,120 @@
+package com.event.platform.bookingservice.cache;
+
+import com.event.platform.bookingservice.client.EventServiceClient;
+import com.event.platform.bookingservice.dto.EventDTO;
+import com.event.platform.bookingservice.metrics.BookingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventSnapshotCacheTest {
+
+    private static final OffsetDateTime V1 = OffsetDateTime.of(2026, 5, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EventServiceClient client = mock(EventServiceClient.class);
+    private final List<Object> published = new ArrayList<>();
+
+    private EventSnapshotCache cache(long ttlMillis) {
+        return new EventSnapshotCache(client, new BookingMetrics(registry), published::add, 100, ttlMillis, 60_000, 10);
+    }
+
+    @Test
+    void freshSnapshotIsServedWithoutCallingEventService() {
+        EventSnapshotCache cache = cache(60_000);
+        when(client.getEventsByIds(anyCollection())).thenReturn(List.of(event(1L, "Concert", V1)));
+
+        assertThat(cache.get(1L).getName()).isEqualTo("Concert");
+        assertThat(cache.get(1L).getName()).isEqualTo("Concert");
+
+        verify(client, times(1)).getEventsByIds(anyCollection());
+        assertThat(lookups("miss")).isEqualTo(1);
+        assertThat(lookups("hit")).isEqualTo(1);
+        assertThat(registry.get("event.snapshot.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void unknownEventIsNull() {
+        EventSnapshotCache cache = cache(60_000);
+        when(client.getEventsByIds(anyCollection())).thenReturn(List.of());
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void expiredSnapshotIsServedWhenEventServiceIsDown() {
+        EventSnapshotCache cache = cache(0);
+        when(client.getEventsByIds(anyCollection()))
+                .thenReturn(List.of(event(1L, "Concert", V1)))
+                .thenThrow(new IllegalStateException("Event Service unavailable"));
+
+        cache.get(1L);
+        assertThat(cache.get(1L).getName()).isEqualTo("Concert");
+        assertThat(lookups("stale")).isEqualTo(1);
+
+        assertThatThrownBy(() -> cache.get(2L)).isInstanceOf(IllegalStateException.class);
+        assertThat(lookups("unavailable")).isEqualTo(1);
+    }
+
+    @Test
+    void olderVersionNeverReplacesTheSnapshotHeld() {
+        EventSnapshotCache cache = cache(0);
+        when(client.getEventsByIds(anyCollection()))
+                .thenReturn(List.of(event(1L, "Concert (nouvelle date)", V1.plusMinutes(5))))
+                .thenReturn(List.of(event(1L, "Concert", V1)));
+
+        cache.get(1L);
+        cache.get(1L);
+
+        assertThat(cache.peek(1L).getName()).isEqualTo("Concert (nouvelle date)");
+    }
+
+    @Test
+    void refreshFetchesReadSnapshotsInBatchesAndDropsDeletedEvents() {
+        EventSnapshotCache cache = cache(0);
+        when(client.getEventsByIds(anyCollection()))
+                .thenReturn(List.of(event(1L, "Concert", V1)))
+                .thenReturn(List.of(event(2L, "Théâtre", V1)))
+                .thenReturn(List.of(event(2L, "Théâtre", V1.plusMinutes(1))));
+        cache.get(1L);
+        cache.get(2L);
+
+        cache.refresh();
+
+        verify(client).getEventsByIds(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(1L, 2L))));
+        assertThat(cache.peek(1L)).isNull();
+        assertThat(cache.peek(2L).getUpdatedAt()).isEqualTo(V1.plusMinutes(1));
+        assertThat(registry.get("event.snapshot.refreshes").tag("outcome", "success").counter().count()).isEqualTo(2);
+        assertThat(published).singleElement().satisfies(event -> {
+            EventSnapshotsChanged change = (EventSnapshotsChanged) event;
+            assertThat(change.getUpdated()).extracting(EventDTO::getId).containsExactly(2L);
+            assertThat(change.getRemoved()).containsExactly(1L);
+        });
+    }
+
+    private double lookups(String result) {
+        return registry.get("event.snapshot.lookups").tag("result", result).counter().count();
+    }
+
+    private static EventDTO event(Long id, String name, OffsetDateTime version) {
+        EventDTO event = new EventDTO();
+        event.setId(id);
+        event.setName(name);
+        event.setStatus("PUBLISHED");
+        event.setUpdatedAt(version);
+        return event;
+    }
+}
@@ -0,0 +1,121 @@
+package com.event.platform.bookingservice.client;
+
+import com.event.platform.bookingservice.dto.SeatRequest;
+import com.event.platform.bookingservice.dto.SeatResult;
+import com.event.platform.bookingservice.metrics.BookingMetrics;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResilientEventServiceClientTest {
+
+    private static final List<SeatRequest> BATCH = List.of(new SeatRequest(10L, 2, "booking-1-reserve"));
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .recordException(ResilientEventServiceClient::isFailure)
+            .build());
+    private EventServiceClient transport;
+    private ResilientEventServiceClient client;
+
+    @BeforeEach
+    void setUp() {
+        BookingMetrics metrics = new BookingMetrics(registry);
+        transport = mock(EventServiceClient.class);
+        client = new ResilientEventServiceClient(transport, new EventServiceClientFallback(metrics, mock(ObjectProvider.class)),
+                circuitBreakers, BulkheadRegistry.ofDefaults(), metrics, 3, 1, 5, 1000);
+    }
+
+    @Test
+    void idempotentCallsAreRetriedWithinTheBudget() {
+        List<SeatResult> results = List.of(new SeatResult(10L, 2, true));
+        when(transport.reserveSeatsBatch(anyList()))
+                .thenThrow(timeout())
+                .thenThrow(timeout())
+                .thenReturn(results);
+
+        assertThat(client.reserveSeatsBatch(BATCH)).isEqualTo(results);
+        verify(transport, times(3)).reserveSeatsBatch(anyList());
+        assertThat(registry.get("event.client.retries").tag("operation", "reserve_batch").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void singleReservationIsRetriedOnlyWhenTheRequestWasNotSent() {
+        when(transport.reserveSeats(anyLong(), anyInt())).thenThrow(timeout());
+        assertThat(client.reserveSeats(10L, 2)).isFalse();
+        verify(transport, times(1)).reserveSeats(anyLong(), anyInt());
+
+        doThrow(new ResourceAccessException("refused", new ConnectException("Connection refused")))
+                .doReturn(true)
+                .when(transport).reserveSeats(anyLong(), anyInt());
+        assertThat(client.reserveSeats(10L, 2)).isTrue();
+        assertThat(registry.get("booking.seats.reserve").tag("result", "fallback").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void openCircuitFailsFastThroughTheFallback() {
+        circuitBreakers.circuitBreaker(ResilientEventServiceClient.INSTANCE).transitionToOpenState();
+
+        assertThat(client.reserveSeats(10L, 2)).isFalse();
+        assertThatThrownBy(() -> client.reserveSeatsBatch(BATCH)).isInstanceOf(IllegalStateException.class);
+
+        verify(transport, never()).reserveSeats(anyLong(), anyInt());
+        verify(transport, never()).reserveSeatsBatch(anyList());
+        assertThat(registry.get("event.client.rejected").tag("operation", "reserve").tag("reason", "circuit_open")
+                .counter().count()).isEqualTo(1);
+        assertThat(registry.get("event.client.fallbacks").tag("operation", "reserve_batch").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void clientErrorsAreAnswersNotFailures() {
+        when(transport.getEventById(anyLong())).thenThrow(HttpClientErrorException.create(
+                HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        assertThat(client.getEventById(42L)).isNull();
+        verify(transport, times(1)).getEventById(anyLong());
+        assertThat(registry.get("event.client.fallbacks").tag("operation", "get_event").counter().count()).isZero();
+        assertThat(circuitBreakers.circuitBreaker(ResilientEventServiceClient.INSTANCE).getMetrics()
+                .getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    void failedAsyncBatchKeepsTheOriginalCause() {
+        ResourceAccessException failure = timeout();
+        when(transport.reserveSeatsBatchAsync(anyList())).thenReturn(CompletableFuture.failedFuture(failure));
+
+        assertThatThrownBy(() -> client.reserveSeatsBatchAsync(BATCH).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(IllegalStateException.class)
+                .hasCause(failure);
+    }
+
+    private static ResourceAccessException timeout() {
+        return new ResourceAccessException("I/O error", new SocketTimeoutException("Read timed out"));
+    }
+}
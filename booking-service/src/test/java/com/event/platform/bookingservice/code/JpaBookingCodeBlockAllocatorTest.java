@@ -0,0 +1,62 @@
+package com.event.platform.bookingservice.code;
+
+import com.event.platform.bookingservice.model.BookingCodeSequence;
+import com.event.platform.bookingservice.repository.BookingCodeSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JpaBookingCodeBlockAllocatorTest {
+
+    private BookingCodeSequenceRepository repository;
+    private JpaBookingCodeBlockAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(BookingCodeSequenceRepository.class);
+        allocator = new JpaBookingCodeBlockAllocator(repository, mock(PlatformTransactionManager.class));
+    }
+
+    /** Two instances creating the row at once: the deadlock victim reserves once the row exists */
+    @Test
+    void deadlockOnTheMissingRowIsRetried() {
+        when(repository.findByNameForUpdate(JpaBookingCodeBlockAllocator.SEQUENCE))
+                .thenThrow(new CannotAcquireLockException("Deadlock found when trying to get lock"))
+                .thenReturn(Optional.of(new BookingCodeSequence(JpaBookingCodeBlockAllocator.SEQUENCE, 1000L)));
+
+        assertThat(allocator.allocate(100)).isEqualTo(1000L);
+    }
+
+    @Test
+    void duplicateRowIsRetried() {
+        when(repository.findByNameForUpdate(JpaBookingCodeBlockAllocator.SEQUENCE))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new BookingCodeSequence(JpaBookingCodeBlockAllocator.SEQUENCE, 1000L)));
+        when(repository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'booking_code'"))
+                .thenAnswer(inv -> inv.getArgument(0));
+
+        assertThat(allocator.allocate(100)).isEqualTo(1000L);
+    }
+
+    @Test
+    void persistentLockFailureIsNotRetriedForever() {
+        when(repository.findByNameForUpdate(JpaBookingCodeBlockAllocator.SEQUENCE))
+                .thenThrow(new CannotAcquireLockException("Lock wait timeout exceeded"));
+
+        assertThatThrownBy(() -> allocator.allocate(100)).isInstanceOf(CannotAcquireLockException.class);
+        verify(repository, times(JpaBookingCodeBlockAllocator.MAX_ATTEMPTS)).findByNameForUpdate(any());
+    }
+}
@@ -0,0 +1,93 @@
+package com.event.platform.bookingservice.code;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SequenceBlockBookingCodeGeneratorTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-06-21T20:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void codesCarryTheDateAndEightCharacters() {
+        SequenceBlockBookingCodeGenerator generator = new SequenceBlockBookingCodeGenerator(new AtomicLong()::getAndAdd, 10, CLOCK);
+
+        assertThat(generator.next()).matches("BK-20260621-[0-9A-HJKMNP-TV-Z]{8}");
+    }
+
+    @Test
+    void consecutiveValuesDoNotGiveConsecutiveCodes() {
+        assertThat(SequenceBlockBookingCodeGenerator.scramble(1) - SequenceBlockBookingCodeGenerator.scramble(0))
+                .isNotEqualTo(1);
+        Set<Long> scrambled = new HashSet<>();
+        for (long value = 0; value < 100_000; value++) {
+            long s = SequenceBlockBookingCodeGenerator.scramble(value);
+            assertThat(s).isBetween(0L, SequenceBlockBookingCodeGenerator.MAX_VALUE);
+            scrambled.add(s);
+        }
+        assertThat(scrambled).hasSize(100_000);
+    }
+
+    /**
+     * Several replicas sharing one sequence, each called from many threads
+     * with small blocks so that refills race: no code is ever given twice
+     */
+    @Test
+    void codesAreUniqueAcrossReplicasAndThreads() throws Exception {
+        AtomicLong shared = new AtomicLong();
+        List<SequenceBlockBookingCodeGenerator> replicas = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            replicas.add(new SequenceBlockBookingCodeGenerator(shared::getAndAdd, 7, CLOCK));
+        }
+        int threads = 12;
+        int perThread = 20_000;
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                SequenceBlockBookingCodeGenerator generator = replicas.get(t % replicas.size());
+                results.add(pool.submit(() -> {
+                    start.await();
+                    int duplicates = 0;
+                    for (int i = 0; i < perThread; i++) {
+                        if (!codes.add(generator.next())) duplicates++;
+                    }
+                    return duplicates;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertThat(result.get(1, TimeUnit.MINUTES)).isZero();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(codes).hasSize(threads * perThread);
+    }
+
+    @Test
+    void exhaustedSequenceIsAnError() {
+        SequenceBlockBookingCodeGenerator generator = new SequenceBlockBookingCodeGenerator(
+                size -> SequenceBlockBookingCodeGenerator.MAX_VALUE, 10, CLOCK);
+
+        assertThatThrownBy(generator::next).isInstanceOf(IllegalStateException.class);
+    }
+}
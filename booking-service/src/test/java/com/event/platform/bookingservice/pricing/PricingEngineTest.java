@@ -0,0 +1,75 @@
+package com.event.platform.bookingservice.pricing;
+
+import com.event.platform.bookingservice.cache.EventSnapshotsChanged;
+import com.event.platform.bookingservice.dto.EventDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PricingEngineTest {
+
+    private static final OffsetDateTime V1 = OffsetDateTime.of(2026, 5, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PricingEngine engine = new PricingEngine(registry, "STANDARD:1,VIP:1.5");
+
+    @Test
+    void pricesTicketsByTier() {
+        EventDTO event = event(1L, "19.99", V1);
+
+        assertThat(engine.totalPrice(event, null, 3)).isEqualByComparingTo("59.97");
+        assertThat(engine.totalPrice(event, "vip", 2)).isEqualByComparingTo("59.98");
+        assertThatThrownBy(() -> engine.totalPrice(event, "BACKSTAGE", 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void olderSnapshotDoesNotRepriceTheEvent() {
+        engine.totalPrice(event(1L, "30.00", V1.plusMinutes(5)), null, 1);
+
+        assertThat(engine.totalPrice(event(1L, "25.00", V1), null, 1)).isEqualByComparingTo("30.00");
+        assertThat(engine.totalPrice(event(1L, "35.00", V1.plusMinutes(6)), null, 1)).isEqualByComparingTo("35.00");
+    }
+
+    @Test
+    void refreshedSnapshotsUpdateTheTableInOneCopy() {
+        engine.totalPrice(event(1L, "10.00", V1), null, 1);
+        engine.totalPrice(event(2L, "20.00", V1), null, 1);
+
+        engine.onSnapshotsChanged(new EventSnapshotsChanged(List.of(event(2L, "22.00", V1.plusMinutes(1))), List.of(1L)));
+
+        assertThat(engine.totalPrice(1L, null, 1)).isNull();
+        assertThat(engine.totalPrice(2L, null, 2)).isEqualByComparingTo("44.00");
+        assertThat(registry.get("booking.pricing.events").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void unchangedTableIsNotCopied() {
+        PriceTable table = new PriceTable(Map.of(PricingEngine.STANDARD, BigDecimal.ONE))
+                .with(List.of(event(1L, "10.00", V1)), List.of());
+
+        assertThat(table.with(List.of(event(1L, "10.00", V1.plusMinutes(1))), List.of(2L))).isSameAs(table);
+    }
+
+    @Test
+    void standardTierIsAlwaysTheBasePrice() {
+        assertThat(PricingEngine.parseTiers("VIP:2,STANDARD:3"))
+                .containsEntry("STANDARD", BigDecimal.ONE)
+                .containsEntry("VIP", new BigDecimal("2"));
+    }
+
+    private static EventDTO event(Long id, String basePrice, OffsetDateTime version) {
+        EventDTO event = new EventDTO();
+        event.setId(id);
+        event.setBasePrice(new BigDecimal(basePrice));
+        event.setUpdatedAt(version);
+        return event;
+    }
+}
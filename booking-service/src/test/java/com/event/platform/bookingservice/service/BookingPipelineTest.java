@@ -0,0 +1,155 @@
+package com.event.platform.bookingservice.service;
+
+import com.event.platform.bookingservice.code.BookingCodeGenerator;
+import com.event.platform.bookingservice.dto.BookingRequest;
+import com.event.platform.bookingservice.dto.BookingResponse;
+import com.event.platform.bookingservice.metrics.BookingMetrics;
+import com.event.platform.bookingservice.model.Booking;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingPipelineTest {
+
+    private static final long BAD_USER = 666L;
+
+    private final AtomicInteger codes = new AtomicInteger();
+    /** Simule la table bookings : réservations insérées, par code */
+    private final Map<String, Booking> stored = new ConcurrentHashMap<>();
+    private final AtomicInteger inserts = new AtomicInteger();
+    private final AtomicInteger transientFailures = new AtomicInteger();
+
+    private BookingService bookingService;
+    private BookingPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        bookingService = mock(BookingService.class);
+        doAnswer(inv -> {
+            List<Booking> bookings = inv.getArgument(0);
+            inserts.incrementAndGet();
+            if (transientFailures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new CannotCreateTransactionException("Could not open JDBC Connection");
+            }
+            for (Booking b : bookings) {
+                if (b.getUserId() == BAD_USER) throw new DataIntegrityViolationException("user_id");
+            }
+            bookings.forEach(b -> stored.put(b.getBookingCode(), b));
+            return null;
+        }).when(bookingService).createBookings(anyList());
+        when(bookingService.getBookingByCode(anyString())).thenAnswer(inv -> {
+            Booking b = stored.get(inv.<String>getArgument(0));
+            return b == null ? null : BookingResponse.builder().bookingCode(b.getBookingCode()).status("CONFIRMED").build();
+        });
+        BookingCodeGenerator generator = () -> "BK-" + codes.incrementAndGet();
+        pipeline = new BookingPipeline(bookingService, new BookingMetrics(new SimpleMeterRegistry()), generator,
+                true, 1, 10, 3, 600, 5_000, 1, 10, new MockEnvironment());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.stop();
+    }
+
+    @Test
+    void fullQueueIsRefusedRightAway() {
+        assertThat(pipeline.submit(request(1L))).isNotNull();
+        assertThat(pipeline.submit(request(2L))).isNotNull();
+        assertThat(pipeline.submit(request(3L))).isNotNull();
+
+        assertThat(pipeline.submit(request(4L))).isNull();
+    }
+
+    @Test
+    void statusFollowsTheBookingFromQueueToStore() throws InterruptedException {
+        String code = pipeline.submit(request(1L)).getBookingCode();
+        assertThat(pipeline.status(code).getStatus()).isEqualTo("PENDING");
+        assertThat(pipeline.status("BK-unknown")).isNull();
+
+        pipeline.start();
+        await(() -> stored.containsKey(code));
+
+        assertThat(pipeline.status(code).getStatus()).isEqualTo("CONFIRMED");
+    }
+
+    @Test
+    void failedBatchIsInsertedOneByOneToIsolateTheBadBooking() throws InterruptedException {
+        String good1 = pipeline.submit(request(1L)).getBookingCode();
+        String bad = pipeline.submit(request(BAD_USER)).getBookingCode();
+        String good2 = pipeline.submit(request(2L)).getBookingCode();
+
+        pipeline.start();
+        await(() -> pipeline.status(bad) != null && "REJECTED".equals(pipeline.status(bad).getStatus()));
+
+        // Le lot, puis chaque réservation seule
+        assertThat(inserts).hasValue(4);
+        assertThat(stored).containsOnlyKeys(good1, good2);
+    }
+
+    @Test
+    void transientFailuresAreRetriedInsteadOfRejected() throws InterruptedException {
+        transientFailures.set(3);
+        String code = pipeline.submit(request(1L)).getBookingCode();
+
+        pipeline.start();
+        await(() -> stored.containsKey(code));
+
+        assertThat(inserts).hasValue(4);
+        assertThat(pipeline.status(code).getStatus()).isEqualTo("CONFIRMED");
+    }
+
+    @Test
+    void queuedBookingsAreInsertedOnShutdown() throws InterruptedException {
+        String first = pipeline.submit(request(1L)).getBookingCode();
+        String second = pipeline.submit(request(2L)).getBookingCode();
+
+        pipeline.start();
+        pipeline.stop();
+
+        assertThat(stored).containsKeys(first, second);
+    }
+
+    @Test
+    void onlyDataAccessOutagesAreTransient() {
+        assertThat(BookingPipeline.isTransient(new CannotCreateTransactionException("pool"))).isTrue();
+        assertThat(BookingPipeline.isTransient(new IllegalStateException(
+                new CannotCreateTransactionException("pool")))).isTrue();
+        assertThat(BookingPipeline.isTransient(new DataIntegrityViolationException("duplicate"))).isFalse();
+    }
+
+    private static BookingRequest request(Long userId) {
+        return BookingRequest.builder()
+                .eventId(10L)
+                .userId(userId)
+                .numberOfTickets(1)
+                .totalPrice(new BigDecimal("25.00"))
+                .build();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
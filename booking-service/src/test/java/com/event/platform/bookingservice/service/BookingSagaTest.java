@@ -0,0 +1,111 @@
+package com.event.platform.bookingservice.service;
+
+import com.event.platform.bookingservice.dto.SeatResult;
+import com.event.platform.bookingservice.metrics.BookingMetrics;
+import com.event.platform.bookingservice.model.Booking;
+import com.event.platform.bookingservice.model.BookingStatus;
+import com.event.platform.bookingservice.model.OutboxMessage;
+import com.event.platform.bookingservice.repository.BookingRepository;
+import com.event.platform.bookingservice.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingSagaTest {
+
+    private BookingRepository bookingRepository;
+    private OutboxRepository outboxRepository;
+    private BookingSaga saga;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        outboxRepository = mock(OutboxRepository.class);
+        saga = new BookingSaga(bookingRepository, outboxRepository, new BookingMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void reservationResultConfirmsOrRejectsPendingBookings() {
+        Booking accepted = booking(1L, BookingStatus.PENDING);
+        Booking refused = booking(2L, BookingStatus.PENDING);
+        when(bookingRepository.lockAllById(anyCollection())).thenReturn(List.of(accepted, refused));
+
+        saga.onReserveResults(
+                List.of(reserve(accepted), reserve(refused)),
+                List.of(new SeatResult(10L, 2, true), new SeatResult(10L, 2, false)));
+
+        assertThat(accepted.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+        assertThat(accepted.getConfirmedAt()).isNotNull();
+        assertThat(refused.getStatus()).isEqualTo(BookingStatus.REJECTED);
+        verify(outboxRepository, never()).save(any());
+    }
+
+    @Test
+    void seatsReservedForACancelledBookingAreReleased() {
+        Booking booking = booking(1L, BookingStatus.PENDING);
+        saga.cancel(booking);
+        verify(outboxRepository, never()).save(any());
+        when(bookingRepository.lockAllById(anyCollection())).thenReturn(List.of(booking));
+
+        saga.onReserveResults(List.of(reserve(booking)), List.of(new SeatResult(10L, 2, true)));
+
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.CANCELLED);
+        OutboxMessage release = savedMessage();
+        assertThat(release.getType()).isEqualTo(OutboxMessage.Type.RELEASE);
+        assertThat(release.getSeats()).isEqualTo(2);
+        assertThat(release.getOperationId()).isEqualTo("booking-1-release");
+    }
+
+    @Test
+    void cancellingAConfirmedBookingReleasesItsSeats() {
+        Booking booking = booking(1L, BookingStatus.CONFIRMED);
+
+        saga.cancel(booking);
+
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.CANCELLED);
+        OutboxMessage release = savedMessage();
+        assertThat(release.getType()).isEqualTo(OutboxMessage.Type.RELEASE);
+        assertThat(release.getEventId()).isEqualTo(10L);
+    }
+
+    @Test
+    void startEnqueuesAnIdempotentReservation() {
+        saga.start(booking(7L, BookingStatus.PENDING));
+
+        OutboxMessage reserve = savedMessage();
+        assertThat(reserve.getType()).isEqualTo(OutboxMessage.Type.RESERVE);
+        assertThat(reserve.getOperationId()).isEqualTo("booking-7-reserve");
+    }
+
+    private OutboxMessage savedMessage() {
+        ArgumentCaptor<OutboxMessage> captor = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(outboxRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private static Booking booking(Long id, BookingStatus status) {
+        return Booking.builder().id(id).eventId(10L).numberOfTickets(2).status(status).build();
+    }
+
+    private static OutboxMessage reserve(Booking booking) {
+        return OutboxMessage.builder()
+                .id(booking.getId() * 100)
+                .bookingId(booking.getId())
+                .type(OutboxMessage.Type.RESERVE)
+                .eventId(booking.getEventId())
+                .seats(booking.getNumberOfTickets())
+                .operationId(BookingSaga.operationId(booking.getId(), OutboxMessage.Type.RESERVE))
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.event.platform.bookingservice.service;
+
+import com.event.platform.bookingservice.cache.EventSnapshotCache;
+import com.event.platform.bookingservice.dto.BookingRequest;
+import com.event.platform.bookingservice.dto.EventDTO;
+import com.event.platform.bookingservice.metrics.BookingMetrics;
+import com.event.platform.bookingservice.pricing.PricingEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingServicePrepareTest {
+
+    private static final long EVENT_ID = 10L;
+    private static final OffsetDateTime START = OffsetDateTime.of(2026, 6, 1, 20, 0, 0, 0, ZoneOffset.UTC);
+
+    private EventSnapshotCache eventSnapshots;
+    private PricingEngine pricingEngine;
+    private BookingService bookingService;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        eventSnapshots = mock(EventSnapshotCache.class);
+        pricingEngine = new PricingEngine(registry, "STANDARD:1");
+        bookingService = new BookingService(null, null, new BookingMetrics(registry), eventSnapshots, pricingEngine,
+                null, 20, 100, new ObjectMapper(), mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void clientPriceIsReplacedByTheServerPrice() {
+        when(eventSnapshots.get(EVENT_ID)).thenReturn(event("25.00"));
+
+        BookingRequest prepared = bookingService.prepare(request());
+
+        assertThat(prepared.getTotalPrice()).isEqualByComparingTo("50.00");
+        assertThat(prepared.getEventName()).isEqualTo("Concert");
+    }
+
+    @Test
+    void eventWithoutBasePriceIsNotBookedAtTheClientPrice() {
+        when(eventSnapshots.get(EVENT_ID)).thenReturn(event(null));
+
+        assertThat(bookingService.prepare(request())).isNull();
+    }
+
+    @Test
+    void unreachableEventIsPricedFromTheTableOrNotBooked() {
+        when(eventSnapshots.get(EVENT_ID)).thenThrow(new IllegalStateException("Event Service unavailable"));
+
+        // Jamais lu : aucun prix côté serveur, le prix du client n'est pas gardé
+        assertThat(bookingService.prepare(request())).isNull();
+
+        pricingEngine.totalPrice(event("30.00"), null, 1);
+        assertThat(bookingService.prepare(request()).getTotalPrice()).isEqualByComparingTo("60.00");
+    }
+
+    private static BookingRequest request() {
+        return BookingRequest.builder()
+                .eventId(EVENT_ID)
+                .userId(1L)
+                .numberOfTickets(2)
+                .totalPrice(new BigDecimal("0.01"))
+                .eventName("Concert")
+                .eventDate(LocalDateTime.of(2026, 6, 1, 20, 0))
+                .build();
+    }
+
+    private static EventDTO event(String basePrice) {
+        EventDTO event = new EventDTO();
+        event.setId(EVENT_ID);
+        event.setName("Concert");
+        event.setStartDate(START);
+        event.setUpdatedAt(START.minusDays(30));
+        event.setStatus("PUBLISHED");
+        event.setBasePrice(basePrice == null ? null : new BigDecimal(basePrice));
+        return event;
+    }
+}
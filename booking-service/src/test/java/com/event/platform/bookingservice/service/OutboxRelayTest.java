@@ -0,0 +1,143 @@
+package com.event.platform.bookingservice.service;
+
+import com.event.platform.bookingservice.client.EventServiceClient;
+import com.event.platform.bookingservice.dto.SeatRequest;
+import com.event.platform.bookingservice.dto.SeatResult;
+import com.event.platform.bookingservice.metrics.BookingMetrics;
+import com.event.platform.bookingservice.model.OutboxMessage;
+import com.event.platform.bookingservice.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private OutboxRepository outboxRepository;
+    private EventServiceClient eventServiceClient;
+    private BookingSaga bookingSaga;
+    private SimpleMeterRegistry registry;
+    private OutboxRelay relay;
+
+    /** Résultats appliqués à la saga, par operationId */
+    private final Map<String, Boolean> applied = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(OutboxRepository.class);
+        eventServiceClient = mock(EventServiceClient.class);
+        bookingSaga = mock(BookingSaga.class);
+        registry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(outboxRepository, eventServiceClient, bookingSaga, new BookingMetrics(registry),
+                mock(PlatformTransactionManager.class), 100, 4, 30_000, 500, 60_000, MAX_ATTEMPTS);
+    }
+
+    @Test
+    void refusedBatchIsSplitAndOnlyTheRefusedCommandIsRejected() {
+        OutboxMessage ok1 = reserve(1L, 0);
+        OutboxMessage poison = reserve(2L, 0);
+        OutboxMessage ok2 = reserve(3L, 0);
+        claim(ok1, poison, ok2);
+        when(eventServiceClient.reserveSeatsBatchAsync(anyList())).thenAnswer(inv -> {
+            List<SeatRequest> requests = inv.getArgument(0);
+            List<SeatResult> results = new ArrayList<>();
+            for (SeatRequest r : requests) {
+                if (r.getOperationId().equals(poison.getOperationId())) {
+                    return CompletableFuture.failedFuture(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+                }
+                results.add(new SeatResult(r.getEventId(), r.getSeats(), true));
+            }
+            return CompletableFuture.completedFuture(results);
+        });
+
+        relay.relay();
+
+        // Le lot, puis chaque commande seule
+        verify(eventServiceClient, times(4)).reserveSeatsBatchAsync(anyList());
+        assertThat(applied).containsEntry(ok1.getOperationId(), true)
+                .containsEntry(ok2.getOperationId(), true)
+                .containsEntry(poison.getOperationId(), false);
+        verify(outboxRepository, never()).reschedule(any(), any());
+        assertThat(outboxCount("refused")).isEqualTo(1);
+    }
+
+    @Test
+    void transportFailuresAreRetriedUntilMaxAttemptsThenDeadLettered() {
+        // attempts lu avant le bail : cet envoi est la tentative attempts + 1
+        OutboxMessage fresh = reserve(1L, 0);
+        OutboxMessage lastTry = reserve(2L, MAX_ATTEMPTS - 1);
+        claim(fresh, lastTry);
+        when(eventServiceClient.reserveSeatsBatchAsync(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new ResourceAccessException("Read timed out")));
+
+        relay.relay();
+
+        verify(outboxRepository).reschedule(eq(fresh.getId()), any());
+        verify(outboxRepository).deadLetter(eq(lastTry.getId()), any());
+        verify(outboxRepository, never()).deadLetter(eq(fresh.getId()), any());
+        verify(bookingSaga, never()).onReserveResults(anyList(), anyList());
+        assertThat(outboxCount("retried")).isEqualTo(1);
+        assertThat(outboxCount("dead_lettered")).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void claim(OutboxMessage... messages) {
+        when(outboxRepository.lockDue(any(), anyInt())).thenReturn(List.of(messages), List.of());
+        when(outboxRepository.lockAllById(anyCollection())).thenAnswer(inv -> {
+            List<OutboxMessage> live = new ArrayList<>();
+            for (OutboxMessage m : messages) {
+                if (((Collection<Long>) inv.getArgument(0)).contains(m.getId())) live.add(m);
+            }
+            return live;
+        });
+        doAnswer(inv -> {
+            List<OutboxMessage> pending = inv.getArgument(0);
+            List<SeatResult> results = inv.getArgument(1);
+            for (int i = 0; i < pending.size(); i++) {
+                applied.put(pending.get(i).getOperationId(), results.get(i).isSuccess());
+            }
+            return null;
+        }).when(bookingSaga).onReserveResults(anyList(), anyList());
+    }
+
+    private double outboxCount(String outcome) {
+        return registry.get("booking.outbox.messages").tag("outcome", outcome).counter().count();
+    }
+
+    private static OutboxMessage reserve(Long bookingId, int attempts) {
+        return OutboxMessage.builder()
+                .id(bookingId * 10)
+                .bookingId(bookingId)
+                .type(OutboxMessage.Type.RESERVE)
+                .eventId(10L)
+                .seats(2)
+                .operationId(BookingSaga.operationId(bookingId, OutboxMessage.Type.RESERVE))
+                .attempts(attempts)
+                .build();
+    }
+}
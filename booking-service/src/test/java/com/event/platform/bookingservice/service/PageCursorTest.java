@@ -0,0 +1,41 @@
+package com.event.platform.bookingservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void keysetAndPageCursorsRoundTrip() {
+        PageCursor byId = PageCursor.decode(PageCursor.afterId(42L).encode());
+        assertThat(byId.isPage()).isFalse();
+        assertThat(byId.isTime()).isFalse();
+        assertThat(byId.getAfterId()).isEqualTo(42L);
+
+        PageCursor page = PageCursor.decode(PageCursor.page(3).encode());
+        assertThat(page.isPage()).isTrue();
+        assertThat(page.getPage()).isEqualTo(3);
+    }
+
+    @Test
+    void dateCursorKeepsCreationDateAndId() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 6, 21, 20, 0, 0, 123_456_000);
+
+        PageCursor cursor = PageCursor.decode(PageCursor.afterCreated(createdAt, 7L).encode());
+
+        assertThat(cursor.isTime()).isTrue();
+        assertThat(cursor.getAfterCreatedAt()).isEqualTo(createdAt);
+        assertThat(cursor.getAfterId()).isEqualTo(7L);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> PageCursor.decode("zz")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.decode(PageCursor.page(1).encode() + "!"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,418 @@
+package com.event.platform.eventservice.availability;
+
+import com.event.platform.eventservice.inventory.SeatsChangedEvent;
+import com.event.platform.eventservice.repository.EventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Flux en direct des places disponibles d'un événement (Server-Sent Events)
+ *
+ * Remplace l'interrogation en boucle de GET /events/{id} par les fronts :
+ * - déclenché par les SeatsChangedEvent (réservations, libérations), après
+ *   commit. La valeur envoyée est relue en base (lecture par clé
+ *   primaire) : c'est toujours la dernière valeur commitée, quel que soit
+ *   l'ordre d'arrivée des notifications ;
+ * - regroupé : au plus max-updates-per-second envois par événement, quel
+ *   que soit le nombre de réservations. Entre deux envois, seule la
+ *   dernière valeur compte ;
+ * - diffusé sans thread par client : les connexions SSE sont asynchrones
+ *   (SseEmitter), chaque message est construit une fois pour tous les
+ *   abonnés et écrit par un petit pool partagé (sender-threads) ;
+ * - contre-pression : chaque abonné a une seule case (dernière valeur
+ *   non envoyée) et au plus une écriture en cours. Un client lent saute
+ *   les valeurs intermédiaires au lieu d'accumuler une file. Un client
+ *   dont l'écriture reste bloquée plus de stall-timeout-ms est retiré du
+ *   flux ; son SseEmitter n'est fermé qu'au retour de l'écriture, par le
+ *   thread d'écriture (send et complete sont synchronisés sur l'emitter :
+ *   les appeler depuis un autre thread le bloquerait aussi). Le délai
+ *   d'écriture du connecteur (server.tomcat.connection-timeout) borne la
+ *   durée d'une écriture bloquée, donc l'immobilisation d'un thread
+ *   d'écriture. EventSource se reconnecte seul ;
+ * - rattrapage : toutes les refresh-ms, les événements suivis sont relus
+ *   en base (modifications faites par d'autres instances). La valeur est
+ *   renvoyée, même inchangée, après heartbeat-ms sans envoi : la
+ *   connexion reste ouverte à travers les proxys.
+ *
+ * Métriques : event.availability.stream.subscribers,
+ * event.availability.stream.events (événements suivis),
+ * event.availability.stream.updates (envois, tous abonnés confondus),
+ * event.availability.stream.skipped (valeurs sautées pour un client lent),
+ * event.availability.stream.stalled (clients déconnectés car bloqués).
+ */
+@Component
+public class SeatAvailabilityStream {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatAvailabilityStream.class);
+
+    static final String EVENT_NAME = "availability";
+
+    private final Function<Long, Optional<Integer>> seatsLookup;
+    private final long minIntervalNanos;
+    private final long heartbeatNanos;
+    private final long stallTimeoutNanos;
+    private final long timeoutMs;
+    private final int maxSubscribers;
+
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService senders;
+
+    private final Counter updates;
+    private final Counter skipped;
+    private final Counter stalled;
+
+    @Autowired
+    public SeatAvailabilityStream(EventRepository eventRepository,
+                                  MeterRegistry registry,
+                                  @Value("${event.availability.stream.max-updates-per-second:2}") int maxUpdatesPerSecond,
+                                  @Value("${event.availability.stream.heartbeat-ms:15000}") long heartbeatMs,
+                                  @Value("${event.availability.stream.stall-timeout-ms:20000}") long stallTimeoutMs,
+                                  @Value("${event.availability.stream.timeout-ms:1800000}") long timeoutMs,
+                                  @Value("${event.availability.stream.max-subscribers:10000}") int maxSubscribers,
+                                  @Value("${event.availability.stream.sender-threads:4}") int senderThreads) {
+        this(eventRepository::findAvailableSeatsById, registry, maxUpdatesPerSecond, heartbeatMs, stallTimeoutMs,
+                timeoutMs, maxSubscribers, senderThreads);
+    }
+
+    SeatAvailabilityStream(Function<Long, Optional<Integer>> seatsLookup, MeterRegistry registry,
+                           int maxUpdatesPerSecond, long heartbeatMs, long stallTimeoutMs, long timeoutMs,
+                           int maxSubscribers, int senderThreads) {
+        this.seatsLookup = seatsLookup;
+        this.minIntervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, maxUpdatesPerSecond);
+        this.heartbeatNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatMs);
+        this.stallTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(stallTimeoutMs);
+        this.timeoutMs = timeoutMs;
+        this.maxSubscribers = maxSubscribers;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("availability-stream-publish"));
+        this.senders = Executors.newFixedThreadPool(senderThreads, daemonThreads("availability-stream-send"));
+
+        Gauge.builder("event.availability.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Clients abonnés au flux des places disponibles")
+                .register(registry);
+        Gauge.builder("event.availability.stream.events", channels, ConcurrentHashMap::size)
+                .description("Événements ayant au moins un abonné")
+                .register(registry);
+        this.updates = Counter.builder("event.availability.stream.updates")
+                .description("Valeurs diffusées (une par événement et par envoi, tous abonnés confondus)")
+                .register(registry);
+        this.skipped = Counter.builder("event.availability.stream.skipped")
+                .description("Valeurs remplacées avant d'avoir été écrites vers un client lent")
+                .register(registry);
+        this.stalled = Counter.builder("event.availability.stream.stalled")
+                .description("Clients déconnectés après une écriture bloquée trop longtemps")
+                .register(registry);
+    }
+
+    /**
+     * Ouvre un flux pour l'événement ; la valeur courante est envoyée
+     * immédiatement
+     */
+    public SseEmitter subscribe(Long eventId) {
+        Integer seats = seatsLookup.apply(eventId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found"));
+        if (subscribers.get() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many availability streams");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = register(eventId, new EmitterSink(emitter));
+        emitter.onCompletion(() -> unregister(eventId, subscriber));
+        emitter.onTimeout(() -> unregister(eventId, subscriber));
+        emitter.onError(error -> unregister(eventId, subscriber));
+        subscriber.offer(message(eventId, seats));
+        return emitter;
+    }
+
+    /**
+     * Places modifiées (après commit) : envoi immédiat, ou au prochain
+     * créneau si l'événement vient déjà d'être diffusé
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsChanged(SeatsChangedEvent change) {
+        Channel channel = channels.get(change.getEventId());
+        if (channel != null) {
+            channel.requestPublish();
+        }
+    }
+
+    /**
+     * Relecture des événements suivis, battement de cœur et déconnexion
+     * des clients bloqués
+     */
+    @Scheduled(fixedDelayString = "${event.availability.stream.refresh-ms:5000}")
+    public void refresh() {
+        long now = System.nanoTime();
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                long since = subscriber.sendingSince;
+                if (since != 0 && now - since > stallTimeoutNanos) {
+                    // Ne bloque pas : fermeture par le thread d'écriture à son retour
+                    stalled.increment();
+                    subscriber.close();
+                }
+            }
+            try {
+                Optional<Integer> seats = seatsLookup.apply(channel.eventId);
+                if (seats.isEmpty() || !seats.get().equals(channel.lastSeats)
+                        || now - channel.lastPublishedAt >= heartbeatNanos) {
+                    channel.publish(seats);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Availability refresh failed for event {}", channel.eventId, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+        for (Channel channel : channels.values()) {
+            channel.subscribers.forEach(Subscriber::close);
+        }
+    }
+
+    /**
+     * Abonne sink aux places de eventId (sans envoi initial)
+     */
+    Subscriber register(Long eventId, Sink sink) {
+        Subscriber subscriber = new Subscriber(eventId, sink);
+        subscribers.incrementAndGet();
+        channels.compute(eventId, (id, channel) -> {
+            Channel target = channel != null ? channel : new Channel(id);
+            target.subscribers.add(subscriber);
+            return target;
+        });
+        return subscriber;
+    }
+
+    int getSubscribers() {
+        return subscribers.get();
+    }
+
+    private void unregister(Long eventId, Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) return;
+        subscribers.decrementAndGet();
+        channels.computeIfPresent(eventId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+    }
+
+    /**
+     * Message SSE, construit une fois et partagé par tous les abonnés
+     */
+    static Set<ResponseBodyEmitter.DataWithMediaType> message(Long eventId, int seats) {
+        return SseEmitter.event()
+                .name(EVENT_NAME)
+                .data("{\"eventId\":" + eventId + ",\"availableSeats\":" + seats + "}")
+                .build();
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Destination d'un abonné : SseEmitter, ou substitut dans les tests
+     */
+    interface Sink {
+
+        void send(Set<ResponseBodyEmitter.DataWithMediaType> message) throws IOException;
+
+        void close();
+    }
+
+    private static final class EmitterSink implements Sink {
+
+        private final SseEmitter emitter;
+
+        EmitterSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> message) throws IOException {
+            emitter.send(message);
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Abonnés d'un événement et cadence de diffusion
+     */
+    private final class Channel {
+
+        private final Long eventId;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long lastPublishedAt = System.nanoTime() - minIntervalNanos;
+        private volatile Integer lastSeats;
+
+        Channel(Long eventId) {
+            this.eventId = eventId;
+        }
+
+        void requestPublish() {
+            if (!scheduled.compareAndSet(false, true)) return;
+            long delay = Math.max(0, lastPublishedAt + minIntervalNanos - System.nanoTime());
+            try {
+                scheduler.schedule(this::publishLatest, delay, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+
+        private void publishLatest() {
+            // Remis à false avant la lecture : une modification arrivée
+            // pendant la lecture programme un nouvel envoi
+            scheduled.set(false);
+            try {
+                publish(seatsLookup.apply(eventId));
+            } catch (RuntimeException e) {
+                log.warn("Availability publish failed for event {}", eventId, e);
+            }
+        }
+
+        void publish(Optional<Integer> seats) {
+            lastPublishedAt = System.nanoTime();
+            if (seats.isEmpty()) {
+                // Événement supprimé : les flux sont fermés
+                subscribers.forEach(Subscriber::close);
+                return;
+            }
+            lastSeats = seats.get();
+            Set<ResponseBodyEmitter.DataWithMediaType> message = message(eventId, seats.get());
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(message);
+            }
+            updates.increment();
+        }
+    }
+
+    /**
+     * Un client : une case (dernière valeur non écrite), au plus une
+     * écriture en cours
+     */
+    final class Subscriber {
+
+        private final Long eventId;
+        private final Sink sink;
+        private final AtomicReference<Set<ResponseBodyEmitter.DataWithMediaType>> pending = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean closeRequested;
+        private volatile long sendingSince;
+
+        Subscriber(Long eventId, Sink sink) {
+            this.eventId = eventId;
+            this.sink = sink;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> message) {
+            if (closed.get()) return;
+            if (pending.getAndSet(message) != null) {
+                skipped.increment();
+            }
+            if (sending.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    sending.set(false);
+                }
+            }
+        }
+
+        /**
+         * Écrit la dernière valeur tant qu'il y en a une. Seul ce thread
+         * (sending à true) touche au sink, y compris pour le fermer.
+         */
+        private void drain() {
+            while (true) {
+                if (closed.get()) {
+                    // sending reste à true : plus aucune écriture ne sera lancée
+                    closeSinkIfRequested();
+                    return;
+                }
+                Set<ResponseBodyEmitter.DataWithMediaType> message = pending.getAndSet(null);
+                if (message == null) {
+                    sending.set(false);
+                    // Valeur déposée ou fermeture demandée entre la dernière lecture et la remise à false
+                    if ((pending.get() == null && !closed.get()) || !sending.compareAndSet(false, true)) return;
+                    continue;
+                }
+                sendingSince = System.nanoTime();
+                try {
+                    sink.send(message);
+                } catch (IOException | RuntimeException e) {
+                    // Client parti : le conteneur termine la requête
+                    unregister(eventId, this);
+                    return;
+                } finally {
+                    sendingSince = 0;
+                }
+            }
+        }
+
+        /**
+         * Fermeture par le serveur (événement supprimé, client bloqué,
+         * arrêt). Ne bloque jamais : sans écriture en cours le sink est fermé
+         * ici, sinon par drain() au retour de l'écriture.
+         */
+        void close() {
+            closeRequested = true;
+            unregister(eventId, this);
+            if (sending.compareAndSet(false, true)) {
+                closeSinkIfRequested();
+            }
+        }
+
+        private void closeSinkIfRequested() {
+            if (!closeRequested) return;
+            try {
+                sink.close();
+            } catch (RuntimeException e) {
+                log.debug("Availability stream already closed for event {}", eventId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.event.platform.eventservice.cache;
+
+import com.event.platform.eventservice.dto.EventDTO;
+import com.event.platform.eventservice.inventory.SeatsChangedEvent;
+import com.event.platform.eventservice.model.EventCategory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache en lecture du catalogue d'événements
+ *
+ * Deux caches Caffeine (bornés en taille et en durée, voir spring.cache.*) :
+ * - "events"     : EventDTO par ID
+ * - "eventLists" : listes d'IDs (événements disponibles, par catégorie)
+ *
+ * Les listes ne contiennent que des IDs résolus via "events" : modifier un
+ * événement n'invalide que son entrée, une liste n'est invalidée que si
+ * son contenu change (publication, annulation, suppression, complet...).
+ *
+ * Les invalidations sont appliquées après le commit. Un compteur de
+ * génération par segment de clés empêche un chargement concurrent, lu
+ * avant le commit, de réinsérer une valeur périmée après l'invalidation.
+ *
+ * Absences simultanées d'une même clé (mise en vente : des milliers de
+ * GET /events/{id} à la fois) : un seul chargement en base, partagé
+ * (SingleFlight). La génération fait partie de la clé, donc une lecture
+ * arrivée après une invalidation ne reçoit pas un chargement commencé avant.
+ * Métriques : event.read.singleflight{read=event|list, role=leader|follower}
+ * et event.read.collapse.ratio{read} (part des lectures partagées).
+ */
+@Component
+public class EventCache {
+
+    public static final String EVENTS = "events";
+    public static final String EVENT_LISTS = "eventLists";
+
+    private static final String AVAILABLE = "available";
+    private static final int STRIPES = 1024;
+
+    private final Cache events;
+    private final Cache lists;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final AtomicLong evictions = new AtomicLong();
+    private final SingleFlight<List<Object>, EventDTO> eventLoads = new SingleFlight<>();
+    private final SingleFlight<List<Object>, List<EventDTO>> listLoads = new SingleFlight<>();
+
+    public EventCache(CacheManager cacheManager, MeterRegistry registry) {
+        this.events = cacheManager.getCache(EVENTS);
+        this.lists = cacheManager.getCache(EVENT_LISTS);
+        registerFlightMetrics(registry, "event", eventLoads);
+        registerFlightMetrics(registry, "list", listLoads);
+    }
+
+    /**
+     * Lecture d'un événement, chargé via loader en cas d'absence
+     */
+    public EventDTO getEvent(Long id, Function<Long, EventDTO> loader) {
+        EventDTO cached = events.get(id, EventDTO.class);
+        if (cached != null) return cached;
+        long generation = generation(id);
+        return eventLoads.execute(List.of(id, generation), () -> {
+            EventDTO loaded = loader.apply(id);
+            putIfCurrent(events, id, loaded, generation);
+            return loaded;
+        });
+    }
+
+    /**
+     * Liste des événements disponibles
+     */
+    public List<EventDTO> getAvailableEvents(Supplier<List<EventDTO>> loader,
+                                             Function<Collection<Long>, List<EventDTO>> bulkLoader) {
+        return getList(AVAILABLE, loader, bulkLoader);
+    }
+
+    /**
+     * Liste des événements d'une catégorie
+     */
+    public List<EventDTO> getEventsByCategory(EventCategory category,
+                                              Supplier<List<EventDTO>> loader,
+                                              Function<Collection<Long>, List<EventDTO>> bulkLoader) {
+        return getList(categoryKey(category.name()), loader, bulkLoader);
+    }
+
+    /**
+     * Invalide un événement (après commit)
+     */
+    public void evictEvent(Long id) {
+        afterCommit(() -> evict(events, id));
+    }
+
+    /**
+     * Invalide la liste des événements disponibles (après commit)
+     */
+    public void evictAvailableEvents() {
+        afterCommit(() -> evict(lists, AVAILABLE));
+    }
+
+    /**
+     * Invalide la liste d'une catégorie (après commit)
+     */
+    public void evictCategory(String category) {
+        if (category == null) return;
+        afterCommit(() -> evict(lists, categoryKey(category)));
+    }
+
+    /**
+     * Les places restantes font partie de EventDTO : l'entrée est invalidée.
+     * La liste des disponibles ne l'est que si l'événement devient complet
+     * ou cesse de l'être (ou si le compteur est inconnu).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsChanged(SeatsChangedEvent change) {
+        evict(events, change.getEventId());
+        Integer remaining = change.getRemaining();
+        boolean soldOut = change.getDelta() < 0 && remaining != null && remaining == 0;
+        boolean reopened = change.getDelta() > 0 && remaining != null && remaining == change.getDelta();
+        if (remaining == null || soldOut || reopened) {
+            evict(lists, AVAILABLE);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<EventDTO> getList(String key,
+                                   Supplier<List<EventDTO>> loader,
+                                   Function<Collection<Long>, List<EventDTO>> bulkLoader) {
+        List<Long> ids = lists.get(key, List.class);
+        if (ids == null) {
+            long generation = generation(key);
+            return listLoads.execute(List.of(key, generation), () -> loadList(key, generation, loader));
+        }
+        return getEvents(ids, bulkLoader);
+    }
+
+    private List<EventDTO> loadList(String key, long generation, Supplier<List<EventDTO>> loader) {
+        long evictionsBefore = evictions.get();
+        List<EventDTO> loaded = loader.get();
+        List<Long> loadedIds = new ArrayList<>(loaded.size());
+        for (EventDTO dto : loaded) {
+            loadedIds.add(dto.getId());
+            // Les entrées individuelles ne sont réutilisées que si aucune
+            // invalidation n'a eu lieu depuis le début du chargement
+            long entryGeneration = generation(dto.getId());
+            if (evictions.get() == evictionsBefore) {
+                putIfCurrent(events, dto.getId(), dto, entryGeneration);
+            }
+        }
+        putIfCurrent(lists, key, List.copyOf(loadedIds), generation);
+        return loaded;
+    }
+
+    /**
+     * Lecture de plusieurs événements : les absents du cache sont chargés
+     * en un seul appel à bulkLoader. Résultat dans l'ordre des IDs, sans
+     * les événements inexistants
+     */
+    public List<EventDTO> getEvents(Collection<Long> ids, Function<Collection<Long>, List<EventDTO>> bulkLoader) {
+        Map<Long, EventDTO> resolved = new HashMap<>(ids.size() * 2);
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            EventDTO dto = events.get(id, EventDTO.class);
+            if (dto != null) resolved.put(id, dto);
+            else missing.add(id);
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, Long> missingGenerations = new HashMap<>(missing.size() * 2);
+            for (Long id : missing) missingGenerations.put(id, generation(id));
+            for (EventDTO dto : bulkLoader.apply(missing)) {
+                resolved.put(dto.getId(), dto);
+                putIfCurrent(events, dto.getId(), dto, missingGenerations.get(dto.getId()));
+            }
+        }
+        List<EventDTO> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            EventDTO dto = resolved.get(id);
+            // Un événement supprimé entre-temps disparaît simplement de la liste
+            if (dto != null) result.add(dto);
+        }
+        return result;
+    }
+
+    private static void registerFlightMetrics(MeterRegistry registry, String read, SingleFlight<?, ?> flights) {
+        FunctionCounter.builder("event.read.singleflight", flights, SingleFlight::getLeaders)
+                .description("Chargements en base exécutés pour une lecture absente du cache")
+                .tags("read", read, "role", "leader")
+                .register(registry);
+        FunctionCounter.builder("event.read.singleflight", flights, SingleFlight::getFollowers)
+                .description("Lectures absentes du cache servies par le chargement simultané d'une autre")
+                .tags("read", read, "role", "follower")
+                .register(registry);
+        Gauge.builder("event.read.collapse.ratio", flights, SingleFlight::collapseRatio)
+                .description("Part des lectures absentes du cache servies sans chargement propre")
+                .tag("read", read)
+                .register(registry);
+    }
+
+    private void putIfCurrent(Cache cache, Object key, Object value, Long generation) {
+        if (value == null || generation == null) return;
+        if (generation(key) != generation) return;
+        cache.put(key, value);
+        // Invalidation survenue pendant l'insertion : on retire la valeur
+        if (generation(key) != generation) cache.evict(key);
+    }
+
+    private void evict(Cache cache, Object key) {
+        generations.incrementAndGet(stripe(key));
+        evictions.incrementAndGet();
+        cache.evict(key);
+    }
+
+    private long generation(Object key) {
+        return generations.get(stripe(key));
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    private static String categoryKey(String category) {
+        return "category:" + category;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.event.platform.eventservice.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Regroupement des chargements identiques simultanés (single-flight)
+ *
+ * Le premier appel pour une clé (leader) exécute le chargement ; les
+ * appels arrivés pendant ce temps (followers) attendent et reçoivent le
+ * même résultat, ou la même exception. Rien n'est gardé après la fin du
+ * chargement : ce n'est pas un cache, seulement une file commune.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = calls.putIfAbsent(key, call);
+        if (running != null) {
+            followers.increment();
+            return join(running);
+        }
+        leaders.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    /**
+     * Chargements exécutés
+     */
+    public long getLeaders() {
+        return leaders.sum();
+    }
+
+    /**
+     * Appels servis par le chargement d'un autre
+     */
+    public long getFollowers() {
+        return followers.sum();
+    }
+
+    /**
+     * Part des appels servis sans chargement propre
+     */
+    public double collapseRatio() {
+        long shared = followers.sum();
+        long total = leaders.sum() + shared;
+        return total == 0 ? 0 : (double) shared / total;
+    }
+
+    private static <V> V join(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+}
@@ -1,14 +1,26 @@
 package com.event.platform.eventservice.controller;
 
+import com.event.platform.eventservice.availability.SeatAvailabilityStream;
+import com.event.platform.eventservice.dto.CursorPage;
 import com.event.platform.eventservice.dto.EventDTO;
+import com.event.platform.eventservice.dto.SearchPage;
+import com.event.platform.eventservice.dto.SeatRequest;
+import com.event.platform.eventservice.dto.SeatResult;
+import com.event.platform.eventservice.idempotency.IdempotencyStore;
 import com.event.platform.eventservice.model.EventCategory;
+import com.event.platform.eventservice.model.EventVersion;
 import com.event.platform.eventservice.service.EventService;
+import com.event.platform.eventservice.service.ExportFormat;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,6 +33,10 @@ import java.util.List;
  * - Gestion du statut
  * - Réservation de places
  *
+ * Les lectures (un événement, listes du catalogue) portent un ETag
+ * (EventETags) : un client qui renvoie la version qu'il a déjà dans
+ * If-None-Match reçoit 304 sans corps, sans sérialisation JSON.
+ *
  * Base path: /events
  *
  * Annotations:
@@ -30,15 +46,27 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/events")
-@CrossOrigin(origins = "http://localhost:4200")
+@CrossOrigin(origins = "http://localhost:4200", exposedHeaders = {
+        EventController.NEXT_CURSOR_HEADER, EventController.TOTAL_COUNT_HEADER, IdempotencyStore.REPLAYED_HEADER,
+        HttpHeaders.ETAG})
 public class EventController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private static final Logger log = LoggerFactory.getLogger(EventController.class);
 
     private final EventService eventService;
 
-    public EventController(EventService eventService) {
+    private final IdempotencyStore idempotencyStore;
+
+    private final SeatAvailabilityStream availabilityStream;
+
+    public EventController(EventService eventService, IdempotencyStore idempotencyStore,
+                           SeatAvailabilityStream availabilityStream) {
         this.eventService = eventService;
+        this.idempotencyStore = idempotencyStore;
+        this.availabilityStream = availabilityStream;
     }
 
     /**
@@ -58,62 +86,160 @@ public class EventController {
     }
 
     /**
-     * Récupère tous les événements
-     * GET /events
+     * Liste paginée des événements
+     * GET /events?size=20&sort=id|startDate
+     * GET /events?cursor=...        (page suivante, pagination par clé)
+     * GET /events?page=3&size=20    (pagination classique)
      *
-     * @return Liste de tous les événements
+     * La taille de page est bornée (event.pagination.max-size).
+     * Le jeton de la page suivante est renvoyé dans l'en-tête X-Next-Cursor,
+     * absent sur la dernière page.
+     *
+     * Requête conditionnelle : l'ETag est d'abord calculé sur les seules
+     * versions des événements de la page (EventVersion) ; la page n'est
+     * chargée et construite que si elle a changé.
+     *
+     * @return Une page d'événements, ou 304 si la page n'a pas changé
      */
     @GetMapping
-    public ResponseEntity<List<EventDTO>> getAllEvents() {
-        log.info("GET /events - Récupération de tous les événements");
+    public ResponseEntity<List<EventDTO>> getEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestHeader HttpHeaders headers) {
+        log.debug("GET /events - cursor={}, page={}, size={}, sort={}", cursor, page, size, sort);
 
-        List<EventDTO> events = eventService.getAllEvents();
-        return ResponseEntity.ok(events);
+        if (!headers.getIfNoneMatch().isEmpty()) {
+            CursorPage<EventVersion> versions = eventService.getEventVersions(cursor, page, size, sort);
+            String etag = EventETags.ofVersions(versions.getItems(), versions.getNextCursor());
+            if (EventETags.matches(headers.getIfNoneMatch(), etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        CursorPage<EventDTO> events = eventService.getEvents(cursor, page, size, sort);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (events.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, events.getNextCursor());
+        }
+        return conditional(headers, EventETags.of(events.getItems(), events.getNextCursor()), response, events.getItems());
+    }
+
+    /**
+     * Exporte tout le catalogue en flux
+     * GET /events/export?format=ndjson (ou csv)
+     *
+     * Les lignes sont écrites au fur et à mesure de la lecture en base :
+     * la mémoire consommée ne dépend pas du nombre d'événements.
+     *
+     * @param format ndjson (défaut) ou csv
+     * @return Le flux d'export
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEvents(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        log.info("GET /events/export?format={}", format);
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> eventService.exportEvents(out, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"events." + exportFormat.getExtension() + "\"")
+                .body(body);
     }
 
     /**
      * Récupère un événement par son ID
      * GET /events/{id}
      *
+     * Interrogé en boucle pour suivre les places restantes : avec
+     * If-None-Match, 304 tant que l'événement n'a pas changé.
+     *
      * @param id ID de l'événement
-     * @return L'événement trouvé
+     * @return L'événement trouvé, ou 304 s'il n'a pas changé
      */
     @GetMapping("/{id}")
-    public ResponseEntity<EventDTO> getEventById(@PathVariable Long id) {
-        log.info("GET /events/{} - Récupération de l'événement", id);
+    public ResponseEntity<EventDTO> getEventById(@PathVariable Long id, @RequestHeader HttpHeaders headers) {
+        log.debug("GET /events/{} - Récupération de l'événement", id);
 
         EventDTO event = eventService.getEventById(id);
-        return ResponseEntity.ok(event);
+        return conditional(headers, EventETags.of(event), ResponseEntity.ok(), event);
+    }
+
+    /**
+     * Suit les places disponibles en direct (Server-Sent Events)
+     * GET /events/{id}/availability/stream
+     *
+     * Remplace l'interrogation en boucle de GET /events/{id} : la valeur
+     * courante est envoyée à l'ouverture, puis à chaque réservation ou
+     * libération (au plus event.availability.stream.max-updates-per-second
+     * fois par seconde). Messages "availability" :
+     * {"eventId":1,"availableSeats":42}
+     *
+     * @param id ID de l'événement
+     * @return Le flux SSE, 404 si l'événement n'existe pas
+     */
+    @GetMapping(path = "/{id}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(@PathVariable Long id) {
+        log.debug("GET /events/{}/availability/stream", id);
+
+        return availabilityStream.subscribe(id);
+    }
+
+    /**
+     * Récupère plusieurs événements en un appel
+     * GET /events/batch?ids=1,2,3
+     *
+     * Utilisé par Booking Service pour rafraîchir son cache local. Les IDs
+     * inconnus sont omis ; au plus event.reservation.batch-max-size IDs.
+     *
+     * @param ids IDs des événements
+     * @return Les événements trouvés, dans l'ordre des IDs
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<List<EventDTO>> getEventsByIds(@RequestParam List<Long> ids) {
+        log.debug("GET /events/batch - {} événements", ids.size());
+
+        List<EventDTO> events = eventService.getEventsByIds(ids);
+        return ResponseEntity.ok(events);
     }
 
     /**
      * Récupère les événements disponibles
      * GET /events/available
      *
-     * @return Liste des événements disponibles
+     * @return Liste des événements disponibles, ou 304 si elle n'a pas changé
      */
     @GetMapping("/available")
-    public ResponseEntity<List<EventDTO>> getAvailableEvents() {
-        log.info("GET /events/available - Événements disponibles");
+    public ResponseEntity<List<EventDTO>> getAvailableEvents(@RequestHeader HttpHeaders headers) {
+        log.debug("GET /events/available - Événements disponibles");
 
         List<EventDTO> events = eventService.getAvailableEvents();
-        return ResponseEntity.ok(events);
+        return conditional(headers, EventETags.of(events, null), ResponseEntity.ok(), events);
     }
 
     /**
-     * Recherche des événements par mot-clé
-     * GET /events/search?keyword=concert
+     * Recherche des événements par mot-clé, classés par pertinence
+     * GET /events/search?keyword=concert&page=0&size=20
+     *
+     * Accents et casse ignorés ; le dernier mot est complété comme un
+     * préfixe (saisie en cours). Le nombre total de résultats est renvoyé
+     * dans l'en-tête X-Total-Count.
      *
      * @param keyword Mot-clé de recherche
-     * @return Liste des événements correspondants
+     * @return Une page des événements correspondants
      */
     @GetMapping("/search")
     public ResponseEntity<List<EventDTO>> searchEvents(
-            @RequestParam String keyword) {
-        log.info("GET /events/search?keyword={}", keyword);
+            @RequestParam String keyword,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        log.debug("GET /events/search?keyword={}&page={}&size={}", keyword, page, size);
 
-        List<EventDTO> events = eventService.searchEvents(keyword);
-        return ResponseEntity.ok(events);
+        SearchPage<EventDTO> events = eventService.searchEvents(keyword, page, size);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(events.getTotal()))
+                .body(events.getItems());
     }
 
     /**
@@ -121,15 +247,16 @@ public class EventController {
      * GET /events/category/SPORT
      *
      * @param category Catégorie d'événement
-     * @return Liste des événements de cette catégorie
+     * @return Liste des événements de cette catégorie, ou 304 si elle n'a pas changé
      */
     @GetMapping("/category/{category}")
     public ResponseEntity<List<EventDTO>> getEventsByCategory(
-            @PathVariable EventCategory category) {
-        log.info("GET /events/category/{}", category);
+            @PathVariable EventCategory category,
+            @RequestHeader HttpHeaders headers) {
+        log.debug("GET /events/category/{}", category);
 
         List<EventDTO> events = eventService.getEventsByCategory(category);
-        return ResponseEntity.ok(events);
+        return conditional(headers, EventETags.of(events, null), ResponseEntity.ok(), events);
     }
 
     /**
@@ -186,18 +313,63 @@ public class EventController {
      *
      * Cette méthode est appelée par le Booking Service
      *
+     * Avec un en-tête Idempotency-Key, une nouvelle tentative renvoie le
+     * résultat de la première sans réserver une seconde fois.
+     *
      * @param id ID de l'événement
      * @param numberOfSeats Nombre de places à réserver
+     * @param idempotencyKey Clé d'idempotence (optionnelle)
      * @return true si la réservation est réussie
      */
     @PostMapping("/{id}/reserve")
     public ResponseEntity<Boolean> reserveSeats(
             @PathVariable Long id,
-            @RequestParam int numberOfSeats) {
+            @RequestParam int numberOfSeats,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
         log.info("POST /events/{}/reserve - {} places", id, numberOfSeats);
 
-        boolean reserved = eventService.reserveSeats(id, numberOfSeats);
-        return ResponseEntity.ok(reserved);
+        return idempotencyStore.execute("reserve", idempotencyKey, id + ":" + numberOfSeats,
+                () -> ResponseEntity.ok(eventService.reserveSeats(id, numberOfSeats)));
+    }
+
+    /**
+     * Réserve des places pour plusieurs événements en une seule transaction
+     * POST /events/reserve:batch
+     *
+     * Chaque élément est traité indépendamment : un élément refusé
+     * n'annule pas les autres. Un élément portant un operationId déjà
+     * traité renvoie le résultat enregistré sans être réappliqué.
+     *
+     * @param requests Liste de triplets (eventId, seats, operationId optionnel)
+     * @return Un résultat par élément, dans l'ordre de la demande
+     */
+    @PostMapping("/reserve:batch")
+    public ResponseEntity<List<SeatResult>> reserveSeatsBatch(
+            @RequestBody List<SeatRequest> requests) {
+        log.info("POST /events/reserve:batch - {} demandes", requests.size());
+
+        List<SeatResult> results = eventService.reserveSeatsBatch(requests);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Libère des places pour plusieurs événements en une seule transaction
+     * POST /events/release:batch
+     *
+     * Utilisé par le relais d'outbox du Booking Service (annulations et
+     * compensations). Mêmes règles que reserve:batch : éléments
+     * indépendants, idempotents via operationId.
+     *
+     * @param requests Liste de triplets (eventId, seats, operationId optionnel)
+     * @return Un résultat par élément, dans l'ordre de la demande
+     */
+    @PostMapping("/release:batch")
+    public ResponseEntity<List<SeatResult>> releaseSeatsBatch(
+            @RequestBody List<SeatRequest> requests) {
+        log.info("POST /events/release:batch - {} demandes", requests.size());
+
+        List<SeatResult> results = eventService.releaseSeatsBatch(requests);
+        return ResponseEntity.ok(results);
     }
 
     /**
@@ -241,4 +413,16 @@ public class EventController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Event Service is running");
     }
-}
\ No newline at end of file
+
+    /**
+     * Réponse avec son ETag, ou 304 sans corps si If-None-Match désigne
+     * déjà cette version
+     */
+    private static <T> ResponseEntity<T> conditional(HttpHeaders request, String etag,
+                                                     ResponseEntity.BodyBuilder response, T body) {
+        if (EventETags.matches(request.getIfNoneMatch(), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return response.eTag(etag).body(body);
+    }
+}
@@ -0,0 +1,117 @@
+package com.event.platform.eventservice.controller;
+
+import com.event.platform.eventservice.dto.EventDTO;
+import com.event.platform.eventservice.model.EventVersion;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ETags des lectures d'événements
+ *
+ * La version d'un événement est sa date de dernière modification
+ * (updatedAt, mise à jour aussi à chaque réservation ou libération de
+ * places) complétée par ses places restantes. Celle d'une liste combine,
+ * dans l'ordre, les versions de ses événements : elle se calcule sur les
+ * EventDTO déjà en cache, sans sérialiser la réponse, ou pour une page du
+ * catalogue sur la seule projection EventVersion (même valeur), sans
+ * construire la page.
+ *
+ * ETags faibles (W/) : ils désignent une version de l'événement, pas les
+ * octets exacts de la réponse (compression, formatage).
+ */
+final class EventETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private EventETags() {
+    }
+
+    static String of(EventDTO event) {
+        return "W/\"" + event.getId() + '-' + Long.toString(micros(event.getUpdatedAt()), 36)
+                + '-' + seats(event) + '"';
+    }
+
+    /**
+     * Version d'une liste ; extra distingue des listes de mêmes événements
+     * mais de réponses différentes (jeton de page suivante)
+     */
+    static String of(List<EventDTO> events, String extra) {
+        long hash = FNV_OFFSET;
+        for (EventDTO event : events) {
+            hash = mix(hash, event.getId(), micros(event.getUpdatedAt()), event.getAvailableSeats());
+        }
+        return listTag(events.size(), hash, extra);
+    }
+
+    /**
+     * Même version que of(List, String) sur les EventDTO de ces événements
+     */
+    static String ofVersions(List<EventVersion> events, String extra) {
+        long hash = FNV_OFFSET;
+        for (EventVersion event : events) {
+            hash = mix(hash, event.getId(), micros(event.getUpdatedAt()), event.getAvailableSeats());
+        }
+        return listTag(events.size(), hash, extra);
+    }
+
+    private static String listTag(int size, long hash, String extra) {
+        if (extra != null) {
+            hash = mix(hash, extra.hashCode());
+        }
+        return "W/\"" + size + '-' + Long.toUnsignedString(hash, 36) + '"';
+    }
+
+    /**
+     * If-None-Match contient-il etag ? Comparaison faible, comme le veut
+     * If-None-Match : W/"x" et "x" désignent la même version
+     */
+    static boolean matches(List<String> ifNoneMatch, String etag) {
+        String opaque = opaque(etag);
+        for (String candidate : ifNoneMatch) {
+            if ("*".equals(candidate) || opaque(candidate).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String etag) {
+        String tag = etag.trim();
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static long micros(OffsetDateTime time) {
+        if (time == null) return 0;
+        return TimeUnit.SECONDS.toMicros(time.toEpochSecond()) + time.getNano() / 1000;
+    }
+
+    /**
+     * EventDTO porte updatedAt en UTC (toDTO) : même instant
+     */
+    private static long micros(LocalDateTime time) {
+        return time == null ? 0 : micros(time.atOffset(ZoneOffset.UTC));
+    }
+
+    private static int seats(EventDTO event) {
+        return event.getAvailableSeats() == null ? -1 : event.getAvailableSeats();
+    }
+
+    private static long mix(long hash, Long id, long updatedMicros, Integer seats) {
+        hash = mix(hash, id == null ? 0 : id);
+        hash = mix(hash, updatedMicros);
+        return mix(hash, seats == null ? -1 : seats);
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
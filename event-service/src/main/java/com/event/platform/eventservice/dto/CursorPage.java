@@ -0,0 +1,20 @@
+package com.event.platform.eventservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page de résultats bornée
+ * nextCursor est un jeton opaque à renvoyer pour obtenir la page suivante,
+ * null s'il n'y a plus de résultats
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+}
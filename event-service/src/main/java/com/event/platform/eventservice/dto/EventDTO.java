@@ -11,6 +11,7 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
 
 @Data
@@ -47,4 +48,12 @@ public class EventDTO implements Serializable {
     // accept raw category string (e.g. "MUSIC") and map server-side
     @NotBlank(message = "category is required")
     private String category;
+
+    // renseignés par le serveur, ignorés en entrée
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String status;
+
+    // date de dernière modification (places comprises) : sert de version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private OffsetDateTime updatedAt;
 }
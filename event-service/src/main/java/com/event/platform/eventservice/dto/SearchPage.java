@@ -0,0 +1,19 @@
+package com.event.platform.eventservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page de résultats de recherche
+ * total est le nombre de correspondances, toutes pages confondues
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchPage<T> {
+    private List<T> items;
+    private long total;
+}
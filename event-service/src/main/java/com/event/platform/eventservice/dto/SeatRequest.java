@@ -0,0 +1,24 @@
+package com.event.platform.eventservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Élément d'une demande groupée de réservation ou de libération de places
+ *
+ * operationId (optionnel) rend l'élément idempotent : une opération déjà
+ * appliquée renvoie son résultat enregistré (voir SeatOperationLog).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatRequest {
+    private Long eventId;
+    private Integer seats;
+    private String operationId;
+
+    public SeatRequest(Long eventId, Integer seats) {
+        this(eventId, seats, null);
+    }
+}
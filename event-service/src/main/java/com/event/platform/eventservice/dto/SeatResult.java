@@ -0,0 +1,17 @@
+package com.event.platform.eventservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Résultat d'un élément d'une demande groupée, dans l'ordre de la demande
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatResult {
+    private Long eventId;
+    private Integer seats;
+    private boolean success;
+}
@@ -0,0 +1,135 @@
+package com.event.platform.eventservice.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Clés d'idempotence (en-tête Idempotency-Key) des endpoints POST
+ *
+ * La première requête portant une clé est exécutée et sa réponse
+ * conservée ; une nouvelle tentative avec la même clé reçoit la réponse
+ * conservée (en-tête Idempotent-Replayed: true) sans réexécution. Une
+ * tentative arrivant pendant l'exécution de la première attend sa
+ * réponse au lieu de lancer une seconde exécution.
+ *
+ * - même clé, requête différente : 422, la clé a été réutilisée par erreur
+ * - les réponses 5xx et les exceptions ne sont pas conservées : une
+ *   nouvelle tentative est réexécutée
+ * - les clés sont en mémoire, en nombre borné et expirées après un délai
+ *   (event.idempotency.*), et propres à chaque endpoint
+ *
+ * Statistiques publiées dans cache.* avec cache=idempotency.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Entry> entries;
+    private final long waitTimeoutMillis;
+
+    public IdempotencyStore(MeterRegistry meterRegistry,
+                            @Value("${event.idempotency.max-keys:50000}") long maxKeys,
+                            @Value("${event.idempotency.ttl-seconds:3600}") long ttlSeconds,
+                            @Value("${event.idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "idempotency");
+    }
+
+    /**
+     * Exécute action une seule fois par couple (scope, clé)
+     *
+     * @param scope       Endpoint auquel appartient la clé
+     * @param key         En-tête Idempotency-Key, ou null pour exécuter sans déduplication
+     * @param fingerprint Identité de la requête, comparée par equals() lors d'un rejeu
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object fingerprint,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) return action.get();
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) return ResponseEntity.badRequest().build();
+
+        String id = scope + ' ' + key;
+        Entry entry = new Entry(fingerprint);
+        Entry existing = entries.asMap().putIfAbsent(id, entry);
+        if (existing == null) {
+            return run(id, entry, action);
+        }
+        if (!existing.fingerprint.equals(fingerprint)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+        }
+
+        ResponseEntity<?> stored;
+        try {
+            stored = existing.response.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Toujours en cours : le client réessaiera plus tard avec la même clé
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (ExecutionException e) {
+            // La première tentative a échoué sans être conservée : celle-ci s'exécute
+            return execute(scope, key, fingerprint, action);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return replay(stored);
+    }
+
+    private <T> ResponseEntity<T> run(String id, Entry entry, Supplier<ResponseEntity<T>> action) {
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            forget(id, entry, e);
+            throw e;
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            forget(id, entry, new IllegalStateException("Not stored: " + response.getStatusCode()));
+        } else {
+            entry.response.complete(response);
+        }
+        return response;
+    }
+
+    private void forget(String id, Entry entry, Throwable cause) {
+        entries.asMap().remove(id, entry);
+        entry.response.completeExceptionally(cause);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ResponseEntity<T> replay(ResponseEntity<?> stored) {
+        return (ResponseEntity<T>) ResponseEntity.status(stored.getStatusCode())
+                .headers(stored.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(stored.getBody());
+    }
+
+    private static final class Entry {
+        private final Object fingerprint;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        private Entry(Object fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
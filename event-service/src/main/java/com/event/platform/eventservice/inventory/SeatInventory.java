@@ -0,0 +1,196 @@
+package com.event.platform.eventservice.inventory;
+
+import com.event.platform.eventservice.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moteur d'inventaire des places
+ *
+ * Chaque événement possède un compteur en mémoire (un AtomicInteger par
+ * événement, les événements ne partagent aucun verrou). Une réservation:
+ * 1. décrémente le compteur par CAS : si les places manquent, la demande
+ *    est refusée sans toucher la base de données
+ * 2. persiste avec un seul UPDATE conditionnel
+ *    (availableSeats = availableSeats - n WHERE availableSeats >= n)
+ *
+ * La base reste la source de vérité : si l'UPDATE ne modifie aucune ligne
+ * (autre instance, modification manuelle), le compteur est invalidé et
+ * rechargé au prochain appel. Aucune survente n'est donc possible, et
+ * aucun verrou de ligne n'est conservé au-delà de l'UPDATE lui-même.
+ *
+ * Chaque modification persistée publie un SeatsChangedEvent.
+ */
+@Component
+public class SeatInventory {
+
+    private final EventRepository eventRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentHashMap<Long, SeatCounter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Délai après lequel un compteur épuisé est relu en base avant de
+     * refuser une réservation (places libérées par une autre instance)
+     */
+    private final long resyncIntervalNanos;
+
+    public SeatInventory(EventRepository eventRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         @Value("${event.inventory.resync-interval-ms:1000}") long resyncIntervalMs) {
+        this.eventRepository = eventRepository;
+        this.eventPublisher = eventPublisher;
+        this.resyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(resyncIntervalMs);
+    }
+
+    /**
+     * Réserve des places pour un événement
+     *
+     * @return true si les places ont été réservées en base
+     */
+    public boolean reserve(Long eventId, int seats) {
+        if (seats <= 0) return false;
+        SeatCounter counter = counterFor(eventId);
+        if (counter == null) return false;
+
+        if (!counter.tryAcquire(seats)) {
+            if (!counter.isStale(resyncIntervalNanos)) return false;
+            Integer available = eventRepository.findAvailableSeatsById(eventId).orElse(null);
+            if (available == null) {
+                counters.remove(eventId, counter);
+                return false;
+            }
+            counter.reset(available);
+            if (!counter.tryAcquire(seats)) return false;
+        }
+
+        int updated;
+        try {
+            updated = eventRepository.decrementAvailableSeats(eventId, seats, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            counters.remove(eventId, counter);
+            throw e;
+        }
+        if (updated == 1) {
+            evictOnRollback(eventId);
+            eventPublisher.publishEvent(new SeatsChangedEvent(eventId, -seats, counter.get()));
+            return true;
+        }
+        // La base a refusé : le compteur n'est plus fiable
+        counters.remove(eventId, counter);
+        return false;
+    }
+
+    /**
+     * Libère des places (sans jamais dépasser la capacité)
+     *
+     * @return true si les places ont été libérées en base
+     */
+    public boolean release(Long eventId, int seats) {
+        if (seats <= 0) return false;
+        if (eventRepository.incrementAvailableSeats(eventId, seats, LocalDateTime.now()) != 1) {
+            counters.remove(eventId);
+            return false;
+        }
+        SeatCounter counter = counters.get(eventId);
+        Integer remaining = counter != null ? counter.release(seats) : null;
+        evictOnRollback(eventId);
+        eventPublisher.publishEvent(new SeatsChangedEvent(eventId, seats, remaining));
+        return true;
+    }
+
+    /**
+     * Oublie le compteur d'un événement (modification, suppression), après
+     * commit : rechargé plus tôt, il relirait les places d'avant la
+     * modification. Il sera rechargé depuis la base au prochain accès
+     */
+    public void evict(Long eventId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counters.remove(eventId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counters.remove(eventId);
+            }
+        });
+    }
+
+    /**
+     * Valeur courante du compteur en mémoire, ou null s'il n'est pas chargé
+     */
+    public Integer remaining(Long eventId) {
+        SeatCounter counter = counters.get(eventId);
+        return counter == null ? null : counter.get();
+    }
+
+    private SeatCounter counterFor(Long eventId) {
+        SeatCounter counter = counters.get(eventId);
+        if (counter != null) return counter;
+        // computeIfAbsent : un seul chargement par événement même sous forte concurrence
+        return counters.computeIfAbsent(eventId, id -> eventRepository.findAvailableSeatsById(id)
+                .map(SeatCounter::new)
+                .orElse(null));
+    }
+
+    private void evictOnRollback(Long eventId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) counters.remove(eventId);
+            }
+        });
+    }
+
+    /**
+     * Compteur de places d'un événement
+     */
+    static final class SeatCounter {
+
+        private final AtomicInteger available;
+
+        private volatile long loadedAt;
+
+        SeatCounter(int available) {
+            this.available = new AtomicInteger(available);
+            this.loadedAt = System.nanoTime();
+        }
+
+        boolean tryAcquire(int seats) {
+            int current;
+            do {
+                current = available.get();
+                if (current < seats) return false;
+            } while (!available.compareAndSet(current, current - seats));
+            return true;
+        }
+
+        int release(int seats) {
+            return available.addAndGet(seats);
+        }
+
+        void reset(int value) {
+            available.set(value);
+            loadedAt = System.nanoTime();
+        }
+
+        boolean isStale(long intervalNanos) {
+            return System.nanoTime() - loadedAt >= intervalNanos;
+        }
+
+        int get() {
+            return available.get();
+        }
+    }
+}
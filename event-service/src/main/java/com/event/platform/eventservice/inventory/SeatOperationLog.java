@@ -0,0 +1,86 @@
+package com.event.platform.eventservice.inventory;
+
+import com.event.platform.eventservice.model.SeatOperation;
+import com.event.platform.eventservice.repository.SeatOperationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Journal des opérations de places idempotentes (table seat_operations)
+ *
+ * Les demandes groupées portant un operationId sont d'abord recherchées
+ * dans le journal en une seule requête ; seules les opérations inconnues
+ * sont appliquées à l'inventaire, puis enregistrées dans la même
+ * transaction. La clé primaire garantit qu'une opération rejouée en
+ * parallèle échoue au commit au lieu d'être appliquée deux fois.
+ */
+@Component
+public class SeatOperationLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatOperationLog.class);
+
+    private final SeatOperationRepository repository;
+
+    private final long retentionHours;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public SeatOperationLog(SeatOperationRepository repository,
+                            @Value("${event.seat-operations.retention-hours:72}") long retentionHours) {
+        this.repository = repository;
+        this.retentionHours = retentionHours;
+    }
+
+    /**
+     * Opérations déjà enregistrées parmi les identifiants donnés
+     */
+    public Map<String, SeatOperation> findAll(Collection<String> operationIds) {
+        Map<String, SeatOperation> found = new HashMap<>();
+        if (operationIds.isEmpty()) return found;
+        for (SeatOperation operation : repository.findAllById(operationIds)) {
+            found.put(operation.getOperationId(), operation);
+        }
+        return found;
+    }
+
+    /**
+     * Enregistre le résultat d'une opération (INSERT direct, l'identifiant
+     * étant fourni par l'appelant, sans le SELECT d'un merge)
+     */
+    public SeatOperation record(String operationId, SeatOperation.Type type, Long eventId, int seats, boolean success) {
+        SeatOperation operation = SeatOperation.builder()
+                .operationId(operationId)
+                .type(type)
+                .eventId(eventId)
+                .seats(seats)
+                .success(success)
+                .build();
+        entityManager.persist(operation);
+        return operation;
+    }
+
+    /**
+     * Purge périodique : au-delà de la rétention, un relais ne rejoue plus
+     * une opération, son résultat n'a plus besoin d'être conservé
+     */
+    @Scheduled(fixedDelayString = "${event.seat-operations.purge-interval-ms:3600000}")
+    @Transactional
+    public void purge() {
+        int deleted = repository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("Journal des opérations de places : {} opérations purgées", deleted);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.event.platform.eventservice.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Événement applicatif publié par SeatInventory à chaque réservation ou
+ * libération de places persistée en base
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SeatsChangedEvent {
+
+    /**
+     * ID de l'événement concerné
+     */
+    private final Long eventId;
+
+    /**
+     * Variation des places disponibles (négative pour une réservation)
+     */
+    private final int delta;
+
+    /**
+     * Places restantes d'après le compteur en mémoire,
+     * ou null si le compteur n'est pas chargé
+     */
+    private final Integer remaining;
+}
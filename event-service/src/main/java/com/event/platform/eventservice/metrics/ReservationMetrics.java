@@ -0,0 +1,125 @@
+package com.event.platform.eventservice.metrics;
+
+import com.event.platform.eventservice.inventory.SeatInventory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métriques des réservations de places
+ *
+ * - event.seats.reserve / event.seats.release : timers avec histogramme
+ *   (percentiles côté Prometheus), tag result=success|failure
+ * - event.seats.reserved : nombre de places réservées
+ * - event.seats.remaining{eventId} : places restantes des N événements
+ *   les plus demandés sur la dernière période (N borné : pas d'explosion
+ *   du nombre de séries)
+ *
+ * Tous les compteurs sont créés au démarrage : aucune recherche de meter
+ * ni allocation de tags sur le chemin d'une réservation.
+ */
+@Component
+public class ReservationMetrics {
+
+    private final Timer reserveSuccess;
+    private final Timer reserveFailure;
+    private final Timer releaseSuccess;
+    private final Timer releaseFailure;
+    private final Counter seatsReserved;
+    private final MultiGauge hotEventsRemaining;
+
+    private final SeatInventory seatInventory;
+    private final int hotEvents;
+    private final Map<Long, LongAdder> demand = new ConcurrentHashMap<>();
+
+    public ReservationMetrics(MeterRegistry registry,
+                              SeatInventory seatInventory,
+                              @Value("${event.metrics.hot-events:10}") int hotEvents) {
+        this.seatInventory = seatInventory;
+        this.hotEvents = hotEvents;
+        this.reserveSuccess = timer(registry, "event.seats.reserve", "success");
+        this.reserveFailure = timer(registry, "event.seats.reserve", "failure");
+        this.releaseSuccess = timer(registry, "event.seats.release", "success");
+        this.releaseFailure = timer(registry, "event.seats.release", "failure");
+        this.seatsReserved = Counter.builder("event.seats.reserved")
+                .description("Places réservées")
+                .register(registry);
+        this.hotEventsRemaining = MultiGauge.builder("event.seats.remaining")
+                .description("Places restantes des événements les plus demandés")
+                .register(registry);
+    }
+
+    /**
+     * @param startNanos System.nanoTime() avant la réservation
+     */
+    public void recordReserve(Long eventId, int seats, boolean reserved, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        if (reserved) {
+            reserveSuccess.record(elapsed, TimeUnit.NANOSECONDS);
+            seatsReserved.increment(seats);
+        } else {
+            reserveFailure.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+        if (eventId == null) return;
+        LongAdder counter = demand.get(eventId);
+        if (counter == null) counter = demand.computeIfAbsent(eventId, id -> new LongAdder());
+        counter.increment();
+    }
+
+    public void recordRelease(boolean released, long startNanos) {
+        (released ? releaseSuccess : releaseFailure).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Recalcule le top N des événements les plus demandés depuis le
+     * dernier passage et republie leur jauge de places restantes
+     */
+    @Scheduled(fixedDelayString = "${event.metrics.hot-events-refresh-ms:10000}")
+    public void refreshHotEvents() {
+        Comparator<long[]> byDemand = Comparator.comparingLong(entry -> entry[1]);
+        PriorityQueue<long[]> top = new PriorityQueue<>(hotEvents + 1, byDemand);
+        demand.entrySet().removeIf(entry -> {
+            long requests = entry.getValue().sumThenReset();
+            // Événement inactif sur la période : oublié, la map reste bornée
+            if (requests == 0) return true;
+            top.offer(new long[] {entry.getKey(), requests});
+            if (top.size() > hotEvents) top.poll();
+            return false;
+        });
+
+        List<MultiGauge.Row<?>> rows = new ArrayList<>(top.size());
+        for (long[] entry : top) {
+            Long eventId = entry[0];
+            rows.add(MultiGauge.Row.of(Tags.of("eventId", String.valueOf(eventId)), seatInventory,
+                    inventory -> {
+                        Integer remaining = inventory.remaining(eventId);
+                        return remaining == null ? Double.NaN : remaining;
+                    }));
+        }
+        hotEventsRemaining.register(rows, true);
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String result) {
+        return Timer.builder(name)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(registry);
+    }
+}
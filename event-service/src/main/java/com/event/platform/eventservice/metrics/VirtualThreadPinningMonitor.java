@@ -0,0 +1,124 @@
+package com.event.platform.eventservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Détection de l'épinglage des threads virtuels (spring.threads.virtual.enabled=true)
+ *
+ * Un thread virtuel qui bloque dans un bloc synchronized ou un appel natif
+ * reste épinglé sur son thread porteur ; il y a autant de porteurs que de
+ * cœurs, donc quelques épinglages longs (E/S JDBC sous un moniteur par
+ * exemple) suffisent à bloquer tout le service. L'événement JFR
+ * jdk.VirtualThreadPinned (Java 21) est écouté en continu, sans fichier
+ * d'enregistrement :
+ *
+ * - jvm.threads.virtual.pinned : timer, nombre et durée des épinglages
+ *   plus longs que event.virtual-threads.pinning-threshold-ms
+ * - un avertissement avec la pile, une seule fois par site d'épinglage
+ *   (première frame de l'application), au plus MAX_REPORTED_SITES sites
+ *
+ * Sous Java 17 la propriété est sans effet (Spring Boot reste sur les
+ * threads de plateforme) : le moniteur le signale et ne démarre pas.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.event.platform.";
+    private static final int MAX_REPORTED_SITES = 100;
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Timer pinned;
+    private final Environment environment;
+    private final Duration threshold;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry,
+                                       Environment environment,
+                                       @Value("${event.virtual-threads.pinning-threshold-ms:20}") long thresholdMillis) {
+        this.environment = environment;
+        this.threshold = Duration.ofMillis(thresholdMillis);
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Threads virtuels épinglés sur leur porteur au-delà du seuil")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!Threading.VIRTUAL.isActive(environment)) {
+            log.warn("spring.threads.virtual.enabled=true ignoré : Java 21 requis (Java {})", Runtime.version().feature());
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, event -> recordPinned(event.getDuration(), frames(event.getStackTrace())));
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) stream.close();
+    }
+
+    boolean isRunning() {
+        return stream != null;
+    }
+
+    /**
+     * @param frames Pile du thread épinglé, frame la plus récente en premier
+     */
+    void recordPinned(Duration duration, List<String> frames) {
+        pinned.record(duration);
+        String site = site(frames);
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(site)) {
+            List<String> logged = frames.subList(0, Math.min(frames.size(), LOGGED_FRAMES));
+            log.warn("Thread virtuel épinglé {} ms dans {}\n\tat {}",
+                    duration.toMillis(), site, String.join("\n\tat ", logged));
+        }
+    }
+
+    /**
+     * Première frame de l'application, à défaut la plus récente
+     */
+    static String site(List<String> frames) {
+        for (String frame : frames) {
+            if (frame.startsWith(APPLICATION_PACKAGE)) return frame;
+        }
+        return frames.isEmpty() ? "(pile inconnue)" : frames.get(0);
+    }
+
+    private static List<String> frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) return Collections.emptyList();
+        List<String> frames = new ArrayList<>(stackTrace.getFrames().size());
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            frames.add(frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                    + ":" + frame.getLineNumber());
+        }
+        return frames;
+    }
+}
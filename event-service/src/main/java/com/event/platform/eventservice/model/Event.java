@@ -3,6 +3,7 @@ package com.event.platform.eventservice.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -18,9 +19,19 @@ import java.time.LocalDateTime;
  * - @Data: Génère getters, setters, toString, equals, hashCode (Lombok)
  * - @Builder: Permet de construire des objets avec le pattern Builder
  * - @NoArgsConstructor / @AllArgsConstructor: Génère les constructeurs
+ * - @Table(indexes): Index utilisés par la pagination, les listes du catalogue
+ *   et le rattrapage de l'index de recherche (updatedAt)
+ * - @DynamicUpdate: N'écrit que les colonnes modifiées, pour ne pas écraser
+ *   availableSeats (géré par SeatInventory) lors d'une mise à jour
  */
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_start_date_id", columnList = "startDate, id"),
+        @Index(name = "idx_events_status_start_date", columnList = "status, startDate"),
+        @Index(name = "idx_events_category", columnList = "category"),
+        @Index(name = "idx_events_updated_at", columnList = "updatedAt")
+})
+@DynamicUpdate
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,23 @@
+package com.event.platform.eventservice.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version d'un événement : de quoi paginer (id, startDate) et calculer
+ * l'ETag d'une liste (updatedAt, availableSeats)
+ *
+ * Projection des requêtes de pagination : lue sans charger l'entité,
+ * pour répondre 304 à un GET /events conditionnel sans construire la page.
+ * Event ne doit pas l'implémenter : Spring Data chargerait alors
+ * l'entité entière au lieu de la projection.
+ */
+public interface EventVersion {
+
+    Long getId();
+
+    LocalDateTime getStartDate();
+
+    LocalDateTime getUpdatedAt();
+
+    Integer getAvailableSeats();
+}
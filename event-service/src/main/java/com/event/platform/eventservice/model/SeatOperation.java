@@ -0,0 +1,67 @@
+package com.event.platform.eventservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entité SeatOperation - Journal des opérations de places idempotentes
+ *
+ * Chaque réservation ou libération envoyée avec un operationId est
+ * enregistrée dans la même transaction que la modification de
+ * l'inventaire. Une nouvelle livraison du même operationId (relais du
+ * Booking Service qui rejoue après un timeout) renvoie le résultat
+ * enregistré au lieu d'appliquer l'opération une seconde fois.
+ *
+ * Les lignes sont purgées après event.seat-operations.retention-hours.
+ */
+@Entity
+@Table(name = "seat_operations", indexes = {
+        @Index(name = "idx_seat_operations_created_at", columnList = "createdAt")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatOperation {
+
+    /**
+     * Identifiant fourni par l'appelant (ex : booking-42-reserve)
+     */
+    @Id
+    @Column(length = 100)
+    private String operationId;
+
+    /**
+     * Type d'opération : RESERVE ou RELEASE
+     */
+    @Column(nullable = false, length = 10)
+    @Enumerated(EnumType.STRING)
+    private Type type;
+
+    @Column(nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Integer seats;
+
+    /**
+     * Résultat renvoyé lors de la première exécution
+     */
+    @Column(nullable = false)
+    private boolean success;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum Type {
+        RESERVE,
+        RELEASE
+    }
+}
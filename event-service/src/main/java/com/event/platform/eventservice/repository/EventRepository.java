@@ -3,14 +3,24 @@ package com.event.platform.eventservice.repository;
 import com.event.platform.eventservice.model.Event;
 import com.event.platform.eventservice.model.EventCategory;
 import com.event.platform.eventservice.model.EventStatus;
+import com.event.platform.eventservice.model.EventVersion;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository pour l'entité Event
@@ -57,9 +67,88 @@ public interface EventRepository extends JpaRepository<Event, Long> {
             "ORDER BY e.startDate ASC")
     List<Event> findAvailableEvents(@Param("currentDate") LocalDateTime currentDate);
 
+    /**
+     * Pagination par clé (keyset) sur l'ID
+     * Coût O(taille de page) quelle que soit la profondeur (index primaire)
+     */
+    @Query("SELECT e FROM Event e WHERE e.id > :afterId ORDER BY e.id ASC")
+    List<Event> findPageAfterId(@Param("afterId") Long afterId, Pageable limit);
+
+    /**
+     * Première page triée par (startDate, id)
+     */
+    @Query("SELECT e FROM Event e ORDER BY e.startDate ASC, e.id ASC")
+    List<Event> findFirstPageByStartDate(Pageable limit);
+
+    /**
+     * Pagination par clé sur (startDate, id)
+     * S'appuie sur l'index idx_events_start_date_id
+     */
+    @Query("SELECT e FROM Event e WHERE e.startDate >= :startDate " +
+            "AND (e.startDate > :startDate OR e.id > :afterId) " +
+            "ORDER BY e.startDate ASC, e.id ASC")
+    List<Event> findPageAfterStartDate(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("afterId") Long afterId,
+            Pageable limit
+    );
+
+    /**
+     * Pagination classique (page/size) sans requête COUNT
+     */
+    Slice<Event> findAllBy(Pageable pageable);
+
+    /**
+     * Versions des pages ci-dessus (mêmes filtres, même ordre), sans
+     * charger les entités : ETag d'une page avant de la construire
+     */
+    @Query("SELECT e.id AS id, e.startDate AS startDate, e.updatedAt AS updatedAt, e.availableSeats AS availableSeats " +
+            "FROM Event e WHERE e.id > :afterId ORDER BY e.id ASC")
+    List<EventVersion> findVersionsAfterId(@Param("afterId") Long afterId, Pageable limit);
+
+    @Query("SELECT e.id AS id, e.startDate AS startDate, e.updatedAt AS updatedAt, e.availableSeats AS availableSeats " +
+            "FROM Event e ORDER BY e.startDate ASC, e.id ASC")
+    List<EventVersion> findFirstVersionsByStartDate(Pageable limit);
+
+    @Query("SELECT e.id AS id, e.startDate AS startDate, e.updatedAt AS updatedAt, e.availableSeats AS availableSeats " +
+            "FROM Event e WHERE e.startDate >= :startDate " +
+            "AND (e.startDate > :startDate OR e.id > :afterId) " +
+            "ORDER BY e.startDate ASC, e.id ASC")
+    List<EventVersion> findVersionsAfterStartDate(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("afterId") Long afterId,
+            Pageable limit
+    );
+
+    /**
+     * Projection fermée : seules les colonnes de EventVersion sont lues
+     */
+    Slice<EventVersion> findVersionsBy(Pageable pageable);
+
+    /**
+     * Parcours complet de la table en flux, pour l'export
+     * Les lignes sont lues par lots de 1000 (curseur serveur avec
+     * useCursorFetch=true côté MySQL) : la mémoire reste constante
+     * Doit être consommé dans une transaction, puis fermé
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Event e ORDER BY e.id ASC")
+    Stream<Event> streamAll();
+
+    /**
+     * Événements modifiés depuis une date
+     * Utilisé pour rattraper l'index de recherche
+     */
+    List<Event> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
     /**
      * Recherche d'événements par nom ou description
      * LIKE pour recherche partielle (insensible à la casse)
+     * Parcourt toute la table : seulement en repli, tant que
+     * l'index de recherche (EventSearchIndex) n'est pas prêt
      */
     @Query("SELECT e FROM Event e WHERE " +
             "LOWER(e.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
@@ -98,9 +187,49 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     );
 
     /**
-     * Lock optimiste pour éviter les problèmes de concurrence
-     * lors de la réservation de places
+     * Lock pessimiste (SELECT ... FOR UPDATE) sur la ligne de l'événement
+     * Réservé aux opérations d'administration : la réservation de places
+     * passe par decrementAvailableSeats et ne verrouille jamais la ligne
+     * au-delà d'une seule requête
      */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT e FROM Event e WHERE e.id = :eventId")
     Optional<Event> findByIdForUpdate(@Param("eventId") Long eventId);
+
+    /**
+     * Lit uniquement le nombre de places disponibles
+     * Utilisé pour (re)charger les compteurs de SeatInventory
+     */
+    @Query("SELECT e.availableSeats FROM Event e WHERE e.id = :eventId")
+    Optional<Integer> findAvailableSeatsById(@Param("eventId") Long eventId);
+
+    /**
+     * Décrément conditionnel et atomique des places disponibles
+     * UPDATE ... SET availableSeats = availableSeats - :seats WHERE availableSeats >= :seats
+     *
+     * @return 1 si les places ont été réservées, 0 sinon
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.availableSeats = e.availableSeats - :seats, e.updatedAt = :now " +
+            "WHERE e.id = :eventId AND e.availableSeats >= :seats")
+    int decrementAvailableSeats(
+            @Param("eventId") Long eventId,
+            @Param("seats") int seats,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Incrément conditionnel des places disponibles (libération)
+     * Ne dépasse jamais la capacité de l'événement
+     *
+     * @return 1 si les places ont été libérées, 0 sinon
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.availableSeats = e.availableSeats + :seats, e.updatedAt = :now " +
+            "WHERE e.id = :eventId AND e.availableSeats + :seats <= e.capacity")
+    int incrementAvailableSeats(
+            @Param("eventId") Long eventId,
+            @Param("seats") int seats,
+            @Param("now") LocalDateTime now
+    );
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.event.platform.eventservice.repository;
+
+import com.event.platform.eventservice.model.SeatOperation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository du journal des opérations de places idempotentes
+ */
+@Repository
+public interface SeatOperationRepository extends JpaRepository<SeatOperation, String> {
+
+    /**
+     * Purge les opérations plus anciennes que la date donnée
+     * Une seule requête DELETE, sans charger les entités
+     */
+    @Modifying
+    @Query("DELETE FROM SeatOperation o WHERE o.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,370 @@
+package com.event.platform.eventservice.search;
+
+import com.event.platform.eventservice.model.Event;
+import com.event.platform.eventservice.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Index de recherche plein texte des événements, en mémoire
+ *
+ * Index inversé terme -> (ID d'événement -> poids) sur le nom, la
+ * catégorie, le lieu et la description, remplaçant le LIKE '%mot%' qui
+ * parcourait toute la table à chaque frappe.
+ *
+ * - Classement : somme sur les termes de la requête de poids du champ
+ *   x idf (les termes rares pèsent plus)
+ * - Saisie en cours : le dernier mot de la requête est traité comme un
+ *   préfixe ("conc" trouve "concert"), grâce aux termes triés
+ * - Accents et casse ignorés, mots vides français retirés (TextNormalizer)
+ *
+ * Synchronisation :
+ * - construction complète au démarrage, en arrière-plan
+ * - mise à jour après commit à chaque écriture de EventService
+ * - rattrapage périodique des modifications faites par les autres
+ *   instances (updatedAt)
+ *
+ * Un événement supprimé ailleurs peut rester dans l'index : les résultats
+ * sont relus en base (ou en cache), il disparaît alors simplement.
+ */
+@Component
+public class EventSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSearchIndex.class);
+
+    static final float NAME_WEIGHT = 3.0f;
+    static final float CATEGORY_WEIGHT = 2.0f;
+    static final float LOCATION_WEIGHT = 1.5f;
+    static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    /** Une complétion de préfixe compte un peu moins qu'un mot exact */
+    private static final float PREFIX_FACTOR = 0.8f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    /** Marge de relecture pour les transactions commitées en retard */
+    private static final long REFRESH_OVERLAP_SECONDS = 5;
+
+    private final ConcurrentSkipListMap<String, Map<Long, Float>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile boolean ready;
+    private volatile LocalDateTime watermark;
+
+    public EventSearchIndex(EventRepository eventRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${event.search.index-enabled:true}") boolean enabled) {
+        this.eventRepository = eventRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Construction initiale, sans retarder le démarrage
+     * Tant qu'elle n'est pas terminée, isReady() renvoie false
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) return;
+        Thread builder = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Search index build failed, falling back to database search", e);
+            }
+        }, "event-search-index-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * Reconstruit l'index à partir de la table, en flux
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        LocalDateTime buildStart = LocalDateTime.now();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Event> events = eventRepository.streamAll()) {
+                Iterator<Event> it = events.iterator();
+                while (it.hasNext()) {
+                    Event e = it.next();
+                    put(e);
+                    entityManager.detach(e);
+                }
+            }
+        });
+        watermark = buildStart;
+        ready = true;
+        log.info("Search index built: {} events, {} terms in {} ms",
+                documents.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Rattrapage des modifications commitées par d'autres instances
+     */
+    @Scheduled(fixedDelayString = "${event.search.refresh-interval-ms:5000}")
+    public void refresh() {
+        LocalDateTime since = watermark;
+        if (!ready || since == null) return;
+        LocalDateTime refreshStart = LocalDateTime.now();
+        List<Event> changed = eventRepository.findByUpdatedAtGreaterThanEqual(since.minusSeconds(REFRESH_OVERLAP_SECONDS));
+        for (Event e : changed) {
+            put(e);
+        }
+        watermark = refreshStart;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Indexe (ou réindexe) un événement, après le commit de la transaction
+     */
+    public void index(Event event) {
+        if (event == null || event.getId() == null) return;
+        afterCommit(() -> put(event));
+    }
+
+    /**
+     * Retire un événement de l'index, après le commit de la transaction
+     */
+    public void remove(Long id) {
+        afterCommit(() -> delete(id));
+    }
+
+    /**
+     * Recherche classée par pertinence
+     * Tous les mots de la requête doivent être présents (le dernier
+     * pouvant être un préfixe)
+     *
+     * @param offset Nombre de résultats à sauter
+     * @param limit  Nombre maximal de résultats
+     * @return Les IDs de la page, dans l'ordre de pertinence, et le total
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        List<Map<Long, Float>> clauses = new ArrayList<>();
+        List<String> words = TextNormalizer.words(query);
+        boolean typing = query != null && !query.isEmpty()
+                && Character.isLetterOrDigit(query.charAt(query.length() - 1));
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            boolean last = i == words.size() - 1;
+            Map<Long, Float> clause;
+            if (last && typing) {
+                clause = prefixClause(word);
+            } else if (TextNormalizer.isIndexable(word)) {
+                clause = exactClause(word);
+            } else {
+                continue;
+            }
+            if (clause.isEmpty()) return SearchHits.EMPTY;
+            clauses.add(clause);
+        }
+        if (clauses.isEmpty()) return SearchHits.EMPTY;
+
+        // Intersection en partant de la clause la plus sélective
+        clauses.sort(Comparator.comparingInt(Map::size));
+        Map<Long, Float> scores = new HashMap<>(clauses.get(0));
+        for (int i = 1; i < clauses.size() && !scores.isEmpty(); i++) {
+            Map<Long, Float> clause = clauses.get(i);
+            scores.entrySet().removeIf(entry -> {
+                Float score = clause.get(entry.getKey());
+                if (score == null) return true;
+                entry.setValue(entry.getValue() + score);
+                return false;
+            });
+        }
+        return new SearchHits(topIds(scores, offset, limit), scores.size());
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private Map<Long, Float> exactClause(String term) {
+        Map<Long, Float> docs = postings.get(term);
+        if (docs == null) return Collections.emptyMap();
+        float idf = idf(docs.size());
+        Map<Long, Float> clause = new HashMap<>(docs.size() * 2);
+        docs.forEach((id, weight) -> clause.put(id, weight * idf));
+        return clause;
+    }
+
+    private Map<Long, Float> prefixClause(String prefix) {
+        Map<Long, Float> clause = new HashMap<>();
+        int expansions = 0;
+        for (Map.Entry<String, Map<Long, Float>> term
+                : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+            if (expansions++ >= MAX_PREFIX_EXPANSIONS) break;
+            Map<Long, Float> docs = term.getValue();
+            float factor = idf(docs.size()) * (term.getKey().equals(prefix) ? 1.0f : PREFIX_FACTOR);
+            // Un document correspondant à plusieurs complétions garde la meilleure
+            docs.forEach((id, weight) -> clause.merge(id, weight * factor, Math::max));
+        }
+        return clause;
+    }
+
+    private float idf(int documentFrequency) {
+        return (float) Math.log(1.0 + (double) documents.size() / documentFrequency);
+    }
+
+    private static List<Long> topIds(Map<Long, Float> scores, int offset, int limit) {
+        int wanted = offset + limit;
+        if (limit <= 0 || offset >= scores.size()) return Collections.emptyList();
+        Comparator<Map.Entry<Long, Float>> byRelevance = Map.Entry.<Long, Float>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        // Tas borné : O(n log k) au lieu de trier tous les résultats
+        PriorityQueue<Map.Entry<Long, Float>> top = new PriorityQueue<>(wanted + 1, byRelevance.reversed());
+        for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > wanted) top.poll();
+        }
+        List<Map.Entry<Long, Float>> ranked = new ArrayList<>(top);
+        ranked.sort(byRelevance);
+        List<Long> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = offset; i < ranked.size(); i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+
+    private void put(Event event) {
+        Document document = new Document(termWeights(event), event.getUpdatedAt());
+        Long id = event.getId();
+        synchronized (writeLock) {
+            Document previous = documents.get(id);
+            // Une ligne lue avant une mise à jour plus récente est ignorée
+            if (previous != null && previous.version != null && document.version != null
+                    && document.version.isBefore(previous.version)) {
+                return;
+            }
+            documents.put(id, document);
+            if (previous != null) {
+                for (String term : previous.terms.keySet()) {
+                    if (!document.terms.containsKey(term)) removePosting(term, id);
+                }
+            }
+            document.terms.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(id, weight));
+        }
+    }
+
+    private void delete(Long id) {
+        synchronized (writeLock) {
+            Document previous = documents.remove(id);
+            if (previous == null) return;
+            for (String term : previous.terms.keySet()) {
+                removePosting(term, id);
+            }
+        }
+    }
+
+    private void removePosting(String term, Long id) {
+        postings.computeIfPresent(term, (t, docs) -> {
+            docs.remove(id);
+            return docs.isEmpty() ? null : docs;
+        });
+    }
+
+    /**
+     * Poids d'un terme dans un événement : poids du champ, amorti
+     * logarithmiquement avec le nombre d'occurrences
+     */
+    static Map<String, Float> termWeights(Event event) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, event.getName(), NAME_WEIGHT);
+        addField(weights, event.getCategory() != null ? event.getCategory().name() : null, CATEGORY_WEIGHT);
+        addField(weights, event.getLocation(), LOCATION_WEIGHT);
+        addField(weights, event.getDescription(), DESCRIPTION_WEIGHT);
+        return weights;
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float fieldWeight) {
+        if (text == null) return;
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : TextNormalizer.tokenize(text)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        frequencies.forEach((term, tf) ->
+                weights.merge(term, fieldWeight * (1.0f + (float) Math.log(tf)), Float::sum));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Document {
+        private final Map<String, Float> terms;
+        private final LocalDateTime version;
+
+        private Document(Map<String, Float> terms, LocalDateTime version) {
+            this.terms = terms;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Une page de résultats : IDs classés et nombre total de correspondances
+     */
+    public static final class SearchHits {
+        static final SearchHits EMPTY = new SearchHits(Collections.emptyList(), 0);
+
+        private final List<Long> ids;
+        private final int total;
+
+        SearchHits(List<Long> ids, int total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+}
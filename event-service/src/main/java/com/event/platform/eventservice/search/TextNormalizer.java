@@ -0,0 +1,77 @@
+package com.event.platform.eventservice.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalisation du texte pour l'index de recherche
+ *
+ * - décomposition Unicode puis suppression des diacritiques :
+ *   "Théâtre" et "theatre" donnent le même terme
+ * - minuscules, découpage sur tout ce qui n'est ni lettre ni chiffre
+ *   (les élisions "l'opéra" donnent "opera")
+ * - suppression des mots vides français et des termes d'une lettre
+ */
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "au", "aux", "avec", "ce", "ces", "dans", "de", "des", "du", "en", "et",
+            "est", "il", "ils", "la", "le", "les", "leur", "lui", "ma", "mais", "me",
+            "mes", "ne", "nos", "notre", "nous", "on", "ou", "par", "pas", "pour",
+            "qu", "que", "qui", "sa", "se", "ses", "son", "sur", "ta", "te", "tes",
+            "ton", "tu", "un", "une", "vos", "votre", "vous"
+    );
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Forme normalisée d'un texte (sans découpage)
+     */
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) return "";
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Termes indexables d'un texte, dans leur ordre d'apparition
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = words(text);
+        tokens.removeIf(token -> !isIndexable(token));
+        return tokens;
+    }
+
+    /**
+     * Mots normalisés d'un texte, sans filtrage
+     */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Un mot est indexé s'il a au moins deux caractères et n'est pas un mot vide
+     */
+    public static boolean isIndexable(String word) {
+        return word.length() >= 2 && !STOP_WORDS.contains(word);
+    }
+}
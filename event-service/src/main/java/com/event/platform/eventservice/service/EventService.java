@@ -1,21 +1,33 @@
 package com.event.platform.eventservice.service;
 
+import com.event.platform.eventservice.dto.CursorPage;
 import com.event.platform.eventservice.dto.EventDTO;
+import com.event.platform.eventservice.dto.SearchPage;
+import com.event.platform.eventservice.dto.SeatRequest;
+import com.event.platform.eventservice.dto.SeatResult;
 import com.event.platform.eventservice.model.EventCategory;
+import com.event.platform.eventservice.model.EventVersion;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface EventService {
     EventDTO createEvent(EventDTO eventDTO);
-    List<EventDTO> getAllEvents();
+    CursorPage<EventDTO> getEvents(String cursor, Integer page, Integer size, String sort);
+    CursorPage<EventVersion> getEventVersions(String cursor, Integer page, Integer size, String sort);
     EventDTO getEventById(Long id);
+    List<EventDTO> getEventsByIds(List<Long> ids);
     List<EventDTO> getAvailableEvents();
-    List<EventDTO> searchEvents(String keyword);
+    SearchPage<EventDTO> searchEvents(String keyword, Integer page, Integer size);
     List<EventDTO> getEventsByCategory(EventCategory category);
     EventDTO updateEvent(Long id, EventDTO eventDTO);
     EventDTO publishEvent(Long id);
     EventDTO cancelEvent(Long id);
     boolean reserveSeats(Long id, int numberOfSeats);
+    List<SeatResult> reserveSeatsBatch(List<SeatRequest> requests);
     void releaseSeats(Long id, int numberOfSeats);
+    List<SeatResult> releaseSeatsBatch(List<SeatRequest> requests);
     void deleteEvent(Long id);
+    void exportEvents(OutputStream out, ExportFormat format) throws IOException;
 }
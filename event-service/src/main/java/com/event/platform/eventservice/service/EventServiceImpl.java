@@ -1,31 +1,157 @@
 package com.event.platform.eventservice.service;
 
+import com.event.platform.eventservice.cache.EventCache;
+import com.event.platform.eventservice.dto.CursorPage;
 import com.event.platform.eventservice.dto.EventDTO;
+import com.event.platform.eventservice.dto.SearchPage;
+import com.event.platform.eventservice.dto.SeatRequest;
+import com.event.platform.eventservice.dto.SeatResult;
+import com.event.platform.eventservice.inventory.SeatInventory;
+import com.event.platform.eventservice.inventory.SeatOperationLog;
+import com.event.platform.eventservice.metrics.ReservationMetrics;
 import com.event.platform.eventservice.model.Event;
 import com.event.platform.eventservice.model.EventCategory;
 import com.event.platform.eventservice.model.EventStatus;
+import com.event.platform.eventservice.model.EventVersion;
+import com.event.platform.eventservice.model.SeatOperation;
 import com.event.platform.eventservice.repository.EventRepository;
+import com.event.platform.eventservice.search.EventSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class EventServiceImpl implements EventService {
 
+    private static final String[] CSV_HEADER = {
+            "id", "name", "description", "location", "startDate", "endDate",
+            "capacity", "availableSeats", "basePrice", "category"
+    };
+
     private final EventRepository eventRepository;
+    private final SeatInventory seatInventory;
+    private final EventCache eventCache;
+    private final EventSearchIndex searchIndex;
+    private final ReservationMetrics reservationMetrics;
+    private final SeatOperationLog seatOperationLog;
+    private final int maxBatchSize;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final ObjectMapper objectMapper;
+    private final PageQueries<Event> entityPages;
+    private final PageQueries<EventVersion> versionPages;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public EventServiceImpl(EventRepository eventRepository) {
+    public EventServiceImpl(EventRepository eventRepository,
+                            SeatInventory seatInventory,
+                            EventCache eventCache,
+                            EventSearchIndex searchIndex,
+                            ReservationMetrics reservationMetrics,
+                            SeatOperationLog seatOperationLog,
+                            @Value("${event.reservation.batch-max-size:500}") int maxBatchSize,
+                            @Value("${event.pagination.default-size:20}") int defaultPageSize,
+                            @Value("${event.pagination.max-size:100}") int maxPageSize,
+                            ObjectMapper objectMapper) {
         this.eventRepository = eventRepository;
+        this.seatInventory = seatInventory;
+        this.eventCache = eventCache;
+        this.searchIndex = searchIndex;
+        this.reservationMetrics = reservationMetrics;
+        this.seatOperationLog = seatOperationLog;
+        this.maxBatchSize = maxBatchSize;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.objectMapper = objectMapper;
+        this.entityPages = new PageQueries<Event>() {
+            @Override
+            public Slice<Event> page(Pageable pageable) {
+                return eventRepository.findAllBy(pageable);
+            }
+
+            @Override
+            public List<Event> first(Pageable limit) {
+                return eventRepository.findFirstPageByStartDate(limit);
+            }
+
+            @Override
+            public List<Event> afterStartDate(LocalDateTime startDate, Long afterId, Pageable limit) {
+                return eventRepository.findPageAfterStartDate(startDate, afterId, limit);
+            }
+
+            @Override
+            public List<Event> afterId(Long afterId, Pageable limit) {
+                return eventRepository.findPageAfterId(afterId, limit);
+            }
+
+            @Override
+            public Long id(Event row) {
+                return row.getId();
+            }
+
+            @Override
+            public LocalDateTime startDate(Event row) {
+                return row.getStartDate();
+            }
+        };
+        this.versionPages = new PageQueries<EventVersion>() {
+            @Override
+            public Slice<EventVersion> page(Pageable pageable) {
+                return eventRepository.findVersionsBy(pageable);
+            }
+
+            @Override
+            public List<EventVersion> first(Pageable limit) {
+                return eventRepository.findFirstVersionsByStartDate(limit);
+            }
+
+            @Override
+            public List<EventVersion> afterStartDate(LocalDateTime startDate, Long afterId, Pageable limit) {
+                return eventRepository.findVersionsAfterStartDate(startDate, afterId, limit);
+            }
+
+            @Override
+            public List<EventVersion> afterId(Long afterId, Pageable limit) {
+                return eventRepository.findVersionsAfterId(afterId, limit);
+            }
+
+            @Override
+            public Long id(EventVersion row) {
+                return row.getId();
+            }
+
+            @Override
+            public LocalDateTime startDate(EventVersion row) {
+                return row.getStartDate();
+            }
+        };
     }
 
     @Override
@@ -36,33 +162,124 @@ public class EventServiceImpl implements EventService {
             entity.setStatus(EventStatus.DRAFT);
         }
         Event saved = eventRepository.save(entity);
+        searchIndex.index(saved);
+        eventCache.evictCategory(saved.getCategory().name());
+        if (saved.getStatus() == EventStatus.PUBLISHED) eventCache.evictAvailableEvents();
         return toDTO(saved);
     }
 
     @Override
-    public List<EventDTO> getAllEvents() {
-        return eventRepository.findAll().stream().map(this::toDTO).collect(Collectors.toList());
+    public CursorPage<EventDTO> getEvents(String cursor, Integer page, Integer size, String sort) {
+        CursorPage<Event> rows = page(cursor, page, size, sort, entityPages);
+        return new CursorPage<>(rows.getItems().stream().map(this::toDTO).collect(Collectors.toList()), rows.getNextCursor());
+    }
+
+    /**
+     * Même page que getEvents, réduite aux versions des événements :
+     * ni entités chargées, ni DTO construits
+     */
+    @Override
+    public CursorPage<EventVersion> getEventVersions(String cursor, Integer page, Integer size, String sort) {
+        return page(cursor, page, size, sort, versionPages);
+    }
+
+    private <T> CursorPage<T> page(String cursor, Integer page, Integer size, String sort, PageQueries<T> queries) {
+        int limit = pageSize(size);
+        PageCursor position = cursor != null ? PageCursor.decode(cursor)
+                : page != null ? PageCursor.page(page, sort)
+                : PageCursor.first(sort);
+
+        if (position.isPage()) {
+            Sort order = PageCursor.SORT_START_DATE.equals(position.getSort())
+                    ? Sort.by(PageCursor.SORT_START_DATE, "id") : Sort.by("id");
+            Slice<T> slice = queries.page(PageRequest.of(position.getPage(), limit, order));
+            String next = slice.hasNext() ? PageCursor.page(position.getPage() + 1, position.getSort()).encode() : null;
+            return new CursorPage<>(slice.getContent(), next);
+        }
+
+        // Une ligne de plus que la page pour savoir s'il reste des résultats
+        PageRequest window = PageRequest.of(0, limit + 1);
+        List<T> rows;
+        if (position.isStartDate()) {
+            rows = position.getAfterStartDate() == null
+                    ? queries.first(window)
+                    : queries.afterStartDate(position.getAfterStartDate(), position.getAfterId(), window);
+        } else {
+            rows = queries.afterId(position.getAfterId() == null ? 0L : position.getAfterId(), window);
+        }
+
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            T last = rows.get(limit - 1);
+            next = (position.isStartDate()
+                    ? PageCursor.afterStartDate(queries.startDate(last), queries.id(last))
+                    : PageCursor.afterId(queries.id(last))).encode();
+        }
+        return new CursorPage<>(rows, next);
     }
 
     @Override
     public EventDTO getEventById(Long id) {
-        Event e = eventRepository.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found"));
-        return toDTO(e);
+        return eventCache.getEvent(id, this::loadEvent);
+    }
+
+    /**
+     * Lecture groupée (cache local de Booking Service) : les événements
+     * absents du cache sont chargés en une requête. Les IDs inconnus sont
+     * omis, les doublons ignorés
+     */
+    @Override
+    public List<EventDTO> getEventsByIds(List<Long> ids) {
+        if (ids.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch exceeds " + maxBatchSize + " items");
+        }
+        return eventCache.getEvents(new LinkedHashSet<>(ids), this::loadEvents);
     }
 
     @Override
     public List<EventDTO> getAvailableEvents() {
-        return eventRepository.findAvailableEvents(LocalDateTime.now()).stream().map(this::toDTO).collect(Collectors.toList());
+        return eventCache.getAvailableEvents(
+                () -> eventRepository.findAvailableEvents(LocalDateTime.now()).stream().map(this::toDTO).collect(Collectors.toList()),
+                this::loadEvents);
     }
 
+    /**
+     * Recherche plein texte classée par pertinence, via l'index en mémoire
+     * Tant que l'index n'est pas construit (démarrage), repli sur la
+     * recherche LIKE en base
+     */
     @Override
-    public List<EventDTO> searchEvents(String keyword) {
-        return eventRepository.searchEvents(keyword).stream().map(this::toDTO).collect(Collectors.toList());
+    public SearchPage<EventDTO> searchEvents(String keyword, Integer page, Integer size) {
+        int limit = pageSize(size);
+        int pageNumber = page == null ? 0 : Math.max(0, Math.min(page, Integer.MAX_VALUE / limit - 1));
+        int offset = pageNumber * limit;
+
+        if (!searchIndex.isReady()) {
+            List<Event> matches = eventRepository.searchEvents(keyword);
+            List<EventDTO> items = matches.stream().skip(offset).limit(limit).map(this::toDTO).collect(Collectors.toList());
+            return new SearchPage<>(items, matches.size());
+        }
+
+        EventSearchIndex.SearchHits hits = searchIndex.search(keyword, offset, limit);
+        Map<Long, EventDTO> byId = new HashMap<>();
+        for (EventDTO dto : loadEvents(hits.getIds())) {
+            byId.put(dto.getId(), dto);
+        }
+        List<EventDTO> items = new ArrayList<>(hits.getIds().size());
+        for (Long id : hits.getIds()) {
+            EventDTO dto = byId.get(id);
+            // Supprimé par une autre instance depuis l'indexation
+            if (dto != null) items.add(dto);
+        }
+        return new SearchPage<>(items, hits.getTotal());
     }
 
     @Override
     public List<EventDTO> getEventsByCategory(EventCategory category) {
-        return eventRepository.findByCategory(category).stream().map(this::toDTO).collect(Collectors.toList());
+        return eventCache.getEventsByCategory(category,
+                () -> eventRepository.findByCategory(category).stream().map(this::toDTO).collect(Collectors.toList()),
+                this::loadEvents);
     }
 
     @Override
@@ -78,6 +295,10 @@ public class EventServiceImpl implements EventService {
         if (eventDTO.getAvailableSeats() != null) existing.setAvailableSeats(eventDTO.getAvailableSeats());
         if (eventDTO.getBasePrice() != null) existing.setBasePrice(eventDTO.getBasePrice());
         Event saved = eventRepository.save(existing);
+        searchIndex.index(saved);
+        seatInventory.evict(id);
+        eventCache.evictEvent(id);
+        eventCache.evictAvailableEvents();
         return toDTO(saved);
     }
 
@@ -87,6 +308,8 @@ public class EventServiceImpl implements EventService {
         Event e = eventRepository.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found"));
         e.setStatus(EventStatus.PUBLISHED);
         Event saved = eventRepository.save(e);
+        eventCache.evictEvent(id);
+        eventCache.evictAvailableEvents();
         return toDTO(saved);
     }
 
@@ -96,35 +319,146 @@ public class EventServiceImpl implements EventService {
         Event e = eventRepository.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found"));
         e.setStatus(EventStatus.CANCELLED);
         Event saved = eventRepository.save(e);
+        eventCache.evictEvent(id);
+        eventCache.evictAvailableEvents();
         return toDTO(saved);
     }
 
     @Override
     @Transactional
     public boolean reserveSeats(Long id, int numberOfSeats) {
-        Optional<Event> opt = eventRepository.findById(id);
-        if (opt.isEmpty()) return false;
-        Event e = opt.get();
-        boolean reserved = e.reserveSeats(numberOfSeats);
-        if (reserved) eventRepository.save(e);
+        long start = System.nanoTime();
+        boolean reserved = seatInventory.reserve(id, numberOfSeats);
+        reservationMetrics.recordReserve(id, numberOfSeats, reserved, start);
         return reserved;
     }
 
+    @Override
+    @Transactional
+    public List<SeatResult> reserveSeatsBatch(List<SeatRequest> requests) {
+        return applySeatOperations(requests, SeatOperation.Type.RESERVE);
+    }
+
     @Override
     @Transactional
     public void releaseSeats(Long id, int numberOfSeats) {
-        Event e = eventRepository.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found"));
-        e.setAvailableSeats(e.getAvailableSeats() + numberOfSeats);
-        eventRepository.save(e);
+        long start = System.nanoTime();
+        boolean released = seatInventory.release(id, numberOfSeats);
+        reservationMetrics.recordRelease(released, start);
+        if (released) return;
+        if (!eventRepository.existsById(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found");
+        }
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "Cannot release more seats than the event capacity");
+    }
+
+    @Override
+    @Transactional
+    public List<SeatResult> releaseSeatsBatch(List<SeatRequest> requests) {
+        return applySeatOperations(requests, SeatOperation.Type.RELEASE);
+    }
+
+    /**
+     * Applique un lot de réservations ou de libérations ; chaque élément est
+     * traité indépendamment. Les operationId déjà connus sont lus en une
+     * requête et renvoient leur résultat enregistré sans toucher l'inventaire.
+     */
+    private List<SeatResult> applySeatOperations(List<SeatRequest> requests, SeatOperation.Type type) {
+        if (requests.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch exceeds " + maxBatchSize + " items");
+        }
+        List<String> operationIds = new ArrayList<>();
+        for (SeatRequest r : requests) {
+            if (r != null && r.getOperationId() != null) operationIds.add(r.getOperationId());
+        }
+        Map<String, SeatOperation> known = seatOperationLog.findAll(operationIds);
+
+        List<SeatResult> results = new ArrayList<>(requests.size());
+        for (SeatRequest r : requests) {
+            boolean success = applySeatOperation(r, type, known);
+            results.add(new SeatResult(r != null ? r.getEventId() : null, r != null ? r.getSeats() : null, success));
+        }
+        return results;
+    }
+
+    private boolean applySeatOperation(SeatRequest r, SeatOperation.Type type, Map<String, SeatOperation> known) {
+        if (r == null || r.getEventId() == null || r.getSeats() == null) return false;
+        String operationId = r.getOperationId();
+        if (operationId != null) {
+            SeatOperation previous = known.get(operationId);
+            // Opération rejouée : même résultat ; identifiant réutilisé pour un autre type : refusé
+            if (previous != null) return previous.getType() == type && previous.isSuccess();
+        }
+
+        long start = System.nanoTime();
+        boolean success;
+        if (type == SeatOperation.Type.RESERVE) {
+            success = seatInventory.reserve(r.getEventId(), r.getSeats());
+            reservationMetrics.recordReserve(r.getEventId(), r.getSeats(), success, start);
+        } else {
+            success = seatInventory.release(r.getEventId(), r.getSeats());
+            reservationMetrics.recordRelease(success, start);
+        }
+        if (operationId != null) {
+            known.put(operationId, seatOperationLog.record(operationId, type, r.getEventId(), r.getSeats(), success));
+        }
+        return success;
     }
 
     @Override
     @Transactional
     public void deleteEvent(Long id) {
-        eventRepository.deleteById(id);
+        Event e = eventRepository.findById(id).orElse(null);
+        if (e == null) return;
+        eventRepository.delete(e);
+        searchIndex.remove(id);
+        seatInventory.evict(id);
+        eventCache.evictEvent(id);
+        eventCache.evictCategory(e.getCategory().name());
+        if (e.getStatus() == EventStatus.PUBLISHED) eventCache.evictAvailableEvents();
     }
 
-    private EventDTO toDTO(Event e) {
+    /**
+     * Export complet du catalogue, écrit au fil de la lecture
+     * Chaque entité est détachée une fois écrite : le contexte de
+     * persistance ne grossit pas avec la taille de la table
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEvents(OutputStream out, ExportFormat format) throws IOException {
+        try (Stream<Event> events = eventRepository.streamAll();
+             ExportWriter<EventDTO> writer = new ExportWriter<>(out, format, objectMapper, CSV_HEADER, EventServiceImpl::toCsvRow)) {
+            Iterator<Event> it = events.iterator();
+            while (it.hasNext()) {
+                Event e = it.next();
+                writer.write(toDTO(e));
+                entityManager.detach(e);
+            }
+        }
+    }
+
+    private static Object[] toCsvRow(EventDTO dto) {
+        return new Object[] {
+                dto.getId(), dto.getName(), dto.getDescription(), dto.getLocation(),
+                dto.getStartDate(), dto.getEndDate(), dto.getCapacity(),
+                dto.getAvailableSeats(), dto.getBasePrice(), dto.getCategory()
+        };
+    }
+
+    private int pageSize(Integer size) {
+        return size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    private EventDTO loadEvent(Long id) {
+        Event e = eventRepository.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found"));
+        return toDTO(e);
+    }
+
+    private List<EventDTO> loadEvents(Collection<Long> ids) {
+        return eventRepository.findAllById(ids).stream().map(this::toDTO).collect(Collectors.toList());
+    }
+
+    EventDTO toDTO(Event e) {
         if (e == null) return null;
         return new EventDTO(
             e.getId(),
@@ -136,11 +470,13 @@ public class EventServiceImpl implements EventService {
             e.getCapacity(),
             e.getAvailableSeats(),
             e.getBasePrice(),
-            e.getCategory() != null ? e.getCategory().name() : null
+            e.getCategory() != null ? e.getCategory().name() : null,
+            e.getStatus() != null ? e.getStatus().name() : null,
+            e.getUpdatedAt() != null ? e.getUpdatedAt().atOffset(ZoneOffset.UTC) : null
         );
     }
 
-    private Event toEntity(EventDTO dto) {
+    Event toEntity(EventDTO dto) {
         if (dto == null) return null;
         // Map category string (from DTO) to enum, default to CULTURE/AUTRE on unknown
         EventCategory category = EventCategory.CULTURE;
@@ -177,4 +513,23 @@ public class EventServiceImpl implements EventService {
         if (dto.getId() != null) builder.id(dto.getId());
         return builder.build();
     }
+
+    /**
+     * Requêtes d'une liste paginée : sur les entités (page affichée) ou
+     * sur leurs seules versions (ETag), mêmes filtres et même ordre
+     */
+    private interface PageQueries<T> {
+
+        Slice<T> page(Pageable pageable);
+
+        List<T> first(Pageable limit);
+
+        List<T> afterStartDate(LocalDateTime startDate, Long afterId, Pageable limit);
+
+        List<T> afterId(Long afterId, Pageable limit);
+
+        Long id(T row);
+
+        LocalDateTime startDate(T row);
+    }
 }
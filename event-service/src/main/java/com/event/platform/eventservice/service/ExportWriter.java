@@ -0,0 +1,88 @@
+package com.event.platform.eventservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Écriture ligne à ligne d'un export, sans rien accumuler en mémoire
+ *
+ * NDJSON : un objet JSON par ligne, sérialisé avec l'ObjectMapper de
+ * l'application (mêmes formats de dates que l'API).
+ * CSV : RFC 4180, en-tête puis une ligne par élément.
+ *
+ * close() vide les tampons mais ne ferme pas le flux de la réponse.
+ */
+final class ExportWriter<T> implements Closeable {
+
+    private final JsonGenerator json;
+    private final Writer csv;
+    private final Function<T, Object[]> csvRow;
+
+    ExportWriter(OutputStream out, ExportFormat format, ObjectMapper objectMapper,
+                 String[] csvHeader, Function<T, Object[]> csvRow) throws IOException {
+        this.csvRow = csvRow;
+        if (format == ExportFormat.NDJSON) {
+            this.json = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            this.csv = null;
+        } else {
+            this.json = null;
+            this.csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+            writeCsvRow(csvHeader);
+        }
+    }
+
+    void write(T item) throws IOException {
+        if (json != null) {
+            json.writeObject(item);
+        } else {
+            writeCsvRow(csvRow.apply(item));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            // Dernière ligne terminée par un saut de ligne, comme les autres
+            json.writeRaw('\n');
+            json.close();
+        } else {
+            csv.flush();
+        }
+    }
+
+    private void writeCsvRow(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) csv.write(',');
+            Object value = values[i];
+            if (value != null) writeCsvValue(value.toString());
+        }
+        csv.write("\r\n");
+    }
+
+    private void writeCsvValue(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            csv.write(value);
+            return;
+        }
+        csv.write('"');
+        csv.write(value.replace("\"", "\"\""));
+        csv.write('"');
+    }
+}
@@ -0,0 +1,107 @@
+package com.event.platform.eventservice.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Jeton de continuation des listes paginées
+ *
+ * Trois formes, encodées en base64url pour rester opaques côté client :
+ * - keyset par ID           : "id,<dernierId>"
+ * - keyset par date de début : "startDate,<dernièreDate>,<dernierId>"
+ * - pagination classique     : "page,<numéro>,<tri>"
+ */
+final class PageCursor {
+
+    static final String SORT_ID = "id";
+    static final String SORT_START_DATE = "startDate";
+
+    private final String kind;
+    private final Long afterId;
+    private final LocalDateTime afterStartDate;
+    private final int page;
+    private final String sort;
+
+    private PageCursor(String kind, Long afterId, LocalDateTime afterStartDate, int page, String sort) {
+        this.kind = kind;
+        this.afterId = afterId;
+        this.afterStartDate = afterStartDate;
+        this.page = page;
+        this.sort = sort;
+    }
+
+    static PageCursor first(String sort) {
+        return SORT_START_DATE.equals(sort)
+                ? new PageCursor(SORT_START_DATE, null, null, 0, SORT_START_DATE)
+                : new PageCursor(SORT_ID, null, null, 0, SORT_ID);
+    }
+
+    static PageCursor afterId(Long id) {
+        return new PageCursor(SORT_ID, id, null, 0, SORT_ID);
+    }
+
+    static PageCursor afterStartDate(LocalDateTime startDate, Long id) {
+        return new PageCursor(SORT_START_DATE, id, startDate, 0, SORT_START_DATE);
+    }
+
+    static PageCursor page(int page, String sort) {
+        if (page < 0) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must be >= 0");
+        return new PageCursor("page", null, null, page, SORT_START_DATE.equals(sort) ? SORT_START_DATE : SORT_ID);
+    }
+
+    static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(",");
+            switch (parts[0]) {
+                case SORT_ID:
+                    return afterId(Long.parseLong(parts[1]));
+                case SORT_START_DATE:
+                    return afterStartDate(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+                case "page":
+                    return page(Integer.parseInt(parts[1]), parts[2]);
+                default:
+                    throw new IllegalArgumentException(parts[0]);
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    String encode() {
+        String raw;
+        if (isPage()) raw = "page," + page + "," + sort;
+        else if (SORT_START_DATE.equals(kind)) raw = SORT_START_DATE + "," + afterStartDate + "," + afterId;
+        else raw = SORT_ID + "," + afterId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    boolean isPage() {
+        return "page".equals(kind);
+    }
+
+    boolean isStartDate() {
+        return SORT_START_DATE.equals(kind);
+    }
+
+    Long getAfterId() {
+        return afterId;
+    }
+
+    LocalDateTime getAfterStartDate() {
+        return afterStartDate;
+    }
+
+    int getPage() {
+        return page;
+    }
+
+    String getSort() {
+        return sort;
+    }
+}
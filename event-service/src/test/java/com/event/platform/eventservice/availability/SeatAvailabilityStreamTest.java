@@ -0,0 +1,176 @@
+package com.event.platform.eventservice.availability;
+
+import com.event.platform.eventservice.inventory.SeatsChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class SeatAvailabilityStreamTest {
+
+    private static final long EVENT_ID = 7L;
+
+    /** Simule la colonne availableSeats ; -1 : événement supprimé */
+    private final AtomicInteger dbSeats = new AtomicInteger(1000);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SeatAvailabilityStream stream = new SeatAvailabilityStream(
+            id -> dbSeats.get() < 0 ? Optional.empty() : Optional.of(dbSeats.get()),
+            registry, 2, 60_000, 60_000, 60_000, 100, 2);
+
+    /**
+     * Client simulé : garde le texte SSE reçu, peut bloquer ses écritures.
+     * send et close synchronisés, comme sur SseEmitter
+     */
+    private static final class RecordingSink implements SeatAvailabilityStream.Sink {
+
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        private final CountDownLatch unblocked;
+        private volatile boolean closed;
+
+        RecordingSink(CountDownLatch unblocked) {
+            this.unblocked = unblocked;
+        }
+
+        @Override
+        public synchronized void send(Set<ResponseBodyEmitter.DataWithMediaType> message) {
+            try {
+                unblocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StringBuilder text = new StringBuilder();
+            message.forEach(part -> text.append(part.getData()));
+            messages.add(text.toString());
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+        }
+
+        String last() {
+            return messages.isEmpty() ? null : messages.get(messages.size() - 1);
+        }
+    }
+
+    private static String seats(int seats) {
+        return "event:" + SeatAvailabilityStream.EVENT_NAME + "\ndata:{\"eventId\":" + EVENT_ID
+                + ",\"availableSeats\":" + seats + "}\n\n";
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void burstOfReservationsIsCoalescedToTheLatestValue() throws InterruptedException {
+        RecordingSink client = new RecordingSink(new CountDownLatch(0));
+        stream.register(EVENT_ID, client);
+
+        for (int i = 0; i < 200; i++) {
+            dbSeats.decrementAndGet();
+            stream.onSeatsChanged(new SeatsChangedEvent(EVENT_ID, -1, null));
+        }
+        await(() -> seats(dbSeats.get()).equals(client.last()));
+
+        // Au plus 2 envois par seconde : le premier immédiat, la suite fusionnée
+        assertThat(client.messages).hasSizeLessThanOrEqualTo(2);
+        assertThat(registry.counter("event.availability.stream.updates").count()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void slowClientSkipsIntermediateValues() throws InterruptedException {
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink(unblock);
+        RecordingSink fast = new RecordingSink(new CountDownLatch(0));
+        SeatAvailabilityStream.Subscriber slowSubscriber = stream.register(EVENT_ID, slow);
+        SeatAvailabilityStream.Subscriber fastSubscriber = stream.register(EVENT_ID, fast);
+
+        for (int seats = 10; seats > 0; seats--) {
+            slowSubscriber.offer(SeatAvailabilityStream.message(EVENT_ID, seats));
+            fastSubscriber.offer(SeatAvailabilityStream.message(EVENT_ID, seats));
+            if (seats == 10) {
+                // La première écriture du client lent est en cours
+                Thread.sleep(50);
+            }
+        }
+        await(() -> seats(1).equals(fast.last()));
+        unblock.countDown();
+        await(() -> seats(1).equals(slow.last()));
+
+        // Le client lent reçoit la valeur en cours d'écriture puis la dernière, rien entre
+        assertThat(slow.messages).containsExactly(seats(10), seats(1));
+        assertThat(registry.counter("event.availability.stream.skipped").count()).isGreaterThanOrEqualTo(8);
+    }
+
+    @Test
+    void refreshResendsChangesAndClosesStreamsOfDeletedEvents() throws InterruptedException {
+        RecordingSink client = new RecordingSink(new CountDownLatch(0));
+        stream.register(EVENT_ID, client);
+
+        // Modification faite par une autre instance : aucun SeatsChangedEvent ici
+        dbSeats.set(42);
+        stream.refresh();
+        await(() -> seats(42).equals(client.last()));
+
+        // Valeur inchangée, battement de cœur pas encore dû : rien n'est renvoyé
+        stream.refresh();
+        Thread.sleep(50);
+        assertThat(client.messages).hasSize(1);
+
+        dbSeats.set(-1);
+        stream.refresh();
+        assertThat(client.closed).isTrue();
+        assertThat(stream.getSubscribers()).isZero();
+        assertThat(registry.get("event.availability.stream.events").gauge().value()).isZero();
+    }
+
+    @Test
+    void stalledClientIsDroppedWithoutBlockingTheRefresh() throws InterruptedException {
+        SimpleMeterRegistry stallRegistry = new SimpleMeterRegistry();
+        SeatAvailabilityStream stalling = new SeatAvailabilityStream(
+                id -> Optional.of(dbSeats.get()), stallRegistry, 2, 60_000, 50, 60_000, 100, 2);
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingSink stuck = new RecordingSink(unblock);
+        try {
+            stalling.register(EVENT_ID, stuck).offer(SeatAvailabilityStream.message(EVENT_ID, 10));
+            Thread.sleep(100);
+
+            // L'écriture tient le verrou du sink : refresh ne doit pas l'attendre
+            assertTimeoutPreemptively(Duration.ofSeconds(1), stalling::refresh);
+            assertThat(stalling.getSubscribers()).isZero();
+            assertThat(stallRegistry.counter("event.availability.stream.stalled").count()).isEqualTo(1);
+            assertThat(stuck.closed).isFalse();
+
+            // Fermé par le thread d'écriture dès le retour de l'écriture
+            unblock.countDown();
+            await(() -> stuck.closed);
+            assertThat(stuck.messages).containsExactly(seats(10));
+        } finally {
+            unblock.countDown();
+            stalling.shutdown();
+        }
+    }
+}
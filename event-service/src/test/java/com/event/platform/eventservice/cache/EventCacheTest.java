@@ -0,0 +1,146 @@
+package com.event.platform.eventservice.cache;
+
+import com.event.platform.eventservice.dto.EventDTO;
+import com.event.platform.eventservice.inventory.SeatsChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EventCache cache = new EventCache(
+            new ConcurrentMapCacheManager(EventCache.EVENTS, EventCache.EVENT_LISTS), registry);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private EventDTO load(Long id) {
+        loads.incrementAndGet();
+        EventDTO dto = new EventDTO();
+        dto.setId(id);
+        dto.setAvailableSeats(10);
+        return dto;
+    }
+
+    @Test
+    void servesRepeatedReadsFromCache() {
+        cache.getEvent(1L, this::load);
+        cache.getEvent(1L, this::load);
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void seatChangeInvalidatesOnlyTheEvent() {
+        AtomicInteger listLoads = new AtomicInteger();
+        List<EventDTO> available = cache.getAvailableEvents(() -> {
+            listLoads.incrementAndGet();
+            return List.of(load(1L), load(2L));
+        }, ids -> ids.stream().map(this::load).collect(Collectors.toList()));
+        assertThat(available).hasSize(2);
+
+        cache.onSeatsChanged(new SeatsChangedEvent(1L, -1, 9));
+        loads.set(0);
+
+        List<EventDTO> again = cache.getAvailableEvents(() -> {
+            listLoads.incrementAndGet();
+            return List.of();
+        }, ids -> ids.stream().map(this::load).collect(Collectors.toList()));
+
+        assertThat(again).extracting(EventDTO::getId).containsExactly(1L, 2L);
+        assertThat(listLoads.get()).isEqualTo(1);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void soldOutEventInvalidatesAvailableList() {
+        AtomicInteger listLoads = new AtomicInteger();
+        cache.getAvailableEvents(() -> {
+            listLoads.incrementAndGet();
+            return List.of(load(1L));
+        }, ids -> List.of());
+
+        cache.onSeatsChanged(new SeatsChangedEvent(1L, -10, 0));
+        cache.getAvailableEvents(() -> {
+            listLoads.incrementAndGet();
+            return List.of();
+        }, ids -> List.of());
+
+        assertThat(listLoads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void bulkReadLoadsOnlyMissingEventsInOneCall() {
+        cache.getEvent(1L, this::load);
+        List<List<Long>> bulkLoads = new ArrayList<>();
+        loads.set(0);
+
+        List<EventDTO> events = cache.getEvents(List.of(3L, 1L, 2L), ids -> {
+            bulkLoads.add(List.copyOf(ids));
+            // 3 n'existe pas
+            return ids.stream().filter(id -> id != 3L).map(this::load).collect(Collectors.toList());
+        });
+
+        assertThat(events).extracting(EventDTO::getId).containsExactly(1L, 2L);
+        assertThat(bulkLoads).containsExactly(List.of(3L, 2L));
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    /**
+     * Mise en vente : lectures simultanées d'un événement absent du cache,
+     * un seul chargement pour toutes
+     */
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        int readers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(readers);
+        try {
+            List<Future<EventDTO>> reads = new ArrayList<>();
+            for (int i = 0; i < readers; i++) {
+                reads.add(pool.submit(() -> cache.getEvent(1L, id -> {
+                    await(loading);
+                    return load(id);
+                })));
+            }
+            while (followers() < readers - 1) {
+                Thread.sleep(5);
+            }
+            loading.countDown();
+
+            EventDTO first = reads.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<EventDTO> read : reads) {
+                assertThat(read.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(registry.get("event.read.collapse.ratio").tag("read", "event").gauge().value())
+                .isEqualTo((readers - 1) / (double) readers);
+    }
+
+    private double followers() {
+        return registry.get("event.read.singleflight").tags("read", "event", "role", "follower").functionCounter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.event.platform.eventservice.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<Long, String> flights = new SingleFlight<>();
+
+    @Test
+    void followersReceiveTheLeadersException() throws Exception {
+        CountDownLatch failing = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flights.execute(1L, () -> {
+            try {
+                failing.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found");
+        }));
+        while (flights.getLeaders() == 0) {
+            Thread.sleep(5);
+        }
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> flights.execute(1L, () -> "unused"));
+        while (flights.getFollowers() == 0) {
+            Thread.sleep(5);
+        }
+        failing.countDown();
+
+        assertThatThrownBy(follower::join).hasCauseInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(leader::join).hasCauseInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void resultIsNotKeptOnceTheLoadIsOver() {
+        AtomicInteger loads = new AtomicInteger();
+
+        flights.execute(1L, () -> "v" + loads.incrementAndGet());
+        String second = flights.execute(1L, () -> "v" + loads.incrementAndGet());
+
+        assertThat(second).isEqualTo("v2");
+        assertThat(flights.collapseRatio()).isZero();
+    }
+}
@@ -0,0 +1,100 @@
+package com.event.platform.eventservice.controller;
+
+import com.event.platform.eventservice.dto.EventDTO;
+import com.event.platform.eventservice.model.EventVersion;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventETagsTest {
+
+    private static final OffsetDateTime UPDATED = OffsetDateTime.of(2026, 3, 1, 20, 0, 0, 123_456_000, ZoneOffset.UTC);
+
+    private static EventDTO event(Long id, OffsetDateTime updatedAt, int seats) {
+        EventDTO dto = new EventDTO();
+        dto.setId(id);
+        dto.setName("event " + id);
+        dto.setUpdatedAt(updatedAt);
+        dto.setAvailableSeats(seats);
+        return dto;
+    }
+
+    /** Projection telle que lue par EventRepository.findVersions* */
+    private static EventVersion version(Long id, LocalDateTime updatedAt, int seats) {
+        return new EventVersion() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getStartDate() {
+                return null;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+
+            @Override
+            public Integer getAvailableSeats() {
+                return seats;
+            }
+        };
+    }
+
+    @Test
+    void eventVersionFollowsUpdatesAndSeats() {
+        String etag = EventETags.of(event(1L, UPDATED, 10));
+
+        assertThat(etag).startsWith("W/\"").endsWith("\"");
+        assertThat(EventETags.of(event(1L, UPDATED, 10))).isEqualTo(etag);
+        assertThat(EventETags.of(event(1L, UPDATED, 9))).isNotEqualTo(etag);
+        assertThat(EventETags.of(event(1L, UPDATED.plusNanos(1000), 10))).isNotEqualTo(etag);
+        assertThat(EventETags.of(event(2L, UPDATED, 10))).isNotEqualTo(etag);
+    }
+
+    @Test
+    void listVersionChangesWithAnyEventOrderOrPage() {
+        List<EventDTO> list = List.of(event(1L, UPDATED, 10), event(2L, UPDATED, 5));
+        String etag = EventETags.of(list, null);
+
+        assertThat(EventETags.of(List.of(event(1L, UPDATED, 10), event(2L, UPDATED, 5)), null)).isEqualTo(etag);
+        assertThat(EventETags.of(List.of(event(1L, UPDATED, 10), event(2L, UPDATED, 4)), null)).isNotEqualTo(etag);
+        assertThat(EventETags.of(List.of(event(2L, UPDATED, 5), event(1L, UPDATED, 10)), null)).isNotEqualTo(etag);
+        assertThat(EventETags.of(List.of(event(1L, UPDATED, 10)), null)).isNotEqualTo(etag);
+        assertThat(EventETags.of(list, "id,2")).isNotEqualTo(etag);
+        assertThat(EventETags.of(List.of(), null)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void pageVersionFromProjectionMatchesTheBuiltPage() {
+        LocalDateTime updated = UPDATED.toLocalDateTime();
+        String etag = EventETags.of(List.of(event(1L, UPDATED, 10), event(2L, UPDATED, 5)), "next");
+
+        assertThat(EventETags.ofVersions(List.of(version(1L, updated, 10), version(2L, updated, 5)), "next"))
+                .isEqualTo(etag);
+        assertThat(EventETags.ofVersions(List.of(version(1L, updated, 10), version(2L, updated, 4)), "next"))
+                .isNotEqualTo(etag);
+        assertThat(EventETags.ofVersions(List.of(), null)).isEqualTo(EventETags.of(List.of(), null));
+    }
+
+    @Test
+    void ifNoneMatchUsesWeakComparison() {
+        String etag = EventETags.of(event(1L, UPDATED, 10));
+        String opaque = etag.substring(2);
+
+        assertThat(EventETags.matches(List.of(etag), etag)).isTrue();
+        assertThat(EventETags.matches(List.of(opaque), etag)).isTrue();
+        assertThat(EventETags.matches(List.of("\"other\"", etag), etag)).isTrue();
+        assertThat(EventETags.matches(List.of("*"), etag)).isTrue();
+        assertThat(EventETags.matches(List.of("\"other\""), etag)).isFalse();
+        assertThat(EventETags.matches(List.of(), etag)).isFalse();
+    }
+}
@@ -0,0 +1,97 @@
+package com.event.platform.eventservice.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyStoreTest {
+
+    private final IdempotencyStore store = new IdempotencyStore(new SimpleMeterRegistry(), 1000, 60, 5000);
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void retryReturnsStoredResponseWithoutRunningAgain() {
+        ResponseEntity<Boolean> first = store.execute("reserve", "k1", "1:2", this::reserve);
+        ResponseEntity<Boolean> retry = store.execute("reserve", "k1", "1:2", this::reserve);
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(first.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)).isFalse();
+        assertThat(retry.getBody()).isTrue();
+        assertThat(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void concurrentDuplicatesShareOneExecution() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ResponseEntity<Boolean>>> results = new ArrayList<>();
+            results.add(pool.submit(() -> store.execute("reserve", "k2", "1:2", () -> {
+                running.countDown();
+                await(release);
+                return reserve();
+            })));
+            running.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 7; i++) {
+                results.add(pool.submit(() -> store.execute("reserve", "k2", "1:2", this::reserve)));
+            }
+            release.countDown();
+            for (Future<ResponseEntity<Boolean>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getBody()).isTrue();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void reusedKeyWithAnotherRequestIsRefused() {
+        store.execute("reserve", "k3", "1:2", this::reserve);
+
+        ResponseEntity<Boolean> other = store.execute("reserve", "k3", "1:5", this::reserve);
+
+        assertThat(other.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void serverErrorsAreNotStored() {
+        store.execute("reserve", "k4", "1:2", () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).<Boolean>build();
+        });
+
+        ResponseEntity<Boolean> retry = store.execute("reserve", "k4", "1:2", this::reserve);
+
+        assertThat(retry.getBody()).isTrue();
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    private ResponseEntity<Boolean> reserve() {
+        executions.incrementAndGet();
+        return ResponseEntity.ok(true);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
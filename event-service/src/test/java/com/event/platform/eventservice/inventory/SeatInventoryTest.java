@@ -0,0 +1,130 @@
+package com.event.platform.eventservice.inventory;
+
+import com.event.platform.eventservice.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SeatInventoryTest {
+
+    private static final long EVENT_ID = 1L;
+    private static final int CAPACITY = 100;
+
+    /** Simule la ligne en base : l'UPDATE conditionnel est atomique */
+    private final AtomicInteger dbSeats = new AtomicInteger(CAPACITY);
+
+    private SeatInventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        EventRepository repository = mock(EventRepository.class);
+        when(repository.findAvailableSeatsById(EVENT_ID)).thenAnswer(inv -> Optional.of(dbSeats.get()));
+        when(repository.decrementAvailableSeats(eq(EVENT_ID), anyInt(), any(LocalDateTime.class))).thenAnswer(inv -> {
+            int seats = inv.getArgument(1);
+            int current;
+            do {
+                current = dbSeats.get();
+                if (current < seats) return 0;
+            } while (!dbSeats.compareAndSet(current, current - seats));
+            return 1;
+        });
+        when(repository.incrementAvailableSeats(eq(EVENT_ID), anyInt(), any(LocalDateTime.class))).thenAnswer(inv -> {
+            int seats = inv.getArgument(1);
+            int current;
+            do {
+                current = dbSeats.get();
+                if (current + seats > CAPACITY) return 0;
+            } while (!dbSeats.compareAndSet(current, current + seats));
+            return 1;
+        });
+        inventory = new SeatInventory(repository, event -> { }, 0);
+    }
+
+    @Test
+    void concurrentReservationsNeverOversell() throws InterruptedException {
+        int threads = 32;
+        int attemptsPerThread = 50;
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (inventory.reserve(EVENT_ID, 1)) reserved.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(reserved.get()).isEqualTo(CAPACITY);
+        assertThat(dbSeats.get()).isZero();
+    }
+
+    @Test
+    void resyncsWhenSeatsWereReleasedElsewhere() {
+        assertThat(inventory.reserve(EVENT_ID, CAPACITY)).isTrue();
+        assertThat(inventory.reserve(EVENT_ID, 1)).isFalse();
+
+        // Une autre instance libère des places directement en base
+        dbSeats.addAndGet(5);
+
+        assertThat(inventory.reserve(EVENT_ID, 5)).isTrue();
+        assertThat(dbSeats.get()).isZero();
+    }
+
+    @Test
+    void releaseNeverExceedsCapacity() {
+        assertThat(inventory.reserve(EVENT_ID, 3)).isTrue();
+        assertThat(inventory.release(EVENT_ID, 3)).isTrue();
+        assertThat(inventory.release(EVENT_ID, 1)).isFalse();
+        assertThat(dbSeats.get()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void rejectsNonPositiveSeatCounts() {
+        assertThat(inventory.reserve(EVENT_ID, 0)).isFalse();
+        assertThat(inventory.reserve(EVENT_ID, -2)).isFalse();
+        assertThat(dbSeats.get()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void evictionWaitsForTheCommit() {
+        assertThat(inventory.reserve(EVENT_ID, 1)).isTrue();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            inventory.evict(EVENT_ID);
+            // Transaction en cours : le compteur reste celui d'avant la modification
+            assertThat(inventory.remaining(EVENT_ID)).isEqualTo(CAPACITY - 1);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(inventory.remaining(EVENT_ID)).isNull();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.event.platform.eventservice.metrics;
+
+import com.event.platform.eventservice.inventory.SeatInventory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReservationMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SeatInventory inventory = mock(SeatInventory.class);
+    private final ReservationMetrics metrics = new ReservationMetrics(registry, inventory, 2);
+
+    @Test
+    void recordsReservationsByResult() {
+        metrics.recordReserve(1L, 3, true, System.nanoTime());
+        metrics.recordReserve(1L, 1, false, System.nanoTime());
+
+        assertThat(registry.get("event.seats.reserve").tag("result", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get("event.seats.reserve").tag("result", "failure").timer().count()).isEqualTo(1);
+        assertThat(registry.get("event.seats.reserved").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void publishesRemainingSeatsOfTheMostRequestedEventsOnly() {
+        when(inventory.remaining(1L)).thenReturn(10);
+        when(inventory.remaining(2L)).thenReturn(20);
+        for (int i = 0; i < 5; i++) metrics.recordReserve(1L, 1, true, System.nanoTime());
+        for (int i = 0; i < 3; i++) metrics.recordReserve(2L, 1, true, System.nanoTime());
+        metrics.recordReserve(3L, 1, true, System.nanoTime());
+
+        metrics.refreshHotEvents();
+
+        assertThat(registry.find("event.seats.remaining").gauges()).hasSize(2);
+        Gauge hottest = registry.get("event.seats.remaining").tag("eventId", "1").gauge();
+        assertThat(hottest.value()).isEqualTo(10);
+        assertThat(registry.find("event.seats.remaining").tag("eventId", "3").gauge()).isNull();
+
+        // Sans nouvelle demande, le top se vide à la période suivante
+        metrics.refreshHotEvents();
+        assertThat(registry.find("event.seats.remaining").gauges()).isEmpty();
+    }
+}
@@ -0,0 +1,54 @@
+package com.event.platform.eventservice.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("spring.threads.virtual.enabled", "true");
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry, environment, 20);
+
+    @Test
+    void recordsEveryPinning() {
+        List<String> frames = List.of("java.lang.VirtualThread.parkOnCarrierThread:675",
+                "com.event.platform.eventservice.service.EventServiceImpl.reserveSeats:120");
+
+        monitor.recordPinned(Duration.ofMillis(30), frames);
+        monitor.recordPinned(Duration.ofMillis(50), frames);
+
+        Timer pinned = registry.get("jvm.threads.virtual.pinned").timer();
+        assertThat(pinned.count()).isEqualTo(2);
+        assertThat(pinned.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(80);
+    }
+
+    @Test
+    void identifiesThePinningSiteByTheFirstApplicationFrame() {
+        assertThat(VirtualThreadPinningMonitor.site(List.of(
+                "java.lang.VirtualThread.parkOnCarrierThread:675",
+                "com.mysql.cj.protocol.ReadAheadInputStream.read:180",
+                "com.event.platform.eventservice.service.EventServiceImpl.reserveSeats:120")))
+                .isEqualTo("com.event.platform.eventservice.service.EventServiceImpl.reserveSeats:120");
+        assertThat(VirtualThreadPinningMonitor.site(List.of("java.lang.Object.wait:-1")))
+                .isEqualTo("java.lang.Object.wait:-1");
+    }
+
+    @Test
+    void startsOnlyWhereVirtualThreadsAreAvailable() {
+        monitor.start();
+        try {
+            assertThat(monitor.isRunning()).isEqualTo(Runtime.version().feature() >= 21);
+        } finally {
+            monitor.stop();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.event.platform.eventservice.search;
+
+import com.event.platform.eventservice.model.Event;
+import com.event.platform.eventservice.model.EventCategory;
+import com.event.platform.eventservice.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class EventSearchIndexTest {
+
+    private final EventSearchIndex index = new EventSearchIndex(
+            mock(EventRepository.class), mock(PlatformTransactionManager.class), true);
+
+    private static Event event(Long id, String name, String description, LocalDateTime updatedAt) {
+        return Event.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .location("Paris")
+                .category(EventCategory.CULTURE)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    private static Event event(Long id, String name, String description) {
+        return event(id, name, description, LocalDateTime.now());
+    }
+
+    @Test
+    void ignoresAccentsAndCase() {
+        index.index(event(1L, "Soirée au Théâtre", null));
+
+        assertThat(index.search("THEATRE ", 0, 10).getIds()).containsExactly(1L);
+        assertThat(index.search("soiree theâtre ", 0, 10).getIds()).containsExactly(1L);
+    }
+
+    @Test
+    void completesTheLastWordAsAPrefix() {
+        index.index(event(1L, "Concert de jazz", null));
+        index.index(event(2L, "Conférence", null));
+
+        assertThat(index.search("conc", 0, 10).getIds()).containsExactly(1L);
+        assertThat(index.search("con", 0, 10).getIds()).containsExactlyInAnyOrder(1L, 2L);
+        // Un mot terminé n'est pas complété
+        assertThat(index.search("conc ", 0, 10).getIds()).isEmpty();
+    }
+
+    @Test
+    void ranksNameMatchesFirstAndRequiresEveryWord() {
+        index.index(event(1L, "Festival", "Avec un concert de jazz en plein air"));
+        index.index(event(2L, "Jazz à Paris", "Concert du soir"));
+        index.index(event(3L, "Jazz brunch", null));
+
+        assertThat(index.search("jazz concert ", 0, 10).getIds()).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void paginatesAndReportsTotal() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(event(id, "Concert " + id, null));
+        }
+
+        EventSearchIndex.SearchHits page = index.search("concert ", 2, 2);
+
+        assertThat(page.getTotal()).isEqualTo(5);
+        assertThat(page.getIds()).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void reindexingReplacesTermsAndIgnoresOlderVersions() {
+        LocalDateTime now = LocalDateTime.now();
+        index.index(event(1L, "Opéra", null, now));
+        index.index(event(1L, "Ballet", null, now.plusSeconds(1)));
+        index.index(event(1L, "Opéra", null, now));
+
+        assertThat(index.search("opera ", 0, 10).getIds()).isEmpty();
+        assertThat(index.search("ballet ", 0, 10).getIds()).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.search("ballet ", 0, 10).getIds()).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+}
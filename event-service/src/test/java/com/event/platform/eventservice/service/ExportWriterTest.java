@@ -0,0 +1,50 @@
+package com.event.platform.eventservice.service;
+
+import com.event.platform.eventservice.dto.EventDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportWriterTest {
+
+    private static final String[] HEADER = {"id", "name"};
+
+    private String export(ExportFormat format, EventDTO... events) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter<EventDTO> writer = new ExportWriter<>(out, format, new ObjectMapper(), HEADER,
+                e -> new Object[] {e.getId(), e.getName()})) {
+            for (EventDTO e : events) writer.write(e);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static EventDTO event(Long id, String name) {
+        EventDTO dto = new EventDTO();
+        dto.setId(id);
+        dto.setName(name);
+        return dto;
+    }
+
+    @Test
+    void writesOneJsonObjectPerLine() throws IOException {
+        String ndjson = export(ExportFormat.NDJSON, event(1L, "a"), event(2L, "b"));
+
+        String[] lines = ndjson.split("\n");
+        assertThat(ndjson).endsWith("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{").contains("\"id\":1");
+        assertThat(lines[1]).contains("\"id\":2");
+    }
+
+    @Test
+    void quotesCsvValuesWhenNeeded() throws IOException {
+        String csv = export(ExportFormat.CSV, event(1L, "Jazz, \"live\""), event(2L, null));
+
+        assertThat(csv).isEqualTo("id,name\r\n1,\"Jazz, \"\"live\"\"\"\r\n2,\r\n");
+    }
+}
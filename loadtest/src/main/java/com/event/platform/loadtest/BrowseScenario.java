@@ -0,0 +1,86 @@
+package com.event.platform.loadtest;
+
+import java.io.PrintStream;
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Navigation dans le catalogue, mélange pondéré de lectures :
+ * - 40 % GET /events/{id}
+ * - 25 % GET /events (première page)
+ * - 15 % GET /events/available
+ * - 20 % GET /events/search (mot complet ou début de mot)
+ */
+final class BrowseScenario implements Scenario {
+
+    private static final String[] WORDS = {
+            "concert", "jazz", "théâtre", "opéra", "festival", "rock", "électro", "soirée",
+            "conférence", "exposition", "danse", "cinéma", "humour", "classique", "marché"
+    };
+    private static final String[] CATEGORIES = {
+            "SPORT", "CULTURE", "CONFERENCE", "CONCERT", "THEATRE", "FESTIVAL", "EXPOSITION"
+    };
+
+    private final String eventServiceUrl;
+    private final int catalogSize;
+    private long[] eventIds;
+
+    BrowseScenario(String eventServiceUrl, int catalogSize) {
+        this.eventServiceUrl = eventServiceUrl;
+        this.catalogSize = catalogSize;
+    }
+
+    @Override
+    public String getName() {
+        return "browse (catalogue de " + catalogSize + " événements)";
+    }
+
+    @Override
+    public void setUp(HttpApi api) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        eventIds = new long[catalogSize];
+        for (int i = 0; i < catalogSize; i++) {
+            String name = word(random) + " " + word(random) + " " + i;
+            String description = word(random) + " " + word(random) + " " + word(random);
+            eventIds[i] = api.createPublishedEvent(eventServiceUrl, name, description,
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], 1000);
+        }
+    }
+
+    @Override
+    public Sample execute(HttpApi api, int user) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int pick = random.nextInt(100);
+        String operation;
+        String url;
+        if (pick < 40) {
+            operation = "GET /events/{id}";
+            url = eventServiceUrl + "/events/" + eventIds[random.nextInt(eventIds.length)];
+        } else if (pick < 65) {
+            operation = "GET /events";
+            url = eventServiceUrl + "/events?size=20";
+        } else if (pick < 80) {
+            operation = "GET /events/available";
+            url = eventServiceUrl + "/events/available";
+        } else {
+            operation = "GET /events/search";
+            String word = word(random);
+            // Saisie en cours : une fois sur deux, seulement le début du mot
+            String keyword = random.nextBoolean() ? word : word.substring(0, Math.min(4, word.length()));
+            url = eventServiceUrl + "/events/search?size=20&keyword=" + URLEncoder.encode(keyword, StandardCharsets.UTF_8);
+        }
+        HttpResponse<String> response = api.get(url);
+        return new Sample(operation, response.statusCode() == 200 ? Outcome.OK : Outcome.ERROR);
+    }
+
+    @Override
+    public boolean verify(HttpApi api, PrintStream out) {
+        return true;
+    }
+
+    private static String word(ThreadLocalRandom random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
@@ -0,0 +1,134 @@
+package com.event.platform.loadtest;
+
+import com.event.platform.bookingservice.BookingServiceApplication;
+import com.event.platform.eventservice.EventServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Event Service et Booking Service démarrés dans le processus courant
+ *
+ * Chaque service a sa propre base H2 en mémoire (mode MySQL), un port
+ * aléatoire, et ni Eureka ni Config Server. Booking Service appelle
+ * Event Service en HTTP, comme en production.
+ *
+ * Les deux jars contiennent un application.properties : chacun est relu
+ * depuis son propre jar, puis complété par les propriétés du harnais et
+ * par les -D (overrides) passés en ligne de commande.
+ */
+public final class EmbeddedPlatform implements AutoCloseable {
+
+    private final ConfigurableApplicationContext eventService;
+    private final ConfigurableApplicationContext bookingService;
+    private final String eventServiceUrl;
+    private final String bookingServiceUrl;
+
+    private EmbeddedPlatform(ConfigurableApplicationContext eventService,
+                             ConfigurableApplicationContext bookingService) {
+        this.eventService = eventService;
+        this.bookingService = bookingService;
+        this.eventServiceUrl = baseUrl(eventService);
+        this.bookingServiceUrl = baseUrl(bookingService);
+    }
+
+    /**
+     * Démarre Event Service puis Booking Service, pointé sur le premier
+     *
+     * @param overrides Propriétés appliquées aux deux services (ex : virtual threads)
+     */
+    public static EmbeddedPlatform start(Map<String, Object> overrides) {
+        ConfigurableApplicationContext events = run(EventServiceApplication.class, "event-service", Map.of(), overrides);
+        try {
+            ConfigurableApplicationContext bookings = run(BookingServiceApplication.class, "booking-service",
+                    Map.of("EVENT_SERVICE_URL", baseUrl(events)), overrides);
+            return new EmbeddedPlatform(events, bookings);
+        } catch (RuntimeException e) {
+            events.close();
+            throw e;
+        }
+    }
+
+    public String getEventServiceUrl() {
+        return eventServiceUrl;
+    }
+
+    public String getBookingServiceUrl() {
+        return bookingServiceUrl;
+    }
+
+    public ConfigurableApplicationContext getEventService() {
+        return eventService;
+    }
+
+    public ConfigurableApplicationContext getBookingService() {
+        return bookingService;
+    }
+
+    @Override
+    public void close() {
+        bookingService.close();
+        eventService.close();
+    }
+
+    private static ConfigurableApplicationContext run(Class<?> application, String module,
+                                                      Map<String, Object> moduleProperties,
+                                                      Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        serviceProperties(module).forEach((key, value) -> properties.put((String) key, value));
+        // Pas de application.properties partagé : un nom propre au harnais
+        properties.put("spring.config.name", "loadtest-" + module);
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("server.port", "0");
+        properties.put("eureka.client.enabled", "false");
+        properties.put("spring.cloud.config.enabled", "false");
+        properties.put("spring.cloud.config.import-check.enabled", "false");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + module.replace('-', '_')
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.open-in-view", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(moduleProperties);
+        properties.putAll(overrides);
+
+        return new SpringApplicationBuilder(application)
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * application.properties du service, lu dans son jar (ou target/classes)
+     */
+    private static Properties serviceProperties(String module) {
+        Properties properties = new Properties();
+        try {
+            Enumeration<URL> candidates = EmbeddedPlatform.class.getClassLoader().getResources("application.properties");
+            while (candidates.hasMoreElements()) {
+                URL url = candidates.nextElement();
+                if (!url.toString().contains(module)) continue;
+                try (InputStream in = url.openStream()) {
+                    properties.load(in);
+                }
+                return properties;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        throw new IllegalStateException("application.properties of " + module + " not found on the classpath");
+    }
+
+    private static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+}
@@ -0,0 +1,87 @@
+package com.event.platform.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Client HTTP des scénarios : JDK HttpClient, HTTP/1.1 keep-alive
+ */
+final class HttpApi {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    HttpResponse<String> get(String url) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    HttpResponse<String> post(String url, String json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    HttpResponse<String> patch(String url) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(TIMEOUT)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    JsonNode json(HttpResponse<String> response) throws IOException {
+        return mapper.readTree(response.body());
+    }
+
+    String toJson(Object value) throws IOException {
+        return mapper.writeValueAsString(value);
+    }
+
+    /**
+     * Crée et publie un événement, renvoie son ID
+     */
+    long createPublishedEvent(String eventServiceUrl, String name, String description, String category,
+                              int capacity) throws IOException, InterruptedException {
+        String body = toJson(Map.of(
+                "name", name,
+                "description", description,
+                "location", "Paris",
+                "startDate", "2030-06-21T20:00:00Z",
+                "endDate", "2030-06-21T23:00:00Z",
+                "capacity", capacity,
+                "basePrice", 25.0,
+                "category", category));
+        HttpResponse<String> created = post(eventServiceUrl + "/events", body);
+        if (created.statusCode() != 201) {
+            throw new IllegalStateException("Event creation failed: " + created.statusCode() + " " + created.body());
+        }
+        long id = json(created).get("id").asLong();
+        HttpResponse<String> published = patch(eventServiceUrl + "/events/" + id + "/publish");
+        if (published.statusCode() != 200) {
+            throw new IllegalStateException("Event publication failed: " + published.statusCode());
+        }
+        return id;
+    }
+}
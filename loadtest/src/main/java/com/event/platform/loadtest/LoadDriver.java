@@ -0,0 +1,131 @@
+package com.event.platform.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Injecteur en boucle fermée : N utilisateurs virtuels, chacun enchaînant
+ * les actions du scénario sans pause, pendant une durée fixe
+ *
+ * Les actions de la période de chauffe ne sont pas comptées. Chaque
+ * utilisateur a ses propres histogrammes (aucune contention côté
+ * injecteur), fusionnés à la fin.
+ */
+final class LoadDriver {
+
+    private final HttpApi api;
+    private final int users;
+    private final Duration warmup;
+    private final Duration duration;
+    private OperationStats lastTotal;
+
+    LoadDriver(HttpApi api, int users, Duration warmup, Duration duration) {
+        this.api = api;
+        this.users = users;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    /**
+     * Exécute le scénario et écrit le rapport
+     *
+     * @return false si les vérifications du scénario échouent
+     */
+    boolean run(Scenario scenario, PrintStream out) throws Exception {
+        out.printf("%n=== %s : %d utilisateurs, chauffe %ds, mesure %ds ===%n",
+                scenario.getName(), users, warmup.toSeconds(), duration.toSeconds());
+        scenario.setUp(api);
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+        List<Map<String, OperationStats>> perUser = new ArrayList<>(users);
+        CountDownLatch done = new CountDownLatch(users);
+        for (int u = 0; u < users; u++) {
+            Map<String, OperationStats> stats = new HashMap<>();
+            perUser.add(stats);
+            int user = u;
+            Thread t = new Thread(() -> {
+                try {
+                    runUser(scenario, user, stats, measureFrom, stopAt);
+                } finally {
+                    done.countDown();
+                }
+            }, "load-user-" + u);
+            t.setDaemon(true);
+            t.start();
+        }
+        done.await();
+
+        Map<String, OperationStats> merged = new TreeMap<>();
+        for (Map<String, OperationStats> stats : perUser) {
+            stats.forEach((op, s) -> merged.computeIfAbsent(op, k -> new OperationStats()).add(s));
+        }
+        report(merged, out);
+        return scenario.verify(api, out);
+    }
+
+    private void runUser(Scenario scenario, int user, Map<String, OperationStats> stats,
+                         long measureFrom, long stopAt) {
+        while (true) {
+            long begin = System.nanoTime();
+            if (begin >= stopAt) return;
+            Scenario.Sample sample;
+            try {
+                sample = scenario.execute(api, user);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                sample = new Scenario.Sample("error", Scenario.Outcome.ERROR);
+            }
+            long end = System.nanoTime();
+            if (begin >= measureFrom && end <= stopAt) {
+                stats.computeIfAbsent(sample.getOperation(), k -> new OperationStats())
+                        .record(sample.getOutcome(), end - begin);
+            }
+        }
+    }
+
+    /**
+     * Toutes opérations confondues, pour la dernière exécution de {@link #run}
+     */
+    OperationStats getLastTotal() {
+        return lastTotal;
+    }
+
+    private void report(Map<String, OperationStats> stats, PrintStream out) {
+        double seconds = duration.toNanos() / 1e9;
+        OperationStats total = new OperationStats();
+        printHeader(out, "operation");
+        stats.forEach((op, s) -> {
+            print(out, op, s, seconds);
+            total.add(s);
+        });
+        if (stats.size() > 1) print(out, "TOTAL", total, seconds);
+        lastTotal = total;
+    }
+
+    static void printHeader(PrintStream out, String label) {
+        out.printf("%-22s %9s %9s %8s %8s %8s %9s %9s %9s %9s%n",
+                label, "requests", "req/s", "ok%", "rejet%", "erreur%", "p50 ms", "p99 ms", "p999 ms", "max ms");
+    }
+
+    static void print(PrintStream out, String op, OperationStats s, double seconds) {
+        long count = s.count();
+        out.printf("%-22s %9d %9.1f %8.2f %8.2f %8.2f %9.2f %9.2f %9.2f %9.2f%n",
+                op, count, count / seconds,
+                percent(s.getOk(), count), percent(s.getRejected(), count), percent(s.getErrors(), count),
+                s.percentileMillis(50), s.percentileMillis(99), s.percentileMillis(99.9), s.maxMillis());
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : 100.0 * part / total;
+    }
+}
@@ -0,0 +1,104 @@
+package com.event.platform.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Test de charge de bout en bout
+ *
+ * Démarre Event Service et Booking Service en mémoire (H2, ports
+ * aléatoires), joue les scénarios demandés puis affiche débit, latences
+ * p50/p99/p999, taux de refus et d'erreurs, et survente éventuelle.
+ * Code de sortie 1 si une vérification échoue (survente, écart d'inventaire).
+ *
+ * Options (--nom=valeur) :
+ *   --scenario=drop,browse   scénarios à jouer, dans l'ordre
+ *   --users=200              utilisateurs virtuels simultanés
+ *   --warmup=5               chauffe, en secondes (non mesurée)
+ *   --duration=30            mesure, en secondes
+ *   --capacity=500           places de l'événement mis en vente (drop)
+ *   --tickets=1              places par réservation (drop)
+ *   --catalog=1000           taille du catalogue (browse)
+ *   --service.<propriété>=v  propriété Spring appliquée aux deux services,
+ *                            ex : --service.booking.outbox.batch-size=50
+ *   --threads=platform,virtual
+ *                            rejoue les scénarios avec les services sur threads
+ *                            de plateforme puis virtuels (Java 21), et compare
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        Map<String, Object> serviceProperties = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (key.startsWith("service.")) serviceProperties.put(key.substring("service.".length()), value);
+            else options.put(key, value);
+        }
+
+        int users = Integer.parseInt(options.getOrDefault("users", "200"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        int capacity = Integer.parseInt(options.getOrDefault("capacity", "500"));
+        int tickets = Integer.parseInt(options.getOrDefault("tickets", "1"));
+        int catalog = Integer.parseInt(options.getOrDefault("catalog", "1000"));
+        String[] scenarios = options.getOrDefault("scenario", "drop,browse").split(",");
+        String[] threadModes = options.containsKey("threads") ? options.get("threads").split(",") : new String[] {null};
+
+        boolean passed = true;
+        Map<String, OperationStats> comparison = new LinkedHashMap<>();
+        for (String mode : threadModes) {
+            Map<String, Object> properties = new HashMap<>(serviceProperties);
+            if (mode != null) {
+                mode = mode.trim();
+                if (!"platform".equals(mode) && !"virtual".equals(mode)) {
+                    throw new IllegalArgumentException("Unknown thread mode: " + mode);
+                }
+                if ("virtual".equals(mode) && Runtime.version().feature() < 21) {
+                    System.out.printf("%n##### threads virtual : ignoré, Java 21 requis (Java %d) #####%n",
+                            Runtime.version().feature());
+                    continue;
+                }
+                properties.put("spring.threads.virtual.enabled", String.valueOf("virtual".equals(mode)));
+                System.out.printf("%n##### threads %s #####%n", mode);
+            }
+            try (EmbeddedPlatform platform = EmbeddedPlatform.start(properties)) {
+                HttpApi api = new HttpApi();
+                LoadDriver driver = new LoadDriver(api, users, warmup, duration);
+                for (String name : scenarios) {
+                    Scenario scenario;
+                    switch (name.trim()) {
+                        case "drop":
+                            scenario = new TicketDropScenario(platform.getEventServiceUrl(),
+                                    platform.getBookingServiceUrl(), capacity, tickets);
+                            break;
+                        case "browse":
+                            scenario = new BrowseScenario(platform.getEventServiceUrl(), catalog);
+                            break;
+                        default:
+                            throw new IllegalArgumentException("Unknown scenario: " + name);
+                    }
+                    passed &= driver.run(scenario, System.out);
+                    if (mode != null) comparison.put(mode + " " + name.trim(), driver.getLastTotal());
+                }
+            }
+        }
+        if (comparison.size() > 1) {
+            System.out.printf("%n=== comparaison des modes d'exécution (%d utilisateurs) ===%n", users);
+            LoadDriver.printHeader(System.out, "threads / scénario");
+            double seconds = duration.toNanos() / 1e9;
+            comparison.forEach((label, stats) -> LoadDriver.print(System.out, label, stats, seconds));
+        }
+        System.out.println(passed ? "\nRÉSULTAT : OK" : "\nRÉSULTAT : ÉCHEC (voir vérifications)");
+        System.exit(passed ? 0 : 1);
+    }
+}
@@ -0,0 +1,57 @@
+package com.event.platform.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latences et résultats d'une opération (par utilisateur, fusionnés en fin de test)
+ */
+final class OperationStats {
+
+    /** Jusqu'à 60 s, 3 chiffres significatifs */
+    private static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final Histogram latencies = new Histogram(MAX_LATENCY_NANOS, 3);
+    private long ok;
+    private long rejected;
+    private long errors;
+
+    void record(Scenario.Outcome outcome, long latencyNanos) {
+        latencies.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+        if (outcome == Scenario.Outcome.OK) ok++;
+        else if (outcome == Scenario.Outcome.REJECTED) rejected++;
+        else errors++;
+    }
+
+    void add(OperationStats other) {
+        latencies.add(other.latencies);
+        ok += other.ok;
+        rejected += other.rejected;
+        errors += other.errors;
+    }
+
+    long count() {
+        return ok + rejected + errors;
+    }
+
+    long getOk() {
+        return ok;
+    }
+
+    long getRejected() {
+        return rejected;
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    double maxMillis() {
+        return latencies.getMaxValue() / 1_000_000.0;
+    }
+}
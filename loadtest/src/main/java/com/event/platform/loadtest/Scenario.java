@@ -0,0 +1,60 @@
+package com.event.platform.loadtest;
+
+import java.io.PrintStream;
+
+/**
+ * Scénario de charge : préparation, action d'un utilisateur, vérifications
+ */
+interface Scenario {
+
+    String getName();
+
+    /**
+     * Prépare les données (événements...) avant la montée en charge
+     */
+    void setUp(HttpApi api) throws Exception;
+
+    /**
+     * Une action d'un utilisateur virtuel, chronométrée par LoadDriver
+     *
+     * @param user Numéro de l'utilisateur (0..users-1)
+     */
+    Sample execute(HttpApi api, int user) throws Exception;
+
+    /**
+     * Vérifications de fin de scénario, ajoutées au rapport
+     *
+     * @return false si un invariant est violé (ex : survente)
+     */
+    boolean verify(HttpApi api, PrintStream out) throws Exception;
+
+    /**
+     * Résultat d'une action
+     */
+    enum Outcome {
+        /** Succès */
+        OK,
+        /** Refus attendu (ex : plus de places) */
+        REJECTED,
+        /** Erreur (5xx, timeout, réponse inattendue) */
+        ERROR
+    }
+
+    final class Sample {
+        private final String operation;
+        private final Outcome outcome;
+
+        Sample(String operation, Outcome outcome) {
+            this.operation = operation;
+            this.outcome = outcome;
+        }
+
+        String getOperation() {
+            return operation;
+        }
+
+        Outcome getOutcome() {
+            return outcome;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.event.platform.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.PrintStream;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mise en vente : tous les utilisateurs réservent sur le même événement
+ * via POST /bookings jusqu'à la fin du test
+ *
+ * Les réservations sont créées PENDING (201, ou 202 en mode asynchrone)
+ * puis confirmées ou refusées par le relais d'outbox du Booking Service.
+ * La vérification attend que toutes soient enregistrées et résolues,
+ * puis contrôle qu'aucune place n'est vendue au-delà de
+ * la capacité et que les places retirées de l'inventaire correspondent
+ * aux réservations confirmées.
+ */
+final class TicketDropScenario implements Scenario {
+
+    private static final long SETTLE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final long STALL_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private final String eventServiceUrl;
+    private final String bookingServiceUrl;
+    private final int capacity;
+    private final int ticketsPerBooking;
+
+    private final AtomicLong bookingsCreated = new AtomicLong();
+    private long endNanos;
+    private long eventId;
+    private String bookingTemplate;
+
+    TicketDropScenario(String eventServiceUrl, String bookingServiceUrl, int capacity, int ticketsPerBooking) {
+        this.eventServiceUrl = eventServiceUrl;
+        this.bookingServiceUrl = bookingServiceUrl;
+        this.capacity = capacity;
+        this.ticketsPerBooking = ticketsPerBooking;
+    }
+
+    @Override
+    public String getName() {
+        return "ticket-drop (capacité " + capacity + ", " + ticketsPerBooking + " place(s) par réservation)";
+    }
+
+    @Override
+    public void setUp(HttpApi api) throws Exception {
+        eventId = api.createPublishedEvent(eventServiceUrl, "Mise en vente", "Concert très demandé", "CONCERT", capacity);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("eventId", eventId);
+        body.put("userId", 0);
+        body.put("numberOfTickets", ticketsPerBooking);
+        body.put("userEmail", "user@example.com");
+        bookingTemplate = api.toJson(body);
+    }
+
+    @Override
+    public Sample execute(HttpApi api, int user) throws Exception {
+        String body = bookingTemplate.replace("\"userId\":0", "\"userId\":" + user);
+        HttpResponse<String> response = api.post(bookingServiceUrl + "/bookings", body);
+        int status = response.statusCode();
+        if (status == 201 || status == 202) {
+            bookingsCreated.incrementAndGet();
+            return new Sample("POST /bookings", Outcome.OK);
+        }
+        if (status == 409) {
+            return new Sample("POST /bookings", Outcome.REJECTED);
+        }
+        return new Sample("POST /bookings", Outcome.ERROR);
+    }
+
+    @Override
+    public boolean verify(HttpApi api, PrintStream out) throws Exception {
+        endNanos = System.nanoTime();
+        Tally tally = tally(api);
+        long progressAt = endNanos;
+        // Attend les réservations encore en file (mode asynchrone) ou en attente de l'outbox ;
+        // les insertions échouées n'apparaîtront jamais : on s'arrête si plus rien ne bouge
+        while ((tally.pending > 0 || tally.total() < bookingsCreated.get())
+                && System.nanoTime() - endNanos < SETTLE_TIMEOUT_NANOS
+                && (tally.pending > 0 || System.nanoTime() - progressAt < STALL_TIMEOUT_NANOS)) {
+            Thread.sleep(200);
+            Tally next = tally(api);
+            if (next.total() != tally.total() || next.pending != tally.pending) progressAt = System.nanoTime();
+            tally = next;
+        }
+
+        JsonNode event = api.json(api.get(eventServiceUrl + "/events/" + eventId));
+        int available = event.get("availableSeats").asInt();
+        long booked = tally.confirmedTickets;
+        long oversold = Math.max(0, booked - capacity);
+        // Places retirées de l'inventaire sans réservation confirmée (ou l'inverse)
+        long drift = (capacity - available) - booked;
+
+        out.printf("réservations : %d acceptées, %d enregistrées, %d confirmées, %d refusées, %d en attente%n",
+                bookingsCreated.get(), tally.total(), tally.confirmed, tally.rejected, tally.pending);
+        out.printf("résolution de l'outbox %.2f s après la fin du test%n", (System.nanoTime() - endNanos) / 1e9);
+        out.printf("places vendues : %d / %d, restantes : %d%n", booked, capacity, available);
+        out.printf("survente : %d, écart inventaire/réservations : %d%n", oversold, drift);
+        return oversold == 0 && available >= 0 && drift == 0 && tally.pending == 0;
+    }
+
+    /**
+     * Parcourt toutes les réservations de l'événement (GET /bookings, par pages)
+     */
+    private Tally tally(HttpApi api) throws Exception {
+        Tally tally = new Tally();
+        String url = bookingServiceUrl + "/bookings?size=100";
+        while (url != null) {
+            HttpResponse<String> response = api.get(url);
+            for (JsonNode booking : api.json(response)) {
+                if (booking.get("eventId").asLong() != eventId) continue;
+                String status = booking.get("status").asText();
+                if ("CONFIRMED".equals(status)) {
+                    tally.confirmed++;
+                    tally.confirmedTickets += booking.get("numberOfTickets").asInt();
+                } else if ("REJECTED".equals(status)) {
+                    tally.rejected++;
+                } else if ("PENDING".equals(status)) {
+                    tally.pending++;
+                }
+            }
+            url = response.headers().firstValue("X-Next-Cursor")
+                    .map(cursor -> bookingServiceUrl + "/bookings?size=100&cursor=" + cursor)
+                    .orElse(null);
+        }
+        return tally;
+    }
+
+    private static final class Tally {
+        private long confirmed;
+        private long confirmedTickets;
+        private long rejected;
+        private long pending;
+
+        private long total() {
+            return confirmed + rejected + pending;
+        }
+    }
+}